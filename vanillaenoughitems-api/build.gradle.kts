@@ -10,6 +10,11 @@ repositories {
 dependencies {
     compileOnly(libs.paper.api)
     compileOnly(libs.jspecify)
+
+    // Testing
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.bundles.junit)
+    testImplementation(libs.paper.api)
 }
 
 java {
@@ -12,6 +12,7 @@ import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistr
 import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
 import dev.qheilmann.vanillaenoughitems.recipe.index.reader.RecipeIndexView;
 import dev.qheilmann.vanillaenoughitems.recipe.process.ProcessRegistry;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingTreeResolver;
 
 import net.kyori.adventure.key.Key;
 
@@ -125,6 +126,13 @@ public interface VanillaEnoughItemsAPI {
      */
     ServerBookmarkRegistry serverBookmarkRegistry();
 
+    /**
+     * Get the crafting tree resolver, expanding items down to their raw materials.
+     * <p>Only available after {@link dev.qheilmann.vanillaenoughitems.api.event.VeiReadyEvent} has fired.</p>
+     * @return the crafting tree resolver
+     */
+    CraftingTreeResolver craftingTreeResolver();
+
     /**
      * Trigger a reload of the recipe indexation.
      * This will re-index all recipes from the server.
@@ -173,6 +181,17 @@ public interface VanillaEnoughItemsAPI {
      */
     void openReaderGui(Player player, MultiProcessRecipeReader reader);
 
+    /**
+     * Open a GUI showing the raw materials and crafting steps needed to craft an item.
+     * <p>Only available after {@link dev.qheilmann.vanillaenoughitems.api.event.VeiReadyEvent} has fired.</p>
+     *
+     * @param player the player to open the GUI for
+     * @param result the item to craft, its amount is ignored
+     * @param amount the number of items to craft
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    void openCraftingTreeGui(Player player, ItemStack result, long amount);
+
     /**
      * Open the bookmark GUI for a player, showing both their personal
      * and server-wide bookmarks.
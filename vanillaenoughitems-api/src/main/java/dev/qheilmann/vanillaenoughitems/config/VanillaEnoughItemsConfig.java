@@ -1,19 +1,30 @@
 package dev.qheilmann.vanillaenoughitems.config;
 
+import java.util.Map;
+
 import org.jspecify.annotations.NullMarked;
 
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import net.kyori.adventure.key.Key;
+
 /**
  * Immutable configuration snapshot for Vanilla Enough Items.
  *
  * @param debug debug settings
  * @param quickRecipeLookupEnabled enable the quick recipe-lookup feature
+ * @param parallelIndexing extract and group recipes on the common fork-join pool when rebuilding the recipe index,
+ * off by default as recipe extractors have no thread-safety contract
  * @param style visual style settings
+ * @param pathProcessWeights weight of one recipe of each process when looking for a crafting path, unmodifiable,
+ * processes not listed weigh 1; empty to look for the path with the fewest recipes
  */
 @NullMarked
 public record VanillaEnoughItemsConfig(
         DebugConfig debug,
         boolean quickRecipeLookupEnabled,
-        Style style) {
+        boolean parallelIndexing,
+        Style style,
+        Map<Key, Integer> pathProcessWeights) {
 
     // Delegate for convenience
 
@@ -25,4 +36,14 @@ public record VanillaEnoughItemsConfig(
     public boolean hasResourcePack() {
         return style.hasResourcePack();
     }
+
+    /**
+     * Weight of one recipe of a process when looking for a crafting path.
+     *
+     * @param process the process
+     * @return the configured weight, 1 if the process is not listed
+     */
+    public int pathProcessWeight(Process process) {
+        return pathProcessWeights.getOrDefault(process.key(), 1);
+    }
 }
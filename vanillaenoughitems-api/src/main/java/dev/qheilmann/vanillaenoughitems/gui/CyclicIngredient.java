@@ -9,6 +9,7 @@ import dev.qheilmann.vanillaenoughitems.recipe.helper.RecipeChoiceHelper;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -119,6 +120,49 @@ public class CyclicIngredient {
         this.currentIndex = 0;
     }
 
+    /**
+     * Copy constructor, shares the options and the producer of the source.
+     * @param source the ingredient to copy
+     * @param dependencies the dependencies of the copy (null for predefined)
+     */
+    private CyclicIngredient(CyclicIngredient source, CyclicIngredient @Nullable [] dependencies) {
+        this.options = source.options;
+        this.count = source.count;
+        this.pinned = source.pinned;
+        this.currentIndex = source.currentIndex;
+        this.dependencies = dependencies;
+        this.dependentProducer = source.dependentProducer;
+    }
+
+    /**
+     * Copy this CyclicIngredient with its own cycling state, the options are shared.
+     * <p>Dependencies are copied through {@code copies}, so ingredients copied with the same map
+     * keep depending on each other's copies. The map must be identity based
+     * (e.g. {@link java.util.IdentityHashMap}) as CyclicIngredient equality depends on its state.</p>
+     * 
+     * @param copies the copies already made, by original ingredient, completed with the new copies
+     * @return the copy
+     */
+    public CyclicIngredient copy(Map<CyclicIngredient, CyclicIngredient> copies) {
+        CyclicIngredient existing = copies.get(this);
+        if (existing != null) {
+            return existing;
+        }
+
+        CyclicIngredient[] deps = dependencies;
+        CyclicIngredient @Nullable [] depsCopy = null;
+        if (deps != null) {
+            depsCopy = new CyclicIngredient[deps.length];
+            for (int i = 0; i < deps.length; i++) {
+                depsCopy[i] = deps[i].copy(copies);
+            }
+        }
+
+        CyclicIngredient copy = new CyclicIngredient(this, depsCopy);
+        copies.put(this, copy);
+        return copy;
+    }
+
     /**
      * Get the currently displayed ItemStack.
      * <p>For predefined ingredients: returns the item at currentIndex.</p>
@@ -264,6 +308,19 @@ public class CyclicIngredient {
         return count;
     }
 
+    /**
+     * Get the position of the current item in the options, matching {@link #getOptions()}.
+     * <p><b>Note:</b> Always 0 for dependent ingredients.</p>
+     * @return the current option index
+     */
+    public int getCurrentIndex() {
+        if (isDependent()) {
+            return 0;
+        }
+
+        return currentIndex % count;
+    }
+
     /**
      * Check if this CyclicIngredient is dependent on other ingredients
      * @return true if this is a dependent ingredient, false otherwise
@@ -22,4 +22,37 @@ public interface ProcessPanelFactory {
      * @return a new ProcessPanel
      */
     ProcessPanel create(Recipe recipe, Style style);
+
+    /**
+     * Whether the panels of this factory may be snapshotted once per recipe and style, then shared between viewers.
+     * <p>
+     * Only return true if a panel depends on its recipe and style alone: its getters return the maps built at creation,
+     * its static items never change between calls and its click actions capture no per-viewer state.
+     * Each viewer still gets its own copies of the cycling ingredients.
+     * 
+     * @return true if the created panels can be cached, false by default
+     */
+    default boolean cacheable() {
+        return false;
+    }
+
+    /**
+     * Wrap a factory so its panels are cached, see {@link #cacheable()}
+     * 
+     * @param factory the factory, its panels must follow the rules of {@link #cacheable()}
+     * @return a cacheable factory delegating to the given one
+     */
+    static ProcessPanelFactory cached(ProcessPanelFactory factory) {
+        return new ProcessPanelFactory() {
+            @Override
+            public ProcessPanel create(Recipe recipe, Style style) {
+                return factory.create(recipe, style);
+            }
+
+            @Override
+            public boolean cacheable() {
+                return true;
+            }
+        };
+    }
 }
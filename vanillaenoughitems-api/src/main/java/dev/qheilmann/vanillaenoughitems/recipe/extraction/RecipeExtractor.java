@@ -1,5 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -19,12 +20,17 @@ import net.kyori.adventure.key.Keyed;
  * Implementations should check the recipe type with {@link #canHandle(Recipe)} before extraction.
  * Type casting is expected after the canHandle check ensures type safety.
  * </p>
+ * <p>
+ * Extraction runs on the thread rebuilding the index. Extractors are only called concurrently
+ * when the server owner enables {@code parallel-indexing}, which requires every registered extractor to be thread-safe.
+ * </p>
  */
 @NullMarked
 public interface RecipeExtractor extends Keyed {
 
     /**
-     * Check if this extractor can handle the given recipe
+     * Check if this extractor can handle the given recipe.
+     * The answer must only depend on the recipe class, the recipe index asks once per recipe class.
      * @param recipe the recipe to check
      * @return true if this extractor can handle the recipe, false otherwise
      */
@@ -49,6 +55,19 @@ public interface RecipeExtractor extends Keyed {
      * @return a set of ItemStacks representing the ingredients
      */
     Set<ItemStack> extractIngredients(Recipe recipe);
+
+    /**
+     * Extract the ingredient choices from the given recipe, one entry per consumed ingredient with all the items it accepts.
+     * A choice used in several slots is listed once per slot.
+     * <p>
+     * Used to index recipes by the item tags their choices match, and to count the ingredients of a craft.
+     * The default implementation returns no choice, recipes are then not indexed by tag.
+     * @param recipe the recipe to extract from
+     * @return a list of accepted ItemStack sets, one per ingredient choice
+     */
+    default List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        return List.of();
+    }
     
     /**
      * Extract the results from the given recipe
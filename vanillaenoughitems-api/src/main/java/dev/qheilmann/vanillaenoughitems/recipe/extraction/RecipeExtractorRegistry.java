@@ -1,5 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -12,28 +13,33 @@ import net.kyori.adventure.key.Key;
 /**
  * Registry of recipe extractors that delegates extraction to registered strategies.
  * <p>
- * Register extractors before indexation. Once locked, no new extractors can be registered.
+ * Register extractors during {@code VeiRegistrationEvent}, the registry is locked once the event is over:
+ * extractors registered or unregistered afterwards are logged and ignored.
  * Keys are unique across all registered extractors.
  * </p>
+ * <p>
+ * The recipe index resolves the extractor of a recipe once per recipe class,
+ * so {@link RecipeExtractor#canHandle(Recipe)} must only depend on the recipe class.
+ * </p>
  */
 @NullMarked
 public interface RecipeExtractorRegistry {
 
     /**
      * Register a recipe extractor.
-     * Must be called before indexation begins.
+     * Must be called during {@code VeiRegistrationEvent}, the extractor is ignored once the registry is locked.
      * If an extractor with the same key already exists, it will be replaced.
      * @param extractor the extractor to register
-     * @throws IllegalStateException if the registry is locked (indexation already started)
      */
     void registerExtractor(RecipeExtractor extractor);
 
     /**
      * Unregister a recipe extractor by its key.
+     * Must be called during {@code VeiRegistrationEvent}, nothing is removed once the registry is locked.
      * @param key the key of the extractor to unregister
-     * @return the removed extractor, or null if no extractor was registered with the given key
-     * @throws IllegalStateException if the registry is locked (indexation already started)
+     * @return the removed extractor, or null if no extractor was removed
      */
+    @Nullable
     RecipeExtractor unregisterExtractor(Key key);
     
     /**
@@ -44,6 +50,14 @@ public interface RecipeExtractorRegistry {
     @Nullable
     RecipeExtractor getExtractor(Key key);
 
+    /**
+     * Get the first registered extractor that can handle the given recipe, in registration order.
+     * @param recipe the recipe to check
+     * @return the extractor, or null if no extractor can handle the recipe
+     */
+    @Nullable
+    RecipeExtractor getRecipeExtractor(Recipe recipe);
+
     /**
      * Check if any registered extractor can handle the given recipe.
      * @param recipe the recipe to check
@@ -67,6 +81,14 @@ public interface RecipeExtractorRegistry {
      */
     Set<ItemStack> extractIngredients(Recipe recipe);
 
+    /**
+     * Extract the ingredient choices from the given recipe using the first compatible extractor.
+     * @param recipe the recipe to extract from
+     * @return a list of accepted ItemStack sets, one per ingredient choice
+     * @throws IllegalArgumentException if no extractor can handle the recipe
+     */
+    List<Set<ItemStack>> extractIngredientChoices(Recipe recipe);
+
     /**
      * Extract the results from the given recipe using the first compatible extractor.
      * @param recipe the recipe to extract from
@@ -1,9 +1,25 @@
 package dev.qheilmann.vanillaenoughitems.recipe.helper;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
+import org.bukkit.Material;
+import org.bukkit.inventory.CookingRecipe;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
+import org.bukkit.inventory.RecipeChoice;
+import org.bukkit.inventory.ShapedRecipe;
+import org.bukkit.inventory.ShapelessRecipe;
+import org.bukkit.inventory.SmithingRecipe;
+import org.bukkit.inventory.SmithingTransformRecipe;
+import org.bukkit.inventory.SmithingTrimRecipe;
+import org.bukkit.inventory.StonecuttingRecipe;
+import org.bukkit.inventory.TransmuteRecipe;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Helper class for recipe-related operations, such as {@link #RECIPE_COMPARATOR} for consistent recipe ordering.
@@ -13,7 +29,10 @@ public class RecipeHelper {
 
     /**
      * A comparator for recipes that provides consistent ordering based on their keys (if available),
-     * hash codes, and class names. This ensures recipes are sorted in a predictable and stable manner.
+     * content hashes ({@link #contentHash(Recipe)}), and class names.
+     * This ensures recipes are sorted in a predictable manner, stable across restarts.
+     * <p>
+     * Indexes should prefer the precomputed ranks of a {@code RecipeTable}, this comparator is the order those ranks follow.
      */
     public static final Comparator<Recipe> RECIPE_COMPARATOR = recipeComparator();
 
@@ -40,14 +59,188 @@ public class RecipeHelper {
                 return 1; // r2 is a Keyed recipe, r1 is not
             }
 
-            // If neither is a Keyed recipe, or not differentiable by key, we can compare them by their hash codes
-            int deltaHashCode = r1.hashCode() - r2.hashCode();
-            if (deltaHashCode != 0) {
-                return deltaHashCode;
-            } 
+            // If neither is a Keyed recipe, or not differentiable by key, we can compare them by their content hashes
+            int hashComparison = Long.compare(contentHash(r1), contentHash(r2));
+            if (hashComparison != 0) {
+                return hashComparison;
+            }
 
             // If hash codes are equal, compare the class names for a consistent order (rare case)
             return r1.getClass().getName().compareTo(r2.getClass().getName());
         };
     }
+
+    /**
+     * Check if two recipes have the same content (type, result and inputs), regardless of their instance.
+     * The server creates new recipe instances on every iteration, this allows to detect recipes that did not change.
+     * <p>
+     * Recipe types unknown to this helper are never considered equal (unless they are the same instance),
+     * see {@link #canCompareContent(Recipe)}.
+     *
+     * @param r1 the first recipe
+     * @param r2 the second recipe
+     * @return true if both recipes are known to have the same content
+     */
+    @SuppressWarnings("java:S1541") // One branch per recipe type
+    public static boolean isSameContent(Recipe r1, Recipe r2) {
+        if (r1 == r2) {
+            return true;
+        }
+        if (r1.getClass() != r2.getClass() || !r1.getResult().equals(r2.getResult())) {
+            return false;
+        }
+
+        return switch (r1) {
+            case ShapedRecipe shaped -> {
+                ShapedRecipe other = (ShapedRecipe) r2;
+                yield Arrays.equals(shaped.getShape(), other.getShape())
+                    && shaped.getChoiceMap().equals(other.getChoiceMap());
+            }
+            case ShapelessRecipe shapeless -> shapeless.getChoiceList().equals(((ShapelessRecipe) r2).getChoiceList());
+            case TransmuteRecipe transmute -> {
+                TransmuteRecipe other = (TransmuteRecipe) r2;
+                yield transmute.getInput().equals(other.getInput())
+                    && transmute.getMaterial().equals(other.getMaterial());
+            }
+            case CookingRecipe<?> cooking -> {
+                CookingRecipe<?> other = (CookingRecipe<?>) r2;
+                yield cooking.getInputChoice().equals(other.getInputChoice())
+                    && cooking.getCookingTime() == other.getCookingTime()
+                    && cooking.getExperience() == other.getExperience();
+            }
+            case StonecuttingRecipe stonecutting -> stonecutting.getInputChoice().equals(((StonecuttingRecipe) r2).getInputChoice());
+            case SmithingTransformRecipe smithing -> {
+                SmithingTransformRecipe other = (SmithingTransformRecipe) r2;
+                yield Objects.equals(smithing.getTemplate(), other.getTemplate())
+                    && Objects.equals(smithing.getBase(), other.getBase())
+                    && Objects.equals(smithing.getAddition(), other.getAddition());
+            }
+            case SmithingTrimRecipe smithing -> {
+                SmithingTrimRecipe other = (SmithingTrimRecipe) r2;
+                yield Objects.equals(smithing.getTemplate(), other.getTemplate())
+                    && Objects.equals(smithing.getBase(), other.getBase())
+                    && Objects.equals(smithing.getAddition(), other.getAddition());
+            }
+            case SmithingRecipe smithing -> {
+                SmithingRecipe other = (SmithingRecipe) r2;
+                yield Objects.equals(smithing.getBase(), other.getBase())
+                    && Objects.equals(smithing.getAddition(), other.getAddition());
+            }
+            default -> false;
+        };
+    }
+
+    /**
+     * Check if {@link #isSameContent(Recipe, Recipe)} can compare the content of a recipe.
+     * For other recipe types it only detects the same instance.
+     *
+     * @param recipe the recipe
+     * @return true if the recipe type is known to this helper
+     */
+    public static boolean canCompareContent(Recipe recipe) {
+        return switch (recipe) {
+            case ShapedRecipe ignored -> true;
+            case ShapelessRecipe ignored -> true;
+            case TransmuteRecipe ignored -> true;
+            case CookingRecipe<?> ignored -> true;
+            case StonecuttingRecipe ignored -> true;
+            case SmithingRecipe ignored -> true; // Also covers the transform and trim subtypes
+            default -> false;
+        };
+    }
+
+    //#region Content hash
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Compute a 64-bit hash of the content of a recipe (type, result and inputs).
+     * <p>
+     * Unlike {@link Object#hashCode()}, the hash is only derived from names and keys,
+     * so the same recipe gets the same hash on every server start.
+     * Recipes with the same content ({@link #isSameContent(Recipe, Recipe)}) have the same hash, item components are ignored.
+     *
+     * @param recipe the recipe
+     * @return the content hash
+     */
+    @SuppressWarnings("java:S1541") // One branch per recipe type
+    public static long contentHash(Recipe recipe) {
+        long hash = mix(FNV_OFFSET_BASIS, recipe.getClass().getName());
+        hash = mix(hash, recipe.getResult());
+
+        switch (recipe) {
+            case ShapedRecipe shaped -> {
+                for (String row : shaped.getShape()) {
+                    hash = mix(hash, row);
+                }
+                for (Map.Entry<Character, RecipeChoice> entry : new TreeMap<>(shaped.getChoiceMap()).entrySet()) {
+                    hash = mix(hash, String.valueOf(entry.getKey()));
+                    hash = mix(hash, entry.getValue());
+                }
+            }
+            case ShapelessRecipe shapeless -> {
+                for (RecipeChoice choice : shapeless.getChoiceList()) {
+                    hash = mix(hash, choice);
+                }
+            }
+            case TransmuteRecipe transmute -> {
+                hash = mix(hash, transmute.getInput());
+                hash = mix(hash, transmute.getMaterial());
+            }
+            case CookingRecipe<?> cooking -> hash = mix(hash, cooking.getInputChoice());
+            case StonecuttingRecipe stonecutting -> hash = mix(hash, stonecutting.getInputChoice());
+            case SmithingTransformRecipe smithing -> {
+                hash = mix(hash, smithing.getTemplate());
+                hash = mix(hash, smithing.getBase());
+                hash = mix(hash, smithing.getAddition());
+            }
+            case SmithingTrimRecipe smithing -> {
+                hash = mix(hash, smithing.getTemplate());
+                hash = mix(hash, smithing.getBase());
+                hash = mix(hash, smithing.getAddition());
+            }
+            case SmithingRecipe smithing -> {
+                hash = mix(hash, smithing.getBase());
+                hash = mix(hash, smithing.getAddition());
+            }
+            default -> {
+                // Only the type and the result are known
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, @Nullable RecipeChoice choice) {
+        switch (choice) {
+            case null -> hash = mix(hash, "empty");
+            case RecipeChoice.MaterialChoice materialChoice -> {
+                for (Material material : materialChoice.getChoices()) {
+                    hash = mix(hash, material.key().asString());
+                }
+            }
+            case RecipeChoice.ExactChoice exactChoice -> {
+                for (ItemStack item : exactChoice.getChoices()) {
+                    hash = mix(hash, item);
+                }
+            }
+            default -> hash = mix(hash, choice.getClass().getName());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, ItemStack item) {
+        return mix(mix(hash, item.getType().key().asString()), String.valueOf(item.getAmount()));
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= 0xff; // Separator, "ab" + "c" and "a" + "bc" must differ
+        return hash * FNV_PRIME;
+    }
+
+    //#endregion Content hash
 }
@@ -1,5 +1,7 @@
 package dev.qheilmann.vanillaenoughitems.recipe.index;
 
+import java.util.UUID;
+
 import org.bukkit.inventory.ItemStack;
 import org.jspecify.annotations.NullMarked;
 
@@ -16,19 +18,22 @@ public sealed interface Grouping permits
     Grouping.ByOther,
     Grouping.ByProcess,
     Grouping.ByKey,
+    Grouping.ByTag,
+    Grouping.Craftable,
     Grouping.AllRecipes {
     
     /**
      * Recipes grouped by their result item
      * @param result the result item that all recipes in this group produce (must be an actual result item, not just any item in the recipe)
      */
-    record ByResult(ItemStack result) implements Grouping {
+    record ByResult(ItemKey result) implements Grouping {
         /**
-         * Get the result item
+         * Create the grouping from an item
          * Note: the result is normalized to an amount of 1
+         * @param result the result
          */
-        public ByResult {
-            result = result.asOne();
+        public ByResult(ItemStack result) {
+            this(ItemKey.of(result));
         }
     }
     
@@ -36,13 +41,14 @@ public sealed interface Grouping permits
      * Recipes grouped by a specific ingredient they use
      * @param ingredient the ingredient item that all recipes in this group share (must be an actual ingredient, not just any item in the recipe)
      */
-    record ByIngredient(ItemStack ingredient) implements Grouping {
+    record ByIngredient(ItemKey ingredient) implements Grouping {
         /**
-         * Get the ingredient item
+         * Create the grouping from an item
          * Note: the ingredient is normalized to an amount of 1
+         * @param ingredient the ingredient
          */
-        public ByIngredient {
-            ingredient = ingredient.asOne();
+        public ByIngredient(ItemStack ingredient) {
+            this(ItemKey.of(ingredient));
         }
     }
 
@@ -51,13 +57,14 @@ public sealed interface Grouping permits
      * The exact meaning of "other" is determined by the context in which this grouping is used.
      * @param other the item that recipes in this group are associated with, (must be an actual other item type in the recipe, not just any item in the recipe)
      */
-    record ByOther(ItemStack other) implements Grouping {
+    record ByOther(ItemKey other) implements Grouping {
         /**
-         * Get the "other" item
+         * Create the grouping from an item
          * Note: the other item is normalized to an amount of 1
+         * @param other the other item
          */
-        public ByOther {
-            other = other.asOne();
+        public ByOther(ItemStack other) {
+            this(ItemKey.of(other));
         }
     }
     
@@ -75,6 +82,20 @@ public sealed interface Grouping permits
     record ByKey(Key key) implements Grouping {
     }
     
+    /**
+     * Recipes grouped by an item tag one of their ingredient choices accepts exactly.
+     * @param tag the key of the item tag (e.g. {@code minecraft:planks})
+     */
+    record ByTag(Key tag) implements Grouping {
+    }
+
+    /**
+     * Recipes a player can craft right away with the items of their inventory.
+     * @param player the UUID of the player whose inventory was matched
+     */
+    record Craftable(UUID player) implements Grouping {
+    }
+
     /**
      * All recipes without specific grouping criteria.
      * Represents viewing all recipes across all processes.
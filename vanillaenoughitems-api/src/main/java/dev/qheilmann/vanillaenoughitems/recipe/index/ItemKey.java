@@ -0,0 +1,110 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Immutable identity of an item as seen by the recipe index.
+ * <p>
+ * Two items map to the same key when they are similar ({@link ItemStack#isSimilar(ItemStack)}), the amount is ignored.
+ * The hash is computed once from the material and the item components, so keys are cheap to use in hash maps.
+ * The recipe index interns the keys of its items per index generation, index lookups taking an {@link ItemStack}
+ * resolve against those keys without creating one.
+ * <p>
+ * Items without any component (plain vanilla items) resolve to their key without allocating.
+ */
+@NullMarked
+public final class ItemKey {
+
+    // Plain items (no component patch) are resolved by material ordinal, one shared key per material
+    private static final AtomicReferenceArray<@Nullable ItemKey> PLAIN_KEYS = new AtomicReferenceArray<>(Material.values().length);
+
+    private final Material type;
+    private final ItemStack item; // normalized to amount 1, never exposed
+    private final int hash;
+
+    private ItemKey(ItemStack item) {
+        this.item = item;
+        this.type = item.getType();
+        this.hash = hashOf(item);
+    }
+
+    /**
+     * Compute the hash the key of an item would have, without copying the item
+     * @param item the item, its amount is ignored
+     * @return the hash of the key of the item
+     */
+    public static int hashOf(ItemStack item) {
+        return 31 * item.getType().ordinal() + (item.hasItemMeta() ? item.getItemMeta().hashCode() : 0);
+    }
+
+    /**
+     * Get the key of an item.
+     * Items with components are copied and their components hashed, prefer the {@link ItemStack} lookups of the recipe index
+     * when only looking up an item.
+     * @param item the item, its amount is ignored
+     * @return the key of the item
+     */
+    public static ItemKey of(ItemStack item) {
+        if (!item.hasItemMeta()) {
+            return plain(item.getType());
+        }
+
+        return new ItemKey(item.asOne());
+    }
+
+    private static ItemKey plain(Material type) {
+        ItemKey key = PLAIN_KEYS.get(type.ordinal());
+        if (key == null) {
+            PLAIN_KEYS.compareAndSet(type.ordinal(), null, new ItemKey(new ItemStack(type)));
+            key = PLAIN_KEYS.get(type.ordinal());
+        }
+        return key;
+    }
+
+    /**
+     * Get the material of the item
+     * @return the material
+     */
+    public Material type() {
+        return type;
+    }
+
+    /**
+     * Check if an item is represented by this key (amount ignored)
+     * @param other the item to check
+     * @return true if the item is similar to this key's item
+     */
+    public boolean matches(ItemStack other) {
+        return item.isSimilar(other);
+    }
+
+    /**
+     * Create a new ItemStack of this key, with an amount of 1
+     * @return a new ItemStack
+     */
+    public ItemStack toItemStack() {
+        return item.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ItemKey other)) return false;
+        return hash == other.hash && type == other.type && item.isSimilar(other.item);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemKey[" + item + "]";
+    }
+}
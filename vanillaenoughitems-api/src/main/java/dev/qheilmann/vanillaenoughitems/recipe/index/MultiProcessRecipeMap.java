@@ -13,7 +13,6 @@ import org.jetbrains.annotations.UnmodifiableView;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
-import dev.qheilmann.vanillaenoughitems.recipe.helper.RecipeHelper;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 
 /**
@@ -25,13 +24,24 @@ public class MultiProcessRecipeMap {
 
     private final ConcurrentNavigableMap<Process, ProcessRecipeSet> processRecipeSets = new ConcurrentSkipListMap<>(Process.COMPARATOR);
     private final Grouping grouping;
+    private final RecipeTable table;
 
     /**
      * Create an empty MultiProcessRecipeMap
      * @param grouping the grouping of all the recipes in this map
      */
     public MultiProcessRecipeMap(Grouping grouping) {
+        this(grouping, new RecipeTable());
+    }
+
+    /**
+     * Create an empty MultiProcessRecipeMap whose ProcessRecipeSets share the given recipe table
+     * @param grouping the grouping of all the recipes in this map
+     * @param table the recipe table providing the recipe ordinals
+     */
+    public MultiProcessRecipeMap(Grouping grouping, RecipeTable table) {
         this.grouping = grouping;
+        this.table = table;
     }
 
     /**
@@ -52,12 +62,10 @@ public class MultiProcessRecipeMap {
      * @param other the MultiProcessRecipeMap to copy
      */
     public MultiProcessRecipeMap(MultiProcessRecipeMap other) {
-        this(
-            other.grouping,
-            other.processRecipeSets.values().stream()
-                .map(ProcessRecipeSet::new)
-                .toList()
-        );
+        this(other.grouping, other.table);
+        for (ProcessRecipeSet processRecipeSet : other.processRecipeSets.values()) {
+            putProcessRecipeSet(new ProcessRecipeSet(processRecipeSet));
+        }
     }
 
     /**
@@ -67,7 +75,7 @@ public class MultiProcessRecipeMap {
      * @return true if the recipe was added, false if the process cannot handle it
      */
     public boolean addRecipe(Process process, Recipe recipe) {
-        ProcessRecipeSet processRecipeSet = processRecipeSets.computeIfAbsent(process, p -> new ProcessRecipeSet(process));
+        ProcessRecipeSet processRecipeSet = processRecipeSets.computeIfAbsent(process, p -> new ProcessRecipeSet(process, table));
         return processRecipeSet.add(recipe);
     }
 
@@ -144,7 +152,7 @@ public class MultiProcessRecipeMap {
      * @return a new NavigableSet containing all recipes
      */
     public NavigableSet<Recipe> getAllRecipes() {
-        ConcurrentSkipListSet<Recipe> allRecipes = new ConcurrentSkipListSet<>(RecipeHelper.RECIPE_COMPARATOR);
+        ConcurrentSkipListSet<Recipe> allRecipes = new ConcurrentSkipListSet<>(table.recipeComparator());
         for (ProcessRecipeSet processRecipeSet : processRecipeSets.values()) {
             allRecipes.addAll(processRecipeSet.getRecipes());
         }
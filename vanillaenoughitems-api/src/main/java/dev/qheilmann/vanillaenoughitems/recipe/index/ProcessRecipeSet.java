@@ -1,13 +1,16 @@
 package dev.qheilmann.vanillaenoughitems.recipe.index;
 
-import java.util.Collections;
-import java.util.NavigableSet;
-import java.util.Objects;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 
 import org.bukkit.inventory.Recipe;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import dev.qheilmann.vanillaenoughitems.recipe.helper.RecipeHelper;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
@@ -15,50 +18,121 @@ import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 /**
  * Store multiple recipes. All recipes undergo the same unique process.
  * The recipes set are immutable
+ * <p>
+ * Recipes are stored as a sorted array of {@link RecipeTable} ordinals (in recipe order),
+ * so positional access and navigation are plain array operations.
+ * Published arrays are never modified, every change swaps in a new array.
  */
 @NullMarked
 public class ProcessRecipeSet {
 
+    private static final int[] EMPTY = new int[0];
+
     private final Process process;
-    private final ConcurrentSkipListSet<Recipe> recipes;
+    private final RecipeTable table;
+
+    private volatile int[] ordinals = EMPTY; // sorted in recipe order, never mutated once published
+    private volatile @Nullable Hash hash; // hash of a published ordinal array
+
+    // Additions buffered until the next read, keeps bulk indexing linear
+    private int[] pending = EMPTY;
+    private volatile int pendingCount = 0;
 
     /**
-     * Create a ProcessRecipeSet without initial recipes
+     * Create a ProcessRecipeSet without initial recipes, with its own recipe table.
+     * Sets of an index should share its table, see {@link #ProcessRecipeSet(Process, RecipeTable)}.
      * @param process the process
      */
     public ProcessRecipeSet(Process process) {
+        this(process, new RecipeTable());
+    }
+
+    /**
+     * Create a ProcessRecipeSet without initial recipes, sharing the given recipe table
+     * @param process the process
+     * @param table the recipe table providing the recipe ordinals
+     */
+    public ProcessRecipeSet(Process process, RecipeTable table) {
         this.process = process;
-        recipes = new ConcurrentSkipListSet<>(RecipeHelper.RECIPE_COMPARATOR); // Concurrent NavigableSet
+        this.table = table;
     }
 
     /**
-     * Create a ProcessRecipeSet with initial recipes
+     * Create a ProcessRecipeSet with initial recipes, with its own recipe table.
+     * Sets of an index should share its table, see {@link #ProcessRecipeSet(Process, RecipeTable, Set)}.
      * @param process the process
      * @param recipes the initial recipes
      */
     public ProcessRecipeSet(Process process, Set<Recipe> recipes) {
-        this(process);
+        this(process, new RecipeTable(), recipes);
+    }
 
-        for (Recipe recipe : recipes) {
-            add(recipe);
-        }
+    /**
+     * Create a ProcessRecipeSet with initial recipes, sharing the given recipe table
+     * @param process the process
+     * @param table the recipe table providing the recipe ordinals
+     * @param recipes the initial recipes
+     */
+    public ProcessRecipeSet(Process process, RecipeTable table, Set<Recipe> recipes) {
+        this(process, table);
+        addAll(recipes);
     }
 
     /**
      * Create a copy of an existing ProcessRecipeSet.
-     * The copy clone the recipes and process.
+     * The copy shares the recipe table and the current (immutable) ordinal array, it does not copy recipes.
      * @param other the ProcessRecipeSet to copy
      */
     public ProcessRecipeSet(ProcessRecipeSet other) {
-        this(other.process, other.recipes);
+        this.process = other.process;
+        this.table = other.table;
+        this.ordinals = other.snapshot();
     }
 
+    //#region Read
+
     /**
-     * Get an unmodifiable view of the recipes
+     * Get an unmodifiable view of the recipes, in recipe order
      * @return unmodifiable view of the recipes
      */
-    public NavigableSet<Recipe> getRecipes() {
-        return Collections.unmodifiableNavigableSet(recipes);
+    public List<Recipe> getRecipes() {
+        return new RecipeListView(table, snapshot());
+    }
+
+    /**
+     * Get the recipe at a position
+     * @param index the position, in recipe order
+     * @return the recipe
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Recipe get(int index) {
+        return table.get(snapshot()[index]);
+    }
+
+    /**
+     * Get the position of a recipe.
+     * Recipes are looked up by their ordinal in the recipe table of this set, a recipe instance that is not registered
+     * in the table (e.g. the same recipe read from another index generation) is a miss.
+     * @param recipe the recipe to search
+     * @return the position of the recipe, or -1 if the recipe is not in this set
+     */
+    public int indexOf(Recipe recipe) {
+        int ordinal = table.ordinalOf(recipe);
+        if (ordinal < 0) {
+            return -1;
+        }
+
+        int index = binarySearch(snapshot(), ordinal);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Check if the set contains a recipe
+     * @param recipe the recipe to check
+     * @return true if the recipe is in this set
+     */
+    public boolean contains(Recipe recipe) {
+        return indexOf(recipe) >= 0;
     }
 
     /**
@@ -69,6 +143,18 @@ public class ProcessRecipeSet {
         return process;
     }
 
+    /**
+     * Get the recipe table providing the ordinals of this set
+     * @return the recipe table
+     */
+    public RecipeTable getTable() {
+        return table;
+    }
+
+    //#endregion Read
+
+    //#region Write
+
     /**
      * Add a recipe to the set if the process can handle it
      * @param recipe the recipe to add
@@ -79,8 +165,15 @@ public class ProcessRecipeSet {
         if (!process.canHandleRecipe(recipe)) {
             return false;
         }
-        
-        recipes.add(recipe);
+
+        int ordinal = table.register(recipe);
+        synchronized (this) {
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(8, pending.length * 2));
+            }
+            pending[pendingCount] = ordinal;
+            pendingCount = pendingCount + 1;
+        }
         return true;
     }
 
@@ -88,7 +181,7 @@ public class ProcessRecipeSet {
      * Add multiple recipes to the set if the process can handle them
      * @param recipesToAdd the recipes to add
      */
-    public void addAll(Set<Recipe> recipesToAdd) {
+    public void addAll(Collection<Recipe> recipesToAdd) {
         for (Recipe recipe : recipesToAdd) {
             add(recipe);
         }
@@ -99,8 +192,18 @@ public class ProcessRecipeSet {
      * @param recipe the recipe to remove
      * @return true if this set contained the specified recipe
      */
-    public boolean remove(Recipe recipe) {
-        return recipes.remove(recipe);
+    public synchronized boolean remove(Recipe recipe) {
+        int index = indexOf(recipe);
+        if (index < 0) {
+            return false;
+        }
+
+        int[] current = ordinals;
+        int[] next = new int[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        ordinals = next;
+        return true;
     }
 
     /**
@@ -118,7 +221,7 @@ public class ProcessRecipeSet {
      * @return the number of recipes
      */
     public int size() {
-        return recipes.size();
+        return snapshot().length;
     }
 
     /**
@@ -126,21 +229,160 @@ public class ProcessRecipeSet {
      * @return true if the set is empty, false otherwise
      */
     public boolean isEmpty() {
-        return recipes.isEmpty();
+        return size() == 0;
     }
 
     /**
      * Clear all recipes from the set
      */
-    public void clear() {
-        recipes.clear();
+    public synchronized void clear() {
+        pending = EMPTY;
+        pendingCount = 0;
+        ordinals = EMPTY;
     }
 
+    //#endregion Write
+
+    //#region Internal
+
+    /**
+     * Get the current sorted ordinals, merging pending additions first
+     * @return the sorted ordinals, must not be modified
+     */
+    private int[] snapshot() {
+        if (pendingCount == 0) {
+            return ordinals;
+        }
+        synchronized (this) {
+            if (pendingCount > 0) {
+                ordinals = merge(ordinals, pending, pendingCount);
+                pending = EMPTY;
+                pendingCount = 0;
+            }
+            return ordinals;
+        }
+    }
+
+    /**
+     * Merge unsorted additions into a sorted ordinal array, dropping duplicates
+     */
+    private int[] merge(int[] sorted, int[] additions, int additionCount) {
+        int[] added = sortOrdinals(Arrays.copyOf(additions, additionCount));
+
+        int[] merged = new int[sorted.length + added.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < sorted.length || j < added.length) {
+            int next;
+            if (j >= added.length) {
+                next = sorted[i++];
+            } else if (i >= sorted.length) {
+                next = added[j++];
+            } else {
+                int cmp = table.compare(sorted[i], added[j]);
+                if (cmp < 0) {
+                    next = sorted[i++];
+                } else if (cmp > 0) {
+                    next = added[j++];
+                } else {
+                    next = sorted[i++];
+                    j++;
+                }
+            }
+            if (k == 0 || merged[k - 1] != next) {
+                merged[k++] = next;
+            }
+        }
+        return k == merged.length ? merged : Arrays.copyOf(merged, k);
+    }
+
+    /**
+     * Sort ordinals in recipe order, numerically when they all come from a sorted registration
+     */
+    private int[] sortOrdinals(int[] values) {
+        if (table.allSorted(values, values.length)) {
+            Arrays.sort(values);
+            return values;
+        }
+
+        Integer[] boxed = Arrays.stream(values).boxed().toArray(Integer[]::new);
+        Comparator<Integer> order = table::compare;
+        Arrays.sort(boxed, order);
+        return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Binary search an ordinal in a sorted ordinal array
+     * @return the position, or a negative value if absent
+     */
+    private int binarySearch(int[] sorted, int ordinal) {
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = table.compare(sorted[mid], ordinal);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read-only list over an immutable ordinal array
+     */
+    private static final class RecipeListView extends AbstractList<Recipe> implements RandomAccess {
+        private final RecipeTable table;
+        private final int[] ordinals;
+
+        RecipeListView(RecipeTable table, int[] ordinals) {
+            this.table = table;
+            this.ordinals = ordinals;
+        }
+
+        @Override
+        public Recipe get(int index) {
+            return table.get(ordinals[index]);
+        }
+
+        @Override
+        public int size() {
+            return ordinals.length;
+        }
+    }
+
+    /**
+     * Hash of an ordinal array, compared by identity
+     */
+    private record Hash(int[] ordinals, int value) {}
+
+    //#endregion Internal
+
+    /**
+     * Hash the process and the recipes, consistent with {@link #equals(Object)} across recipe tables.
+     * Computed once per published ordinal array.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(process, recipes);
+        int[] current = snapshot();
+        Hash cached = hash;
+        if (cached != null && cached.ordinals() == current) {
+            return cached.value();
+        }
+
+        int value = process.hashCode();
+        for (int ordinal : current) {
+            value = 31 * value + table.hash(ordinal);
+        }
+        hash = new Hash(current, value);
+        return value;
     }
-    
+
     /**
      * Check equality between this ProcessRecipeSet and another object
      * Considers two ProcessRecipeSets equal if they have the same process and identical sets of recipes
@@ -152,6 +394,17 @@ public class ProcessRecipeSet {
         if (this == obj) return true;
         if (!(obj instanceof ProcessRecipeSet other)) return false;
         if (!process.equals(other.process)) return false;
-        return recipes.equals(other.recipes);
+
+        int[] mine = snapshot();
+        int[] theirs = other.snapshot();
+        if (mine.length != theirs.length) return false;
+        if (table == other.table) return Arrays.equals(mine, theirs);
+
+        for (int i = 0; i < mine.length; i++) {
+            if (RecipeHelper.RECIPE_COMPARATOR.compare(table.get(mine[i]), other.table.get(theirs[i])) != 0) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,17 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+
+/**
+ * One recipe of a crafting path, turning an item of the path into the next one.
+ *
+ * @param input the item used as ingredient, the previous output of the path
+ * @param process the process handling the recipe
+ * @param recipe the recipe
+ * @param output the result item of the recipe, the next input of the path
+ */
+@NullMarked
+public record RecipePathStep(ItemKey input, Process process, Recipe recipe, ItemKey output) {}
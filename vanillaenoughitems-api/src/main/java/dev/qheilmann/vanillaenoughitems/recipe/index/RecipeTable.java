@@ -0,0 +1,272 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.helper.RecipeHelper;
+
+/**
+ * Assign dense int ordinals and stable 64-bit ranks to recipes, shared by every {@link ProcessRecipeSet} of an index.
+ * <p>
+ * The rank of a recipe follows {@link RecipeHelper#RECIPE_COMPARATOR} order (key order for keyed recipes, content hash for the others)
+ * and is computed once at registration, so ordering two registered recipes is a single long comparison.
+ * Ranks are spaced out so recipes registered later usually fit between their neighbours,
+ * when a gap is exhausted every rank is spread again (relative order never changes).
+ * <p>
+ * Recipes registered with {@link #registerSorted(Collection)} also get ordinals in recipe order, so they can be sorted by ordinal.
+ * Ordinals are never reused or removed, the table is append-only.
+ */
+@NullMarked
+public final class RecipeTable {
+
+    private static final long RANK_GAP = 1L << 20;
+
+    private volatile Recipe[] recipes = new Recipe[16];
+    private volatile long[] ranks = new long[16]; // rank of each ordinal, replaced as a whole when ranks are spread again
+    private volatile int[] ordinalsByRank = new int[0]; // all ordinals, in rank order
+    private volatile int size = 0;
+    private volatile int sortedPrefix = 0; // ordinals below this value are in recipe order
+    private final ConcurrentHashMap<Recipe, Integer> ordinals = new ConcurrentHashMap<>();
+    private final Comparator<Recipe> recipeComparator = this::compare;
+
+    /**
+     * Register recipes in recipe order, giving them consecutive ordinals.
+     * Must be called on an empty table, usually right before an index is built.
+     * @param recipesToRegister the recipes to register, in any order
+     * @throws IllegalStateException if the table is not empty
+     */
+    public synchronized void registerSorted(Collection<Recipe> recipesToRegister) {
+        if (size != 0) {
+            throw new IllegalStateException("Sorted registration requires an empty RecipeTable");
+        }
+
+        Recipe[] sorted = recipesToRegister.toArray(Recipe[]::new);
+        Arrays.parallelSort(sorted, RecipeHelper.RECIPE_COMPARATOR);
+
+        int capacity = Math.max(16, sorted.length);
+        Recipe[] table = new Recipe[capacity];
+        long[] tableRanks = new long[capacity];
+        int count = 0;
+        for (Recipe recipe : sorted) {
+            if (ordinals.putIfAbsent(recipe, count) == null) {
+                table[count] = recipe;
+                tableRanks[count] = (count + 1) * RANK_GAP;
+                count++;
+            }
+        }
+
+        int[] byRank = new int[count];
+        Arrays.setAll(byRank, i -> i);
+
+        this.recipes = table;
+        this.ranks = tableRanks;
+        this.ordinalsByRank = byRank;
+        this.sortedPrefix = count;
+        this.size = count;
+    }
+
+    /**
+     * Get the ordinal of a recipe, registering it if needed
+     * @param recipe the recipe
+     * @return the recipe ordinal
+     */
+    public int register(Recipe recipe) {
+        Integer ordinal = ordinals.get(recipe);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        synchronized (this) {
+            ordinal = ordinals.get(recipe);
+            if (ordinal != null) {
+                return ordinal;
+            }
+
+            int next = size;
+            Recipe[] table = recipes;
+            long[] tableRanks = ranks;
+            if (next == table.length) {
+                table = Arrays.copyOf(table, table.length * 2);
+                tableRanks = Arrays.copyOf(tableRanks, tableRanks.length * 2);
+            }
+            table[next] = recipe;
+
+            // Find the recipe position in rank order, then take the middle of the gap between its neighbours
+            int[] byRank = ordinalsByRank;
+            int position = insertionPoint(table, byRank, recipe);
+            long lower = position > 0 ? tableRanks[byRank[position - 1]] : 0L;
+            long upper = position < byRank.length ? tableRanks[byRank[position]] : lower + 2 * RANK_GAP;
+            if (upper - lower < 2) {
+                tableRanks = spread(tableRanks, byRank);
+                lower = position > 0 ? tableRanks[byRank[position - 1]] : 0L;
+                upper = position < byRank.length ? tableRanks[byRank[position]] : lower + 2 * RANK_GAP;
+            }
+            tableRanks[next] = lower + (upper - lower) / 2;
+
+            int[] nextByRank = new int[byRank.length + 1];
+            System.arraycopy(byRank, 0, nextByRank, 0, position);
+            nextByRank[position] = next;
+            System.arraycopy(byRank, position, nextByRank, position + 1, byRank.length - position);
+
+            this.recipes = table;
+            this.ranks = tableRanks;
+            this.ordinalsByRank = nextByRank;
+            ordinals.put(recipe, next);
+            this.size = next + 1; // publish last
+            return next;
+        }
+    }
+
+    /**
+     * Get the ordinal of a registered recipe
+     * @param recipe the recipe
+     * @return the recipe ordinal, or -1 if the recipe is not registered
+     */
+    public int ordinalOf(Recipe recipe) {
+        Integer ordinal = ordinals.get(recipe);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Get a recipe by its ordinal
+     * @param ordinal the recipe ordinal
+     * @return the recipe
+     * @throws IndexOutOfBoundsException if the ordinal is not registered
+     */
+    public Recipe get(int ordinal) {
+        checkOrdinal(ordinal);
+        return recipes[ordinal];
+    }
+
+    /**
+     * Get the rank of a recipe by its ordinal.
+     * Ranks only make sense relative to each other, they can be spread again when recipes are registered.
+     * @param ordinal the recipe ordinal
+     * @return the recipe rank
+     * @throws IndexOutOfBoundsException if the ordinal is not registered
+     */
+    public long rank(int ordinal) {
+        checkOrdinal(ordinal);
+        return ranks[ordinal];
+    }
+
+    /**
+     * Get a hash of a recipe by its ordinal, stable across tables.
+     * Recipes equal in recipe order ({@link RecipeHelper#RECIPE_COMPARATOR}) have the same hash, whatever table registered them.
+     * @param ordinal the recipe ordinal
+     * @return the recipe hash
+     * @throws IndexOutOfBoundsException if the ordinal is not registered
+     */
+    public int hash(int ordinal) {
+        Recipe recipe = get(ordinal);
+        int hash = recipe.getClass().getName().hashCode();
+        return recipe instanceof org.bukkit.Keyed keyed ? 31 * hash + keyed.getKey().hashCode() : hash;
+    }
+
+    /**
+     * Compare two recipes by their ordinals, in recipe order
+     * @param ordinal1 the first ordinal
+     * @param ordinal2 the second ordinal
+     * @return a negative integer, zero, or a positive integer as the first recipe is less than, equal to, or greater than the second
+     */
+    public int compare(int ordinal1, int ordinal2) {
+        if (ordinal1 == ordinal2) {
+            return 0;
+        }
+        checkOrdinal(ordinal1);
+        checkOrdinal(ordinal2);
+        long[] current = ranks; // Single read, both ranks come from the same spread
+        return Long.compare(current[ordinal1], current[ordinal2]);
+    }
+
+    /**
+     * Compare two recipes in recipe order, by rank when both are registered in this table
+     * @param recipe1 the first recipe
+     * @param recipe2 the second recipe
+     * @return a negative integer, zero, or a positive integer as the first recipe is less than, equal to, or greater than the second
+     */
+    public int compare(Recipe recipe1, Recipe recipe2) {
+        int ordinal1 = ordinalOf(recipe1);
+        int ordinal2 = ordinalOf(recipe2);
+        if (ordinal1 >= 0 && ordinal2 >= 0) {
+            return compare(ordinal1, ordinal2);
+        }
+        return RecipeHelper.RECIPE_COMPARATOR.compare(recipe1, recipe2);
+    }
+
+    /**
+     * Get a comparator ordering recipes like {@link RecipeHelper#RECIPE_COMPARATOR}, using ranks for registered recipes
+     * @return the rank comparator of this table
+     */
+    public Comparator<Recipe> recipeComparator() {
+        return recipeComparator;
+    }
+
+    /**
+     * Check if all given ordinals were registered in recipe order, meaning they can be sorted numerically
+     * @param ordinalsToCheck the ordinals
+     * @param length the number of ordinals to check
+     * @return true if every ordinal is in the sorted prefix
+     */
+    boolean allSorted(int[] ordinalsToCheck, int length) {
+        int prefix = sortedPrefix;
+        for (int i = 0; i < length; i++) {
+            if (ordinalsToCheck[i] >= prefix) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of registered recipes
+     * @return the number of registered recipes
+     */
+    public int size() {
+        return size;
+    }
+
+    //#region Internal
+
+    private void checkOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("Unknown recipe ordinal: " + ordinal);
+        }
+    }
+
+    /**
+     * Binary search the position of a new recipe among the registered ones, in recipe order
+     */
+    private static int insertionPoint(Recipe[] table, int[] byRank, Recipe recipe) {
+        int low = 0;
+        int high = byRank.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (RecipeHelper.RECIPE_COMPARATOR.compare(table[byRank[mid]], recipe) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Give evenly spaced ranks to every registered recipe, keeping their order
+     * @return a new rank array, the published one is never modified in place
+     */
+    private static long[] spread(long[] tableRanks, int[] byRank) {
+        long[] spreadRanks = Arrays.copyOf(tableRanks, tableRanks.length);
+        for (int i = 0; i < byRank.length; i++) {
+            spreadRanks[byRank[i]] = (i + 1) * RANK_GAP;
+        }
+        return spreadRanks;
+    }
+
+    //#endregion Internal
+}
@@ -12,6 +12,9 @@ import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 /**
  * Walk over an MultiProcessRecipeMap and save current process position.
  * The inner processRecipeMap can't be accessed to avoid modification.
+ * <p>
+ * The map is shared read-only between readers, a reader only owns its cursor (current process and recipe),
+ * so copying a reader is constant time whatever the number of recipes.
  */
 @NullMarked
 public class MultiProcessRecipeReader {
@@ -38,11 +41,12 @@ public class MultiProcessRecipeReader {
 
     /**
      * Create a copy of an existing MultiProcessRecipeReader.
-     * The copy has a new instance of MultiProcessRecipeMap and has independent position tracking.
+     * The copy shares the MultiProcessRecipeMap and has independent position tracking, starting at the same process and recipe.
      * @param other the reader to copy
      */
     public MultiProcessRecipeReader(MultiProcessRecipeReader other) {
-        this(new MultiProcessRecipeMap(other.multiProcessRecipeMap), other.currentProcessRecipeReader.getProcess());
+        this.multiProcessRecipeMap = other.multiProcessRecipeMap;
+        this.currentProcessRecipeReader = new ProcessRecipeReader(other.currentProcessRecipeReader);
     }
 
     /**
@@ -1,6 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.index.reader;
 
-import java.util.NavigableSet;
+import java.util.List;
 import java.util.Objects;
 
 import org.bukkit.inventory.Recipe;
@@ -12,19 +12,20 @@ import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 
 /**
  * Walk over an ProcessRecipeSet and save current recipe position.
- * The inner processRecipeSet can't be accessed to avoid modification.
+ * The inner processRecipeSet can't be accessed to avoid modification, it is shared between copies.
  */
 @NullMarked
 public class ProcessRecipeReader {
     private final ProcessRecipeSet processRecipeSet;
     private Recipe currentRecipe;
+    private int currentIndex; // position hint of currentRecipe, re-resolved if the set changed
 
     /**
      * Create a ProcessRecipeReader starting at the first recipe
      * @param processRecipeSet the process recipe set
      */
     public ProcessRecipeReader(ProcessRecipeSet processRecipeSet) {
-        this(processRecipeSet, processRecipeSet.getRecipes().first());
+        this(processRecipeSet, processRecipeSet.get(0));
     }
 
     /**
@@ -40,12 +41,13 @@ public class ProcessRecipeReader {
 
     /**
      * Create a copy of an existing ProcessRecipeReader.
-     * The copy a new instance of ProcessRecipeSet and has independent position tracking.
+     * The copy shares the ProcessRecipeSet and has independent position tracking.
      * @param other the reader to copy
      */
     public ProcessRecipeReader(ProcessRecipeReader other) {
-        this.processRecipeSet = new ProcessRecipeSet(other.processRecipeSet);
+        this.processRecipeSet = other.processRecipeSet;
         this.currentRecipe = other.currentRecipe;
+        this.currentIndex = other.currentIndex;
     }
 
     /**
@@ -55,10 +57,12 @@ public class ProcessRecipeReader {
      * @throws IllegalArgumentException if the recipe does not exist in the ProcessRecipeSet
      */
     public void setCurrent(Recipe recipe) {
-        if (!processRecipeSet.getRecipes().contains(recipe)) {
+        int index = processRecipeSet.indexOf(recipe);
+        if (index < 0) {
             throw new IllegalArgumentException("Recipe does not exist in the ProcessRecipeSet");
         }
         this.currentRecipe = recipe;
+        this.currentIndex = index;
     }
 
     /**
@@ -75,7 +79,7 @@ public class ProcessRecipeReader {
      * @return true if the recipe exists in the ProcessRecipeSet, false otherwise
      */
     public boolean contains(Recipe recipe) {
-        return processRecipeSet.getRecipes().contains(recipe);
+        return processRecipeSet.contains(recipe);
     }
 
     /**
@@ -83,7 +87,7 @@ public class ProcessRecipeReader {
      * @return true if the current recipe is the first recipe, false otherwise
      */
     public boolean isFirst() {
-        return processRecipeSet.getRecipes().lower(currentRecipe) == null;
+        return currentIndex() <= 0;
     }
 
     /**
@@ -91,12 +95,13 @@ public class ProcessRecipeReader {
      * @return the previous recipe, or null if there is no previous recipe ({@link #isFirst()} is true)
      */
     public @Nullable Recipe previous() {
-        Recipe previousRecipe = processRecipeSet.getRecipes().lower(currentRecipe);
-        if (previousRecipe == null) {
+        int index = currentIndex();
+        if (index <= 0) {
             return null;
         }
-        currentRecipe = previousRecipe;
-        return previousRecipe;
+        currentIndex = index - 1;
+        currentRecipe = processRecipeSet.get(currentIndex);
+        return currentRecipe;
     }
 
     /**
@@ -104,7 +109,7 @@ public class ProcessRecipeReader {
      * @return true if the current recipe is the last recipe, false otherwise
      */
     public boolean isLast() {
-        return processRecipeSet.getRecipes().higher(currentRecipe) == null;
+        return currentIndex() >= processRecipeSet.size() - 1;
     }
 
     /**
@@ -112,12 +117,13 @@ public class ProcessRecipeReader {
      * @return the next recipe, or null if there is no next recipe ({@link #isLast()} is true)
      */
     public @Nullable Recipe next() {
-        Recipe nextRecipe = processRecipeSet.getRecipes().higher(currentRecipe);
-        if (nextRecipe == null) {
+        int index = currentIndex();
+        if (index < 0 || index >= processRecipeSet.size() - 1) {
             return null;
         }
-        currentRecipe = nextRecipe;
-        return nextRecipe;
+        currentIndex = index + 1;
+        currentRecipe = processRecipeSet.get(currentIndex);
+        return currentRecipe;
     }
 
     /**
@@ -130,12 +136,25 @@ public class ProcessRecipeReader {
 
     /**
      * Get all recipes in the ProcessRecipeSet being read
-     * @return all recipes
+     * @return all recipes, in recipe order
      */
-    public NavigableSet<Recipe> getAllRecipes() {
+    public List<Recipe> getAllRecipes() {
         return processRecipeSet.getRecipes();
     }
 
+    /**
+     * Get the position of the current recipe, re-resolving it if the underlying set changed since it was computed
+     * @return the position of the current recipe, or -1 if it was removed from the set
+     */
+    private int currentIndex() {
+        int index = currentIndex;
+        if (index >= 0 && index < processRecipeSet.size() && processRecipeSet.get(index) == currentRecipe) {
+            return index;
+        }
+        currentIndex = processRecipeSet.indexOf(currentRecipe);
+        return currentIndex;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(processRecipeSet, currentRecipe);
@@ -1,13 +1,18 @@
 package dev.qheilmann.vanillaenoughitems.recipe.index.reader;
 
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipePathStep;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 
 import net.kyori.adventure.key.Key;
@@ -78,6 +83,16 @@ public interface RecipeIndexView {
     @Nullable
     public MultiProcessRecipeReader readerByResult(ItemStack result);
 
+    /**
+     * Return a MultiProcessRecipeReader for the specified result key.
+     * All recipes are categorized by their process.
+     *
+     * @param result the target result key
+     * @return a MultiProcessRecipeReader for the result, or null if none exist
+     */
+    @Nullable
+    public MultiProcessRecipeReader readerByResult(ItemKey result);
+
     /**
      * Return a MultiProcessRecipeReader for the specified result, starting at the specified process.
      * The reader will contain only recipes for that single process.
@@ -117,6 +132,16 @@ public interface RecipeIndexView {
     @Nullable
     public MultiProcessRecipeReader readerByIngredient(ItemStack item);
 
+    /**
+     * Return a MultiProcessRecipeReader for the specified ingredient key.
+     * All recipes are categorized by their process.
+     *
+     * @param item the target ingredient key
+     * @return a MultiProcessRecipeReader for the ingredient, or null if none exist
+     */
+    @Nullable
+    public MultiProcessRecipeReader readerByIngredient(ItemKey item);
+
     /**
      * Return a MultiProcessRecipeReader for the specified ingredient, starting at the specified process.
      * The reader will contain only recipes for that single process.
@@ -144,6 +169,32 @@ public interface RecipeIndexView {
 
     //#endregion By Ingredient
 
+    //#region By Tag
+
+    /**
+     * Return a MultiProcessRecipeReader for the recipes using the specified item tag.
+     * A recipe uses a tag when one of its ingredient choices accepts exactly the items of that tag.
+     * All recipes are categorized by their process.
+     *
+     * @param tag the target tag key (e.g. {@code minecraft:planks})
+     * @return a MultiProcessRecipeReader for the tag, or null if none exist
+     */
+    @Nullable
+    public MultiProcessRecipeReader readerByTag(Key tag);
+
+    /**
+     * Return a MultiProcessRecipeReader for the recipes using the specified item tag, starting at the specified process.
+     *
+     * @param tag the target tag key
+     * @param startProcess the target process
+     * @return a MultiProcessRecipeReader for the tag and process, or null if none exist
+     * @throws IllegalArgumentException if the process does not exist in the MultiProcessRecipeMap
+     */
+    @Nullable
+    public MultiProcessRecipeReader readerByTag(Key tag, Process startProcess);
+
+    //#endregion By Tag
+
     //#region All Recipes
 
     /**
@@ -177,17 +228,71 @@ public interface RecipeIndexView {
 
     //#endregion All Recipes
 
+    //#region Reachability
+
+    /**
+     * Find every item the specified item can become through any chain of recipes.
+     * An item is reachable when it is the result of a recipe using the item, or using an item reachable from it.
+     *
+     * @param item the start item
+     * @return an unmodifiable map of the reachable items to the minimal number of recipes leading to them,
+     * ordered by that number; empty if the item is not used by any recipe
+     */
+    public Map<ItemKey, Integer> reachableFrom(ItemStack item);
+
+    /**
+     * Find every item the specified item key can become through any chain of recipes.
+     *
+     * @param item the start item key
+     * @return an unmodifiable map of the reachable items to the minimal number of recipes leading to them,
+     * ordered by that number; empty if the item is not used by any recipe
+     * @see #reachableFrom(ItemStack)
+     */
+    public Map<ItemKey, Integer> reachableFrom(ItemKey item);
+
+    /**
+     * Find a path using the fewest recipes to turn an item into another one.
+     * Each step uses the output of the previous step as ingredient.
+     *
+     * @param from the start item key
+     * @param to the wanted item key
+     * @return the steps of the path in crafting order, empty if both items are the same, or null if no path exists
+     */
+    @Nullable
+    public List<RecipePathStep> findPath(ItemKey from, ItemKey to);
+
+    /**
+     * Find the path with the lowest total weight to turn an item into another one,
+     * each recipe weighing the weight of its process (e.g. to prefer crafting over smelting).
+     *
+     * @param from the start item key
+     * @param to the wanted item key
+     * @param processWeights the weight of one recipe of a process, at least 1
+     * @return the steps of the path in crafting order, empty if both items are the same, or null if no path exists
+     * @throws IllegalArgumentException if a process weight is lower than 1
+     */
+    @Nullable
+    public List<RecipePathStep> findPath(ItemKey from, ItemKey to, ToIntFunction<Process> processWeights);
+
+    //#endregion Reachability
+
     /**
      * Get all result items in the recipe index
-     * @return a set of all result items
+     * @return a set of all result item keys
      */
-    public Set<ItemStack> getAllResultItems();
+    public Set<ItemKey> getAllResultItems();
 
     /**
      * Get all ingredient items in the recipe index
-     * @return a set of all ingredient items
+     * @return a set of all ingredient item keys
+     */
+    public Set<ItemKey> getAllIngredientItems();
+
+    /**
+     * Get all item tags used by at least one recipe of the index
+     * @return a set of all used tag keys
      */
-    public Set<ItemStack> getAllIngredientItems();
+    public Set<Key> getAllTags();
 
     /**
      * Get all recipes indexed by their recipe key
@@ -200,12 +305,17 @@ public interface RecipeIndexView {
     /**
      * Index multiple recipes with an iterable.
      * You can use a lambda {@code () -> iterator} to consume an iterator instance
+     * <p>
+     * Each call rebuilds the index once, whatever the number of recipes: pass every recipe in one call.
      * @param recipes the recipes to index
      */
     public void indexRecipe(Iterable<Recipe> recipes);
 
     /**
-     * Index a single recipe
+     * Index a single recipe.
+     * <p>
+     * Each call rebuilds the whole index (linear in the number of indexed recipes),
+     * to index several recipes use {@link #indexRecipe(Iterable)} once instead of calling this in a loop.
      * @param recipe the recipe to index
      */
     public void indexRecipe(Recipe recipe);
@@ -213,12 +323,17 @@ public interface RecipeIndexView {
     /**
      * Deindex multiple recipes with an iterable.
      * You can use a lambda {@code () -> iterator} to consume an iterator instance
+     * <p>
+     * Each call rebuilds the index once, whatever the number of recipes: pass every key in one call.
      * @param recipeKeys the recipe keys to deindex
      */
     public void deindexRecipe(Iterable<Key> recipeKeys);
 
     /**
-     * Deindex a single recipe
+     * Deindex a single recipe.
+     * <p>
+     * Each call rebuilds the whole index (linear in the number of indexed recipes),
+     * to deindex several recipes use {@link #deindexRecipe(Iterable)} once instead of calling this in a loop.
      * @param recipeKey the recipe key to deindex
      */
     public void deindexRecipe(Key recipeKey);
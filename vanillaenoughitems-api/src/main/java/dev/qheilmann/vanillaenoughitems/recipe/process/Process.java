@@ -41,7 +41,8 @@ public interface Process extends Keyed{
     public static final UndefinedProcess UNDEFINED_PROCESS = UndefinedProcess.INSTANCE;
 
     /**
-     * Check if the process can handle a recipe
+     * Check if the process can handle a recipe.
+     * The answer must only depend on the recipe class, the recipe index asks once per recipe class.
      * @param recipe the recipe to check
      * @return true if the process can handle the recipe, false otherwise
      */
@@ -9,12 +9,18 @@ import net.kyori.adventure.key.Key;
 /**
  * Registry for recipe processes.
  * Allows registering new process types and looking up processes by key or recipe.
+ * <p>
+ * Register processes during {@code VeiRegistrationEvent}, the registry is frozen once the event is over:
+ * processes registered afterwards are logged and ignored.
+ * The recipe index resolves the process of a recipe once per recipe class,
+ * so {@link Process#canHandleRecipe(Recipe)} must only depend on the recipe class.
  */
 @NullMarked
 public interface ProcessRegistry {
 
     /**
-     * Register a process
+     * Register a process.
+     * Must be called during {@code VeiRegistrationEvent}, the process is ignored once the registry is frozen.
      * @param process the process to register
      */
     void registerProcess(Process process);
@@ -28,7 +34,7 @@ public interface ProcessRegistry {
     Process getProcess(Key key);
 
     /**
-     * Get the process that can handle the given recipe
+     * Get the first process that can handle the given recipe, in {@link Process#COMPARATOR} order
      * @param recipe the recipe to check
      * @return the process that can handle the recipe, or {@link Process#UNDEFINED_PROCESS} if none found
      */
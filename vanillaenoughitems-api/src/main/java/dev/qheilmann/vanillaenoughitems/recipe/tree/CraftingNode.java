@@ -0,0 +1,38 @@
+package dev.qheilmann.vanillaenoughitems.recipe.tree;
+
+import java.util.List;
+
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+
+/**
+ * A step of a {@link CraftingTree}: an item in the amount needed, and how it is obtained.
+ *
+ * @param item the item
+ * @param amount the number of items needed
+ * @param recipe the recipe crafting the item, or null for a raw material
+ * @param process the process of the recipe, or null for a raw material
+ * @param crafts the number of times the recipe is used, 0 for a raw material
+ * @param inputs the steps producing the ingredients of all the crafts, empty for a raw material
+ */
+@NullMarked
+public record CraftingNode(
+    ItemKey item,
+    long amount,
+    @Nullable Recipe recipe,
+    @Nullable Process process,
+    long crafts,
+    List<CraftingNode> inputs) {
+
+    /**
+     * Check if the item is a raw material, i.e. not crafted in this tree
+     * @return true if no recipe is used for the item
+     */
+    public boolean isRaw() {
+        return recipe == null;
+    }
+}
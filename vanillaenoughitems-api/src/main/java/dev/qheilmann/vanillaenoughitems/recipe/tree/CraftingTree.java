@@ -0,0 +1,16 @@
+package dev.qheilmann.vanillaenoughitems.recipe.tree;
+
+import java.util.Map;
+
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+
+/**
+ * The expansion of an item into the recipes crafting it, down to its raw materials.
+ *
+ * @param root the step of the requested item
+ * @param rawMaterials the total amount of each raw material, unmodifiable, in order of first appearance in the tree
+ */
+@NullMarked
+public record CraftingTree(CraftingNode root, Map<ItemKey, Long> rawMaterials) {}
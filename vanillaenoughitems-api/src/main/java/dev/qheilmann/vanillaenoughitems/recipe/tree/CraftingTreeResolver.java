@@ -0,0 +1,41 @@
+package dev.qheilmann.vanillaenoughitems.recipe.tree;
+
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+
+/**
+ * Expands items through the indexed recipes into {@link CraftingTree crafting trees}, down to their raw materials.
+ * <p>
+ * An item is crafted with the first recipe allowed by the {@link RecipeChoicePolicy} of its processes,
+ * processes being tried in {@link Process#COMPARATOR} order. Recipes needing an item that is already being crafted
+ * higher in the tree (e.g. iron ingot from iron block) are skipped, and items without any usable recipe are raw materials.
+ * Sub-trees are memoized until the recipe index or a policy changes.
+ */
+@NullMarked
+public interface CraftingTreeResolver {
+
+    /**
+     * Resolve the crafting tree of an item
+     * @param result the item to craft, its amount is ignored
+     * @param amount the number of items to craft
+     * @return the crafting tree, a single raw node if the item cannot be crafted
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    CraftingTree resolve(ItemStack result, long amount);
+
+    /**
+     * Set the choice policy of a process, {@link RecipeChoicePolicy#FIRST} by default
+     * @param process the process
+     * @param policy the policy
+     */
+    void setChoicePolicy(Process process, RecipeChoicePolicy policy);
+
+    /**
+     * Get the choice policy of a process
+     * @param process the process
+     * @return the policy, {@link RecipeChoicePolicy#FIRST} if none was set
+     */
+    RecipeChoicePolicy getChoicePolicy(Process process);
+}
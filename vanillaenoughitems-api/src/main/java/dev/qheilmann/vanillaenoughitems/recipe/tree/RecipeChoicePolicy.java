@@ -0,0 +1,43 @@
+package dev.qheilmann.vanillaenoughitems.recipe.tree;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+
+/**
+ * Decides which recipes of a process the {@link CraftingTreeResolver} may use to craft an item, and in which order.
+ * The resolver uses the first candidate that does not loop back to an item it is already crafting.
+ */
+@NullMarked
+@FunctionalInterface
+public interface RecipeChoicePolicy {
+
+    /**
+     * Use the recipes in index order
+     */
+    RecipeChoicePolicy FIRST = (result, recipes) -> recipes;
+
+    /**
+     * Prefer the recipes producing the most items per craft, then index order
+     */
+    RecipeChoicePolicy HIGHEST_YIELD = (result, recipes) -> recipes.stream()
+        .sorted(Comparator.comparingInt((Recipe recipe) -> recipe.getResult().getAmount()).reversed())
+        .toList();
+
+    /**
+     * Never craft through this process, items only made by it are raw materials
+     */
+    RecipeChoicePolicy NEVER = (result, recipes) -> List.of();
+
+    /**
+     * Order and filter the candidate recipes of a process for an item
+     * @param result the item to craft
+     * @param recipes the recipes of the process producing the item, in index order
+     * @return the recipes the resolver may use, preferred first
+     */
+    List<Recipe> candidates(ItemKey result, List<Recipe> recipes);
+}
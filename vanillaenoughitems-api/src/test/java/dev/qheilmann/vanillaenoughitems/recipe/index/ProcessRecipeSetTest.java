@@ -0,0 +1,126 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.bukkit.inventory.Recipe;
+import org.junit.jupiter.api.Test;
+
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+
+class ProcessRecipeSetTest {
+
+    private static final Process PROCESS = Process.UNDEFINED_PROCESS;
+
+    private final TestRecipe a = TestRecipe.of("a");
+    private final TestRecipe b = TestRecipe.of("b");
+    private final TestRecipe c = TestRecipe.of("c");
+    private final TestRecipe d = TestRecipe.of("d");
+
+    @Test
+    void pendingAdditionsAreMergedInRecipeOrder() {
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS);
+        set.add(c);
+        set.add(a);
+        set.add(b);
+
+        assertEquals(List.of(a, b, c), set.getRecipes());
+    }
+
+    @Test
+    void additionsAfterAReadAreMergedIntoTheSortedRecipes() {
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS);
+        set.add(d);
+        set.add(b);
+        assertEquals(List.of(b, d), set.getRecipes());
+
+        set.add(c);
+        set.add(a);
+        assertEquals(List.of(a, b, c, d), set.getRecipes());
+    }
+
+    @Test
+    void duplicateAdditionsAreDropped() {
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS);
+        set.add(a);
+        set.add(b);
+        set.add(a);
+        assertEquals(2, set.size());
+
+        set.add(b); // Already merged
+        set.add(b); // Twice in the pending additions
+        assertEquals(List.of(a, b), set.getRecipes());
+    }
+
+    @Test
+    void sortedRegistrationKeepsRecipeOrder() {
+        RecipeTable table = new RecipeTable();
+        table.registerSorted(List.of(d, b, a));
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS, table);
+        set.add(d);
+        set.add(a);
+        set.add(c); // Registered late, ranked between b and d
+        set.add(b);
+
+        assertEquals(List.of(a, b, c, d), set.getRecipes());
+    }
+
+    @Test
+    void indexOfFollowsRecipeOrder() {
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS, new RecipeTable(), Set.of(c, a, b));
+
+        assertEquals(0, set.indexOf(a));
+        assertEquals(2, set.indexOf(c));
+        assertEquals(b, set.get(1));
+    }
+
+    @Test
+    void recipesUnknownToTheTableAreAMiss() {
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS, new RecipeTable(), Set.of(a));
+
+        assertEquals(-1, set.indexOf(b));
+        assertFalse(set.contains(b));
+        assertEquals(-1, set.indexOf(TestRecipe.of("a")), "Another instance is not registered in the table");
+    }
+
+    @Test
+    void removeDropsPendingAndMergedRecipes() {
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS);
+        set.add(a);
+        set.add(b);
+        set.add(c);
+
+        assertTrue(set.remove(b));
+        assertFalse(set.remove(b));
+        assertFalse(set.remove(d));
+        assertEquals(List.of(a, c), set.getRecipes());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        ProcessRecipeSet set = new ProcessRecipeSet(PROCESS);
+        set.add(a);
+        ProcessRecipeSet copy = new ProcessRecipeSet(set);
+        copy.add(b);
+
+        assertEquals(List.of(a), set.getRecipes());
+        assertEquals(List.of(a, b), copy.getRecipes());
+    }
+
+    @Test
+    void equalityHoldsAcrossRecipeTables() {
+        ProcessRecipeSet first = new ProcessRecipeSet(PROCESS, new RecipeTable(), Set.of(a, b));
+        ProcessRecipeSet second = new ProcessRecipeSet(PROCESS, new RecipeTable(), Set.<Recipe>of(TestRecipe.of("b"), TestRecipe.of("a")));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+
+        second.add(c);
+        assertNotEquals(first, second);
+    }
+}
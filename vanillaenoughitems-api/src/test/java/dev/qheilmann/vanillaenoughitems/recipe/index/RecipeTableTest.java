@@ -0,0 +1,89 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.inventory.Recipe;
+import org.junit.jupiter.api.Test;
+
+import dev.qheilmann.vanillaenoughitems.recipe.helper.RecipeHelper;
+
+class RecipeTableTest {
+
+    @Test
+    void sortedRegistrationGivesOrdinalsInRecipeOrder() {
+        RecipeTable table = new RecipeTable();
+        TestRecipe a = TestRecipe.of("a");
+        TestRecipe b = TestRecipe.of("b");
+        TestRecipe c = TestRecipe.of("c");
+        table.registerSorted(List.of(c, a, b));
+
+        assertEquals(0, table.ordinalOf(a));
+        assertEquals(1, table.ordinalOf(b));
+        assertEquals(2, table.ordinalOf(c));
+        assertEquals(1, table.register(b), "Registered recipes keep their ordinal");
+        assertEquals(-1, table.ordinalOf(TestRecipe.of("d")));
+    }
+
+    @Test
+    void sortedRegistrationRequiresAnEmptyTable() {
+        RecipeTable table = new RecipeTable();
+        table.register(TestRecipe.of("a"));
+
+        assertThrows(IllegalStateException.class, () -> table.registerSorted(List.of(TestRecipe.of("b"))));
+    }
+
+    @Test
+    void lateRecipesAreRankedBetweenTheirNeighbours() {
+        RecipeTable table = new RecipeTable();
+        TestRecipe a = TestRecipe.of("a");
+        TestRecipe c = TestRecipe.of("c");
+        table.registerSorted(List.of(a, c));
+
+        int b = table.register(TestRecipe.of("b"));
+
+        assertTrue(table.compare(table.ordinalOf(a), b) < 0);
+        assertTrue(table.compare(b, table.ordinalOf(c)) < 0);
+    }
+
+    @Test
+    void exhaustedGapSpreadsRanksAgainWithoutReordering() {
+        RecipeTable table = new RecipeTable();
+        TestRecipe first = TestRecipe.of("a");
+        TestRecipe last = TestRecipe.of("b");
+        table.registerSorted(List.of(first, last));
+
+        // Each recipe sorts right after "a" and before the previous one, halving the same gap every time
+        List<Recipe> registered = new ArrayList<>(List.of(first, last));
+        for (int length = 64; length > 0; length--) {
+            TestRecipe recipe = TestRecipe.of("a" + "0".repeat(length));
+            table.register(recipe);
+            registered.add(recipe);
+        }
+
+        for (Recipe recipe1 : registered) {
+            for (Recipe recipe2 : registered) {
+                int expected = Integer.signum(RecipeHelper.RECIPE_COMPARATOR.compare(recipe1, recipe2));
+                int actual = Integer.signum(table.compare(table.ordinalOf(recipe1), table.ordinalOf(recipe2)));
+                assertEquals(expected, actual, recipe1 + " vs " + recipe2);
+            }
+        }
+        assertEquals(0, table.ordinalOf(first), "Spreading ranks never changes ordinals");
+        assertEquals(1, table.ordinalOf(last));
+    }
+
+    @Test
+    void hashIsStableAcrossTables() {
+        RecipeTable first = new RecipeTable();
+        RecipeTable second = new RecipeTable();
+        int ordinal1 = first.register(TestRecipe.of("a"));
+        second.register(TestRecipe.of("z"));
+        int ordinal2 = second.register(TestRecipe.of("a"));
+
+        assertEquals(first.hash(ordinal1), second.hash(ordinal2));
+    }
+}
@@ -0,0 +1,26 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+
+/**
+ * Keyed recipe without content, ordered by its key only
+ */
+record TestRecipe(NamespacedKey key) implements Recipe, Keyed {
+
+    static TestRecipe of(String name) {
+        return new TestRecipe(new NamespacedKey("test", name));
+    }
+
+    @Override
+    public NamespacedKey getKey() {
+        return key;
+    }
+
+    @Override
+    public ItemStack getResult() {
+        throw new UnsupportedOperationException("Test recipes have no result");
+    }
+}
@@ -24,6 +24,7 @@ dependencies {
     // Testing
     testImplementation(platform(libs.junit.bom))
     testImplementation(libs.bundles.junit)
+    testImplementation(libs.paper.api)
 }
 
 tasks {
@@ -3,11 +3,17 @@ package dev.qheilmann.vanillaenoughitems;
 import org.jspecify.annotations.NullMarked;
 
 import dev.qheilmann.vanillaenoughitems.bookmark.ServerBookmarkRegistry;
+import dev.qheilmann.vanillaenoughitems.gui.GuiTicker;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.ProcessPanelRegistry;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.DisplayItemCache;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.TagLoreCache;
+import dev.qheilmann.vanillaenoughitems.recipe.craftable.CraftableIndex;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
 import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
 import dev.qheilmann.vanillaenoughitems.recipe.index.TagIndex;
 import dev.qheilmann.vanillaenoughitems.recipe.process.ProcessRegistry;
+import dev.qheilmann.vanillaenoughitems.recipe.search.FuzzySearch;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingTreeResolver;
 
 /**
  * Immutable container for recipe system services.
@@ -24,6 +30,12 @@ public record RecipeServices(
     ProcessPanelRegistry processPanelRegistry,
     RecipeIndex recipeIndex,
     TagIndex tagIndex,
+    TagLoreCache tagLoreCache,
+    DisplayItemCache displayItemCache,
+    GuiTicker guiTicker,
+    FuzzySearch fuzzySearch,
+    CraftingTreeResolver craftingTreeResolver,
+    CraftableIndex craftableIndex,
     ServerBookmarkRegistry serverBookmarkRegistry
 ) {
     // Pure data holder - no methods needed
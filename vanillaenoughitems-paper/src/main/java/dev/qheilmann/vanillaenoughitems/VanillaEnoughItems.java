@@ -41,6 +41,7 @@ import dev.qheilmann.vanillaenoughitems.config.VeiConfigLoader;
 import org.spongepowered.configurate.ConfigurateException;
 
 import dev.qheilmann.vanillaenoughitems.gui.CyclicIngredient;
+import dev.qheilmann.vanillaenoughitems.gui.GuiTicker;
 import dev.qheilmann.vanillaenoughitems.gui.bookmarkgui.BookmarkGui;
 import dev.qheilmann.vanillaenoughitems.gui.player.PlayerDataManager;
 import dev.qheilmann.vanillaenoughitems.gui.player.PlayerGuiData;
@@ -48,6 +49,7 @@ import dev.qheilmann.vanillaenoughitems.gui.processpannel.ProcessPanelFactory;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.ProcessPanelRegistry;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.ProcessPanelRegistryImpl;
 import dev.qheilmann.vanillaenoughitems.gui.recipegui.RecipeGui;
+import dev.qheilmann.vanillaenoughitems.gui.treegui.CraftingTreeGui;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.impl.BlastingProcessPanel;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.impl.CampfireProcessPanel;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.impl.CraftingProcessPanel;
@@ -58,6 +60,7 @@ import dev.qheilmann.vanillaenoughitems.gui.processpannel.impl.StonecuttingProce
 import dev.qheilmann.vanillaenoughitems.metrics.BStatsMetrics;
 import dev.qheilmann.vanillaenoughitems.quickaccess.QuickRecipeAccessListener;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import dev.qheilmann.vanillaenoughitems.recipe.craftable.CraftableIndex;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistryImpl;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.impl.BlastingRecipeExtractor;
@@ -71,7 +74,10 @@ import dev.qheilmann.vanillaenoughitems.recipe.extraction.impl.SmokingRecipeExtr
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.impl.StonecuttingRecipeExtractor;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.impl.TransmuteRecipeExtractor;
 import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ReindexDelta;
 import dev.qheilmann.vanillaenoughitems.recipe.index.TagIndex;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.DisplayItemCache;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.TagLoreCache;
 import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
 import dev.qheilmann.vanillaenoughitems.recipe.index.reader.RecipeIndexView;
 import dev.qheilmann.vanillaenoughitems.recipe.process.ProcessRegistry;
@@ -83,6 +89,10 @@ import dev.qheilmann.vanillaenoughitems.recipe.process.impl.SmeltingProcess;
 import dev.qheilmann.vanillaenoughitems.recipe.process.impl.SmithingProcess;
 import dev.qheilmann.vanillaenoughitems.recipe.process.impl.SmokingProcess;
 import dev.qheilmann.vanillaenoughitems.recipe.process.impl.StonecuttingProcess;
+import dev.qheilmann.vanillaenoughitems.recipe.search.FuzzySearch;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingTree;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingTreeResolver;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingTreeResolverImpl;
 import dev.qheilmann.vanillaenoughitems.utils.VeiKey;
 import dev.qheilmann.vanillaenoughitems.utils.fastinv.FastInvManager;
 import io.papermc.paper.datacomponent.DataComponentTypes;
@@ -117,6 +127,8 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
     private RecipeIndex recipeIndex;
     @SuppressWarnings("null")
     private TagIndex tagIndex;
+    @SuppressWarnings("null")
+    private CraftingTreeResolverImpl craftingTreeResolver;
     
     // Convenience container
     @SuppressWarnings("null")
@@ -184,11 +196,22 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
         
         // Fire VeiRegistrationEvent — plugins register custom processes/extractors/panels here
         getServer().getPluginManager().callEvent(new VeiRegistrationEvent(this));
+
+        // Registrations are over, freeze the registries (late registrations are ignored), the recipe index then resolves each recipe class once
+        processRegistry.freeze();
+        recipeExtractorRegistry.freeze();
+        
+        // Build tag index (before recipes, ingredient choices are matched against tags while indexing)
+        this.tagIndex = new TagIndex();
+        Registry<ItemType> itemRegistry = RegistryAccess.registryAccess().getRegistry(RegistryKey.ITEM);
+        tagIndex.index(itemRegistry.getTags(), itemRegistry);
         
         // Index recipes (after all registrations are done)
-        this.recipeIndex = new RecipeIndex(processRegistry, recipeExtractorRegistry);
+        this.recipeIndex = new RecipeIndex(processRegistry, recipeExtractorRegistry, tagIndex);
+        processPanelRegistry.trackRecipeIndex(recipeIndex);
+        this.craftingTreeResolver = new CraftingTreeResolverImpl(recipeIndex, recipeExtractorRegistry);
         Iterator<Recipe> recipeIterator = getServer().recipeIterator();
-        recipeIndex.indexRecipe(() -> recipeIterator);
+        recipeIndex.reindex(() -> recipeIterator);
         
         if (veiConfig().debug().showStartupIndexSummary()) {
             recipeIndex.logSummary();
@@ -197,17 +220,21 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
         // Fire VeiReadyEvent — indexation is complete, recipeIndex() is now safe to call
         getServer().getPluginManager().callEvent(new VeiReadyEvent(this));
         
-        // Build tag index
-        this.tagIndex = new TagIndex();
-        Registry<ItemType> itemRegistry = RegistryAccess.registryAccess().getRegistry(RegistryKey.ITEM);
-        tagIndex.index(itemRegistry.getTags(), itemRegistry);
-        
+        CraftableIndex craftableIndex = new CraftableIndex(recipeIndex, recipeExtractorRegistry);
+        getServer().getPluginManager().registerEvents(craftableIndex, this);
+
         this.recipeServices = new RecipeServices(
             recipeExtractorRegistry,
             processRegistry,
             processPanelRegistry,
             recipeIndex,
             tagIndex,
+            new TagLoreCache(tagIndex),
+            new DisplayItemCache(recipeIndex, tagIndex),
+            new GuiTicker(this),
+            new FuzzySearch(recipeIndex),
+            craftingTreeResolver,
+            craftableIndex,
             serverBookmarkRegistry
         );
         
@@ -236,6 +263,9 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
     @Override
     public void onDisable() {
         VanillaEnoughItemsAPI.unregister();
+        if (recipeServices != null) {
+            recipeServices.guiTicker().stop();
+        }
         if (playerDataManager != null) {
             playerDataManager.clearAllPlayerData();
         }
@@ -278,6 +308,11 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
         return serverBookmarkRegistry;
     }
 
+    @Override
+    public CraftingTreeResolver craftingTreeResolver() {
+        return craftingTreeResolver;
+    }
+
     // ---- GUI ----
 
     @Override
@@ -310,6 +345,13 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
         gui.open(player);
     }
 
+    @Override
+    public void openCraftingTreeGui(Player player, ItemStack result, long amount) {
+        CraftingTree tree = craftingTreeResolver.resolve(result, amount);
+        CraftingTreeGui gui = new CraftingTreeGui(recipeServices, playerDataManager.getPlayerData(player.getUniqueId()), tree, null);
+        gui.open(player);
+    }
+
     @Override
     public void openPlayerBookmarkGui(Player player) {
         PlayerGuiData playerData = playerDataManager.getPlayerData(player.getUniqueId());
@@ -335,16 +377,16 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
 
     /**
      * Reload the recipe indexation.
-     * Clears the existing RecipeIndex and re-indexes all server recipes.
+     * Compares the server recipes with the index and only reindexes the added, removed and changed ones.
      * This only indexes recipes returned by the server's recipeIterator, so it may not include custom recipes added manually.
      */
     @Override
     public void reloadIndexation() {
         LOGGER.info("Reloading recipe indexation...");
         
-        recipeIndex.clearIndex();
         Iterator<Recipe> recipeIterator = getServer().recipeIterator();
-        recipeIndex.indexRecipe(() -> recipeIterator);
+        ReindexDelta delta = recipeIndex.reindexIncremental(() -> recipeIterator);
+        LOGGER.info("Recipe index delta: {} added, {} removed, {} changed, {} unchanged", delta.added(), delta.removed(), delta.changed(), delta.unchanged());
         recipeIndex.logSummary();
 
         LOGGER.info("Recipe indexation reloaded. All references remain valid.");
@@ -482,7 +524,7 @@ public class VanillaEnoughItems extends JavaPlugin implements VanillaEnoughItems
 
     private void addProcessesAndPanels(ProcessRegistry processRegistry, ProcessPanelRegistry processPanelRegistry, Process process, ProcessPanelFactory panelFactory) {
            processRegistry.registerProcess(process);
-           processPanelRegistry.registerProvider(process, panelFactory);
+           processPanelRegistry.registerProvider(process, ProcessPanelFactory.cached(panelFactory)); // Built-in panels only depend on their recipe and style
     }
 
     //#endregion Internal
@@ -176,7 +176,7 @@ public class BookmarkImpl implements Bookmark {
      */
     @Override
     public MultiProcessRecipeReader getReader() {
-        return new MultiProcessRecipeReader(reader);
+        return new MultiProcessRecipeReader(reader); // Copies the cursor only, the recipes are shared
     }
 
     /**
@@ -1,5 +1,8 @@
 package dev.qheilmann.vanillaenoughitems.commands;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.bukkit.NamespacedKey;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -13,6 +16,7 @@ import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.CommandAPIPaper;
 import dev.jorel.commandapi.CommandPermission;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.GreedyStringArgument;
 import dev.jorel.commandapi.arguments.MultiLiteralArgument;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.executors.CommandExecutor;
@@ -23,11 +27,21 @@ import dev.qheilmann.vanillaenoughitems.commands.arguments.RecipeIdArgument;
 import dev.qheilmann.vanillaenoughitems.commands.arguments.RecipeItemArgument;
 import dev.qheilmann.vanillaenoughitems.commands.arguments.SearchModeArgument;
 import dev.qheilmann.vanillaenoughitems.commands.arguments.SearchModeArgument.SearchMode;
+import dev.qheilmann.vanillaenoughitems.commands.arguments.TagArgument;
+import dev.qheilmann.vanillaenoughitems.config.VanillaEnoughItemsConfig;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
 import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipePathStep;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ReindexDelta;
 import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import dev.qheilmann.vanillaenoughitems.recipe.search.FuzzySearch;
+import dev.qheilmann.vanillaenoughitems.recipe.search.SearchResult;
 import dev.qheilmann.vanillaenoughitems.gui.player.PlayerDataManager;
+import dev.qheilmann.vanillaenoughitems.gui.player.PlayerGuiData;
 import dev.qheilmann.vanillaenoughitems.gui.recipegui.RecipeGui;
+import dev.qheilmann.vanillaenoughitems.gui.searchgui.SearchResultGui;
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -98,12 +112,12 @@ public class CraftCommand {
                 }))
             )
             .withOptionalArguments(new RecipeIdArgument("recipeId", services.recipeIndex())
-                .replaceSuggestions(ArgumentSuggestions.stringCollection(info -> {
+                .replaceSuggestions((info, builder) -> {
                     ItemStack item = info.previousArgs().getUnchecked("resultItem");
                     SearchMode searchMode = info.previousArgs().getUnchecked("searchMode");
                     Process process = info.previousArgs().getUnchecked("process");
-                    return RecipeIdArgument.suggestions(services.recipeIndex(), item, searchMode, process);
-                }))
+                    return RecipeIdArgument.argumentSuggestions(services.recipeIndex(), item, searchMode, process).suggest(info, builder);
+                })
             )
             .executesPlayer((player, args) -> {
                 ItemStack itemStack = args.getUnchecked("resultItem");
@@ -122,10 +136,10 @@ public class CraftCommand {
                 .replaceSuggestions(ProcessArgument.argumentSuggestions(services.recipeIndex(), null, null))
             )
             .withOptionalArguments(new RecipeIdArgument("recipeId", services.recipeIndex())
-                .replaceSuggestions(ArgumentSuggestions.stringCollection(info -> {
+                .replaceSuggestions((info, builder) -> {
                     Process process = info.previousArgs().getUnchecked("process");
-                    return RecipeIdArgument.suggestions(services.recipeIndex(), null, null, process);
-                }))
+                    return RecipeIdArgument.argumentSuggestions(services.recipeIndex(), null, null, process).suggest(info, builder);
+                })
             )
             .executesPlayer((player, args) -> {
                 Process process = args.getUnchecked("process");
@@ -135,6 +149,77 @@ public class CraftCommand {
             .register();
 
 
+        // craft --tag <#tag> [<process>] [<recipeId>]
+        createBaseCraftCommand()
+            .withArguments(new MultiLiteralArgument("tag", "--tag"))
+            .withArguments(new TagArgument("itemTag", services.recipeIndex())
+                .replaceSuggestions(TagArgument.argumentSuggestions(services.recipeIndex()))
+            )
+            .withOptionalArguments(new ProcessArgument("process", services.recipeIndex())
+                .replaceSuggestions(ArgumentSuggestions.stringCollection(info -> {
+                    Key tag = info.previousArgs().getUnchecked("itemTag");
+                    MultiProcessRecipeReader reader = services.recipeIndex().readerByTag(tag);
+                    if (reader == null) {
+                        return List.of();
+                    }
+                    return reader.getAllProcesses().stream().map(process -> process.key().asString()).toList();
+                }))
+            )
+            .withOptionalArguments(new RecipeIdArgument("recipeId", services.recipeIndex())
+                .replaceSuggestions((info, builder) -> {
+                    Key tag = info.previousArgs().getUnchecked("itemTag");
+                    Process process = info.previousArgs().getUnchecked("process");
+                    return RecipeIdArgument.tagArgumentSuggestions(services.recipeIndex(), tag, process).suggest(info, builder);
+                })
+            )
+            .executesPlayer((player, args) -> {
+                Key tag = args.getUnchecked("itemTag");
+                Process process = args.getUnchecked("process");
+                NamespacedKey recipeId = args.getUnchecked("recipeId");
+                byTagAction(player, tag, process, recipeId);
+            })
+            .register();
+
+
+        // craft ? <text>
+        createBaseCraftCommand()
+            .withArguments(new MultiLiteralArgument("fuzzy", "?", "--fuzzy"))
+            .withArguments(new GreedyStringArgument("text"))
+            .executesPlayer((player, args) -> {
+                String text = args.getUnchecked("text");
+                fuzzyAction(player, text);
+            })
+            .register();
+
+
+        // craft --text <text>
+        createBaseCraftCommand()
+            .withArguments(new MultiLiteralArgument("text", "--text"))
+            .withArguments(new GreedyStringArgument("words"))
+            .executesPlayer((player, args) -> {
+                String text = args.getUnchecked("words");
+                textAction(player, text);
+            })
+            .register();
+
+
+        // craft --path <fromItem> <toItem>
+        createBaseCraftCommand()
+            .withArguments(new MultiLiteralArgument("path", "--path"))
+            .withArguments(new RecipeItemArgument("fromItem", services.recipeIndex())
+                .replaceSuggestions(RecipeItemArgument.argumentSuggestions(services.recipeIndex()))
+            )
+            .withArguments(new RecipeItemArgument("toItem", services.recipeIndex())
+                .replaceSuggestions(RecipeItemArgument.argumentSuggestions(services.recipeIndex()))
+            )
+            .executesPlayer((player, args) -> {
+                ItemStack fromItem = args.getUnchecked("fromItem");
+                ItemStack toItem = args.getUnchecked("toItem");
+                pathAction(player, fromItem, toItem);
+            })
+            .register();
+
+
         // craft --id <recipeId>
         createBaseCraftCommand()
             .withArguments(new MultiLiteralArgument("id", "--id"))
@@ -176,9 +261,8 @@ public class CraftCommand {
                 sender.sendMessage(Component.text("Note: Recipe index reload, will only re-index all the recipe registered in the server.", NamedTextColor.GOLD));
                 sender.sendMessage(Component.text("Reloading recipe index...", NamedTextColor.YELLOW));
                 RecipeIndex recipeIndex = recipeServices.recipeIndex();
-                recipeIndex.clearIndex();
-                recipeIndex.indexRecipe(() -> (plugin.getServer().recipeIterator()));
-                sender.sendMessage(Component.text("Recipe index reload initiated...", NamedTextColor.YELLOW));
+                ReindexDelta delta = recipeIndex.reindexIncremental(() -> (plugin.getServer().recipeIterator()));
+                sender.sendMessage(Component.text("Recipe index reloaded: " + delta.added() + " added, " + delta.removed() + " removed, " + delta.changed() + " changed, " + delta.unchanged() + " unchanged.", NamedTextColor.YELLOW));
             })
             .register();
 
@@ -213,7 +297,6 @@ public class CraftCommand {
         MultiProcessRecipeReader reader = switch (searchMode) {
             case RECIPE -> recipeServices.recipeIndex().readerByResult(item);
             case USAGE -> recipeServices.recipeIndex().readerByIngredient(item);
-            default -> throw new UnsupportedOperationException("Search mode " + searchMode + " is not implemented");
         };
 
         if (reader == null) {
@@ -231,6 +314,170 @@ public class CraftCommand {
         recipeAction(player, reader, startProcess, startRecipeId);
     }
 
+    /**
+     * Show the recipes using an item tag in one of their ingredient choices.
+     *
+     * @param player  the player to open the GUI for
+     * @param tag the item tag key
+     * @param startProcess the Process to use, or null for all processes
+     * @param startRecipeId the NamespacedKey of the recipe to start with, or null for no specific recipe
+     */
+    private static void byTagAction(Player player, Key tag, @Nullable Process startProcess, @Nullable NamespacedKey startRecipeId) throws WrapperCommandSyntaxException {
+        MultiProcessRecipeReader reader = recipeServices.recipeIndex().readerByTag(tag);
+
+        if (reader == null) {
+            Component noRecipesFoundMessage = Component.text().applicableApply(NamedTextColor.RED)
+                .append(Component.text("No recipes found using the tag '"))
+                .append(Component.text("#" + tag.asString()).decorate(TextDecoration.BOLD))
+                .append(Component.text("'."))
+                .build();
+
+            throw CommandAPIPaper.failWithAdventureComponent(noRecipesFoundMessage);
+        }
+
+        recipeAction(player, reader, startProcess, startRecipeId);
+    }
+
+    /**
+     * Show the items and recipes whose key is close to a text, tolerating typos.
+     * A single result is opened directly, several results open a picker.
+     *
+     * @param player the player to open the GUI for
+     * @param text the searched text
+     */
+    private static void fuzzyAction(Player player, String text) throws WrapperCommandSyntaxException {
+        List<SearchResult> results = recipeServices.fuzzySearch().search(text);
+
+        if (results.isEmpty()) {
+            Component noMatchMessage = Component.text().applicableApply(NamedTextColor.RED)
+                .append(Component.text("No item or recipe close to '"))
+                .append(Component.text(text).decorate(TextDecoration.BOLD))
+                .append(Component.text("'."))
+                .build();
+
+            throw CommandAPIPaper.failWithAdventureComponent(noMatchMessage);
+        }
+
+        openSearchResults(player, text, results);
+    }
+
+    /**
+     * Show the custom items whose display name or lore contains the words of a text.
+     * A single result is opened directly, several results open a picker.
+     *
+     * @param player the player to open the GUI for
+     * @param text the searched words
+     */
+    private static void textAction(Player player, String text) throws WrapperCommandSyntaxException {
+        List<SearchResult> results = recipeServices.recipeIndex().searchItemsByText(text, FuzzySearch.MAX_RESULTS).stream()
+            .map(SearchResult::ofItem)
+            .toList();
+
+        if (results.isEmpty()) {
+            Component noMatchMessage = Component.text().applicableApply(NamedTextColor.RED)
+                .append(Component.text("No custom item named or described with '"))
+                .append(Component.text(text).decorate(TextDecoration.BOLD))
+                .append(Component.text("'."))
+                .build();
+
+            throw CommandAPIPaper.failWithAdventureComponent(noMatchMessage);
+        }
+
+        openSearchResults(player, text, results);
+    }
+
+    /**
+     * Show the recipes turning an item into another one, one step after the other.
+     * The GUI opens on the first recipe, the next ones are queued in the forward navigation history.
+     * Uses the configured process weights if any, otherwise the path with the fewest recipes.
+     *
+     * @param player the player to open the GUI for
+     * @param fromItem the start item
+     * @param toItem the wanted item
+     */
+    private static void pathAction(Player player, ItemStack fromItem, ItemStack toItem) throws WrapperCommandSyntaxException {
+        RecipeIndex recipeIndex = recipeServices.recipeIndex();
+        VanillaEnoughItemsConfig config = VanillaEnoughItems.veiConfig();
+        ItemKey from = ItemKey.of(fromItem);
+        ItemKey to = ItemKey.of(toItem);
+
+        List<RecipePathStep> path = config.pathProcessWeights().isEmpty()
+            ? recipeIndex.findPath(from, to)
+            : recipeIndex.findPath(from, to, config::pathProcessWeight);
+
+        if (path == null || path.isEmpty()) {
+            Component noPathMessage = Component.text().applicableApply(NamedTextColor.RED)
+                .append(Component.text(path == null ? "No crafting path from " : "Nothing to craft from "))
+                .append(fromItem.displayName().decorate(TextDecoration.BOLD))
+                .append(Component.text(" to "))
+                .append(toItem.displayName().decorate(TextDecoration.BOLD))
+                .append(Component.text("."))
+                .build();
+
+            throw CommandAPIPaper.failWithAdventureComponent(noPathMessage);
+        }
+
+        List<MultiProcessRecipeReader> readers = new ArrayList<>(path.size());
+        for (RecipePathStep step : path) {
+            MultiProcessRecipeReader reader = pathStepReader(recipeIndex, step);
+            if (reader == null) {
+                throw CommandAPIPaper.failWithAdventureComponent(Component.text("The recipe index changed while looking for the path, please try again.", NamedTextColor.RED));
+            }
+            readers.add(reader);
+        }
+
+        Component pathMessage = Component.text().applicableApply(COLOR_PRIMARY_VARIANT)
+            .append(Component.text("Crafting path from "))
+            .append(fromItem.displayName().color(COLOR_PRIMARY))
+            .append(Component.text(" to "))
+            .append(toItem.displayName().color(COLOR_PRIMARY))
+            .append(Component.text(": " + path.size() + (path.size() == 1 ? " recipe" : " recipes") + ", use the forward arrow to follow it."))
+            .build();
+        player.sendMessage(pathMessage);
+
+        playerDataManager.getPlayerData(player.getUniqueId()).navigationHistory().startPath(readers);
+        createAndOpenGui(player, readers.getFirst());
+    }
+
+    /**
+     * Get a reader opened on the recipe of a path step.
+     * The path comes from the item graph of an earlier generation, so its process or recipe may have been removed since.
+     *
+     * @param recipeIndex the recipe index
+     * @param step the path step
+     * @return the reader, or null if the step no longer exists in the index
+     */
+    @Nullable
+    private static MultiProcessRecipeReader pathStepReader(RecipeIndex recipeIndex, RecipePathStep step) {
+        try {
+            return recipeIndex.readerByResult(step.output().toItemStack(), step.process(), step.recipe());
+        } catch (IllegalArgumentException e) {
+            // Thrown by the reader when the process or the recipe is missing from the current generation
+            return null;
+        }
+    }
+
+    /**
+     * Open the recipes of a single search result, or a picker listing several results.
+     *
+     * @param player the player to open the GUI for
+     * @param text the searched text, shown in the picker title
+     * @param results the search results, not empty
+     */
+    private static void openSearchResults(Player player, String text, List<SearchResult> results) {
+        if (results.size() == 1) {
+            MultiProcessRecipeReader reader = results.getFirst().createReader(recipeServices.recipeIndex());
+            if (reader != null) {
+                createAndOpenGui(player, reader);
+                return;
+            }
+        }
+
+        PlayerGuiData playerData = playerDataManager.getPlayerData(player.getUniqueId());
+        Component title = Component.text("Search: " + text);
+        new SearchResultGui(title, recipeServices, playerData, results).open(player);
+    }
+
     /**
      * Show all recipes in the recipe index.
      *
@@ -361,6 +608,47 @@ public class CraftCommand {
             .append(helpExample("/craft --all"))
             .append(helpExample("/craft --all minecraft:smithing minecraft:netherite_axe_smithing"))
 
+            // By Tag
+            .appendNewline()
+            .append(helpCommandPrototype("/craft --tag <#tag> [<process>] [<recipeId>]", "/craft --tag #"))
+            .append(helpDescription("Open the recipe GUI showing the recipes accepting any item of a tag."))
+            .append(helpSubTitle("Arguments:"))
+            .append(helpArgument("<#tag>", false, "The item tag, e.g. #minecraft:planks"))
+            .append(helpArgument("[<process>]", true, "Preselect a process"))
+            .append(helpArgument("[<recipeId>]", true, "Preselect a recipe"))
+            .append(helpSubTitle("Examples:"))
+            .append(helpExample("/craft --tag #minecraft:planks"))
+            .append(helpExample("/craft --tag #minecraft:logs_that_burn minecraft:smelting"))
+
+            // Fuzzy
+            .appendNewline()
+            .append(helpCommandPrototype("/craft ? <text>", "/craft ? "))
+            .append(helpDescription("Search the items and recipes with a key close to the text, even with typos."))
+            .append(helpSubTitle("Argument:"))
+            .append(helpArgument("<text>", false, "The item or recipe key to look for, namespace optional"))
+            .append(helpSubTitle("Examples:"))
+            .append(helpExample("/craft ? diamon_pickaxe"))
+            .append(helpExample("/craft --fuzzy iron ingot"))
+
+            // By Text
+            .appendNewline()
+            .append(helpCommandPrototype("/craft --text <text>", "/craft --text "))
+            .append(helpDescription("Search the custom items by the words of their name or lore."))
+            .append(helpSubTitle("Argument:"))
+            .append(helpArgument("<text>", false, "The words to look for, the last one can be incomplete"))
+            .append(helpSubTitle("Example:"))
+            .append(helpExample("/craft --text magic ba"))
+
+            // Path
+            .appendNewline()
+            .append(helpCommandPrototype("/craft --path <fromItem> <toItem>", "/craft --path "))
+            .append(helpDescription("Show the recipes turning an item into another one, follow them with the forward arrow."))
+            .append(helpSubTitle("Arguments:"))
+            .append(helpArgument("<fromItem>", false, "The item to start from"))
+            .append(helpArgument("<toItem>", false, "The item to obtain"))
+            .append(helpSubTitle("Example:"))
+            .append(helpExample("/craft --path cobblestone furnace_minecart"))
+
             // By Recipe ID
             .appendNewline()
             .append(helpCommandPrototype("/craft --id <recipeId>", "/craft --id "))
@@ -116,7 +116,6 @@ public class ProcessArgument extends CustomArgument<Process, NamespacedKey> {
             reader = switch (searchMode) {
                 case RECIPE -> recipeIndex.readerByResult(item);
                 case USAGE -> recipeIndex.readerByIngredient(item);
-                default -> throw new UnsupportedOperationException("Search mode " + searchMode + " is not implemented");
             };
         }
 
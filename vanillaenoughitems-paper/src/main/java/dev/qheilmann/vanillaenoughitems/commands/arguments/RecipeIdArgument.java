@@ -35,6 +35,10 @@ import net.kyori.adventure.text.Component;
  */
 @NullMarked
 public class RecipeIdArgument extends CustomArgument<NamespacedKey, NamespacedKey> {
+
+    // Cache for the suggestion index of all recipe IDs per recipe index, rebuilt after the index changes
+    private static final SuggestionIndexCache suggestionsCache = new SuggestionIndexCache(recipeIndex -> suggestions(recipeIndex, null, null, null));
+
     public RecipeIdArgument(String nodeName, RecipeIndex recipeIndex) {
         super(new NamespacedKeyArgument(nodeName), (input) -> {
             NamespacedKey key = input.currentInput();
@@ -59,10 +63,47 @@ public class RecipeIdArgument extends CustomArgument<NamespacedKey, NamespacedKe
      * @param item the ItemStack to search for, or null for global index
      * @param searchMode the SearchMode to use, or null for {@link SearchModeArgument.SearchMode#DEFAULT}. Ignored if item is null
      * @param process the Process to use, or null for all processes
-     * @return ArgumentSuggestions providing available recipe IDs for the item, search mode, and process
+     * @return ArgumentSuggestions providing available recipe IDs for the item, search mode, and process, capped to the best matches
      */
     public static ArgumentSuggestions<CommandSender> argumentSuggestions(RecipeIndex recipeIndex, @Nullable ItemStack item, @Nullable SearchMode searchMode, @Nullable Process process) {
-        return ArgumentSuggestions.stringCollection((info) -> suggestions(recipeIndex, item, searchMode, process));
+        return (info, builder) -> {
+            // All recipe IDs, searched through the cached index
+            if (item == null && process == null) {
+                return suggestionsCache.get(recipeIndex).suggest(builder);
+            }
+
+            // Narrowed down by item or process, small enough to filter directly
+            return SuggestionIndex.suggest(builder, suggestions(recipeIndex, item, searchMode, process));
+        };
+    }
+
+    /**
+     * Create argument suggestions for the IDs of the recipes using an item tag, optionally narrowed to a process.
+     *
+     * @param recipeIndex the recipe index
+     * @param tag the item tag key
+     * @param process the Process to use, or null for all processes
+     * @return ArgumentSuggestions providing available recipe IDs for the tag and process, capped to the best matches
+     */
+    public static ArgumentSuggestions<CommandSender> tagArgumentSuggestions(RecipeIndex recipeIndex, Key tag, @Nullable Process process) {
+        return (info, builder) -> SuggestionIndex.suggest(builder, tagSuggestions(recipeIndex, tag, process));
+    }
+
+    /**
+     * Get the IDs of the recipes using an item tag, optionally narrowed to a process.
+     *
+     * @param recipeIndex the recipe index
+     * @param tag the item tag key
+     * @param process the Process to use, or null for all processes
+     * @return a collection of available recipe ID strings for the tag and process
+     */
+    @SuppressWarnings("null")
+    public static Collection<String> tagSuggestions(RecipeIndex recipeIndex, Key tag, @Nullable Process process) {
+        Collection<Key> recipeKeys = collectRecipeKeys(recipeIndex.readerByTag(tag), process, recipeIndex.getAssociatedRecipeExtractor());
+
+        return recipeKeys.stream()
+            .map(key -> key.asString())
+            .collect(Collectors.toSet());
     }
 
     /**
@@ -94,13 +135,12 @@ public class RecipeIdArgument extends CustomArgument<NamespacedKey, NamespacedKe
      */
     private static Collection<Key> getRecipeIds(RecipeIndex recipeIndex, @Nullable ItemStack item, @Nullable SearchMode searchMode, @Nullable Process process) {
         MultiProcessRecipeReader reader;
-        Collection<Key> recipeKeys;
 
         // Global index
         if (item == null) {
-            // All processes
+            // All processes, the keys are already indexed, no need to walk a reader
             if (process == null) {
-                reader = recipeIndex.readerWithAllRecipes();
+                return recipeIndex.getAllRecipesByKey().keySet();
             } 
             // Specific process
             else {
@@ -117,10 +157,13 @@ public class RecipeIdArgument extends CustomArgument<NamespacedKey, NamespacedKe
             reader = switch (searchMode) {
                 case RECIPE -> recipeIndex.readerByResult(item);
                 case USAGE -> recipeIndex.readerByIngredient(item);
-                default -> throw new UnsupportedOperationException("Search mode " + searchMode + " is not implemented");
             };
         }
 
+        return collectRecipeKeys(reader, process, recipeIndex.getAssociatedRecipeExtractor());
+    }
+
+    private static Collection<Key> collectRecipeKeys(@Nullable MultiProcessRecipeReader reader, @Nullable Process process, RecipeExtractorRegistry extractorRegistry) {
         // No results found
         if (reader == null) {
             return List.of();
@@ -133,13 +176,10 @@ public class RecipeIdArgument extends CustomArgument<NamespacedKey, NamespacedKe
             }
 
             reader.setCurrentProcess(process);
-            recipeKeys = collectSingleProcessRecipeKeys(reader, recipeIndex.getAssociatedRecipeExtractor());
-        }
-        else {
-            recipeKeys = collectAllProcessRecipeKeys(reader, recipeIndex.getAssociatedRecipeExtractor());
+            return collectSingleProcessRecipeKeys(reader, extractorRegistry);
         }
 
-        return recipeKeys;
+        return collectAllProcessRecipeKeys(reader, extractorRegistry);
     }
 
     private static Collection<Key> collectAllProcessRecipeKeys(MultiProcessRecipeReader reader, RecipeExtractorRegistry extractorRegistry) {
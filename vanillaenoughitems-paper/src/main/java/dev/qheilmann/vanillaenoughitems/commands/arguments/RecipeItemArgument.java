@@ -1,10 +1,10 @@
 package dev.qheilmann.vanillaenoughitems.commands.arguments;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -20,6 +20,7 @@ import org.jspecify.annotations.NullMarked;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
 import dev.jorel.commandapi.arguments.CustomArgument;
 import dev.jorel.commandapi.arguments.NamespacedKeyArgument;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
 import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
 import io.papermc.paper.registry.RegistryAccess;
 import io.papermc.paper.registry.RegistryKey;
@@ -38,12 +39,12 @@ import net.kyori.adventure.text.Component;
 @NullMarked
 public class RecipeItemArgument extends CustomArgument<ItemStack, NamespacedKey> {
 
-    // Cache for suggestions per recipe index
-    // Uses reference equality (identity) since RecipeIndex instances are typically singletons
-    private static final Map<RecipeIndex, Collection<String>> suggestionsCache = new ConcurrentHashMap<>();
+    // Cache for the suggestion index per recipe index, rebuilt after the index changes
+    private static final SuggestionIndexCache suggestionsCache = new SuggestionIndexCache(RecipeItemArgument::suggestions);
 
-    // Cache for unknown items, to allow the recipe item argument to parse the key to itemstack
-    private static final Map<Key, ItemStack> unknownItemCache = new ConcurrentHashMap<>();
+    // Keys of all indexed items per recipe index, rebuilt after the index changes
+    // Lets the argument parse the unknown keys it suggests for custom items, every indexed item stays resolvable
+    private static final Map<RecipeIndex, IndexedItemKeys> itemKeysCache = new ConcurrentHashMap<>();
 
     public RecipeItemArgument(String nodeName, RecipeIndex recipeIndex) {
         super(new NamespacedKeyArgument(nodeName), info -> {
@@ -62,9 +63,9 @@ public class RecipeItemArgument extends CustomArgument<ItemStack, NamespacedKey>
             // [CUSTOM ITEM REGISTRY] impl custom item registry lookup here
             // ItemStack customItem = CustomItemRegistry.getItemByKey(key);
 
-            ItemStack unknownItemStack = unknownItemCache.get(key);
+            ItemStack unknownItemStack = itemKeys(recipeIndex).get(key);
             if (unknownItemStack != null) {
-                return unknownItemStack;
+                return unknownItemStack.clone();
             }
             
             throw CustomArgumentHelper.minecraftLikeException((arg) -> Component.text("No item found for key: " + arg), info);
@@ -76,22 +77,15 @@ public class RecipeItemArgument extends CustomArgument<ItemStack, NamespacedKey>
 
     /**
      * Create argument suggestions for item keys based on all indexed items.
+     * Only the best matches are sent, see {@link SuggestionIndex}.
      *
      * @param recipeIndex the recipe index
      * @return ArgumentSuggestions providing available item key strings
      */
     public static ArgumentSuggestions<CommandSender> argumentSuggestions(RecipeIndex recipeIndex) {
         return (info, builder) -> {
-            // Get cached suggestions or compute them if not cached
-            Collection<String> suggestions = suggestionsCache.computeIfAbsent(recipeIndex, ctx -> suggestions(ctx));
-
-            String currentInputLowerCase = builder.getRemainingLowerCase();
-            for (String suggestion : suggestions) {
-                if (shouldSuggest(suggestion, currentInputLowerCase)) {
-                    builder.suggest(suggestion);
-                }
-            }
-            return CompletableFuture.completedFuture(builder.build());
+            // Get the cached suggestion index or build it if missing or stale
+            return suggestionsCache.get(recipeIndex).suggest(builder);
         };
     }
 
@@ -103,28 +97,47 @@ public class RecipeItemArgument extends CustomArgument<ItemStack, NamespacedKey>
      */
     @SuppressWarnings("null")
     public static Collection<String> suggestions(RecipeIndex recipeIndex) {
-        return getAllItemKeys(recipeIndex).stream()
+        return itemKeys(recipeIndex).keySet().stream()
             .map(Key::asString)
             .collect(Collectors.toSet());
     }
 
+    /**
+     * Get the keys of all indexed items, rebuilding them if the recipe index changed since they were built
+     * @param recipeIndex the recipe index
+     * @return the indexed items by key
+     */
+    private static Map<Key, ItemStack> itemKeys(RecipeIndex recipeIndex) {
+        // Read before building, a change made during the build triggers another rebuild on the next request
+        long generation = recipeIndex.generation();
+        return itemKeysCache.compute(recipeIndex, (index, entry) -> {
+            if (entry != null && entry.generation() == generation) {
+                return entry;
+            }
+            return new IndexedItemKeys(generation, getAllItemKeys(index));
+        }).itemsByKey();
+    }
+
     /**
      * Retrieves all item keys from the indexed recipes in the given recipe index.
      * 
      * @param recipeIndex The recipe index
-     * @return A collection of all item keys.
+     * @return All indexed items by key.
      */
     @SuppressWarnings("null")
-    private static Collection<Key> getAllItemKeys(RecipeIndex recipeIndex) {
-        Set<ItemStack> allItems = new HashSet<>();
+    private static Map<Key, ItemStack> getAllItemKeys(RecipeIndex recipeIndex) {
+        Set<ItemKey> allItems = new HashSet<>();
 
         allItems.addAll(recipeIndex.getAllResultItems());
         allItems.addAll(recipeIndex.getAllIngredientItems());
         allItems.addAll(recipeIndex.getAllOtherItems());
 
-        return allItems.stream()
-            .map(itemStack -> convertItemToKey(itemStack))
-            .collect(Collectors.toSet());
+        Map<Key, ItemStack> itemsByKey = new HashMap<>(allItems.size());
+        for (ItemKey itemKey : allItems) {
+            ItemStack item = itemKey.toItemStack();
+            itemsByKey.putIfAbsent(convertItemToKey(item), item);
+        }
+        return Map.copyOf(itemsByKey);
     }
 
     private static Key convertItemToKey(ItemStack item) {
@@ -152,20 +165,8 @@ public class RecipeItemArgument extends CustomArgument<ItemStack, NamespacedKey>
         ItemType itemType = item.getType().asItemType();
         int hashCode = item.hashCode();
         String itemIdentifier = itemType.getKey().value() + "_0x" + Integer.toHexString(hashCode);
-        Key unidentifiedKey = Key.key("unknown", itemIdentifier);
-        unknownItemCache.put(unidentifiedKey, item);
-        return unidentifiedKey;
+        return Key.key("unknown", itemIdentifier);
     }
 
-    /**
-     * Determines if a suggestion should be included based on the current input.
-     * 
-     * @param suggestion The suggestion string to check
-     * @param currentInputLowerCase The current user input in lowercase
-     * @return true if the suggestion matches the current input, false otherwise
-     */
-    private static boolean shouldSuggest(String suggestion, String currentInputLowerCase) {
-        // No need to call toLowerCase() on suggestion since NamespacedKeys are always lowercase
-        return suggestion.contains(currentInputLowerCase);
-    }
+    private record IndexedItemKeys(long generation, Map<Key, ItemStack> itemsByKey) {}
 }
@@ -0,0 +1,266 @@
+package dev.qheilmann.vanillaenoughitems.commands.arguments;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.jspecify.annotations.NullMarked;
+
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+
+/**
+ * Immutable search index over lowercase suggestion strings (item keys, recipe keys...).
+ * <p>
+ * Matches are returned in three ranked tiers, stopping as soon as the limit is reached:
+ * <ol>
+ * <li>entries starting with the query ({@code minecraft:dia} for {@code minecraft:diamond})</li>
+ * <li>entries with a word starting with the query, words being split on {@code : _ / .} ({@code axe} for {@code minecraft:diamond_axe})</li>
+ * <li>entries containing the query anywhere, for queries of at least {@value #GRAM} characters</li>
+ * </ol>
+ * The first two tiers are binary searches over the sorted word starts, the last one intersects the posting lists of
+ * the query trigrams, so a lookup never scans every entry.
+ */
+@NullMarked
+final class SuggestionIndex {
+
+    /**
+     * Maximum number of suggestions sent to the client for a single completion request
+     */
+    static final int MAX_SUGGESTIONS = 100;
+
+    private static final int GRAM = 3;
+    private static final int[] EMPTY_POSTINGS = new int[0];
+
+    private final String[] entries; // sorted, entry ids are positions in this array
+    private final String[] words;   // suffixes of the entries starting at a word boundary, sorted
+    private final int[] wordOwners; // entry id of each word
+    private final int[] wordOffsets; // offset of each word in its entry, 0 for the entry itself
+    private final Map<Long, int[]> postingsByGram; // sorted entry ids containing each trigram
+
+    /**
+     * Build the index over a collection of lowercase strings
+     * @param entries the strings to index, duplicates are ignored
+     */
+    SuggestionIndex(Collection<String> entries) {
+        this.entries = entries.stream().distinct().sorted().toArray(String[]::new);
+
+        // Word starts
+        List<Word> wordList = new ArrayList<>();
+        for (int id = 0; id < this.entries.length; id++) {
+            String entry = this.entries[id];
+            wordList.add(new Word(entry, id, 0));
+            for (int i = 0; i < entry.length() - 1; i++) {
+                if (isSeparator(entry.charAt(i))) {
+                    wordList.add(new Word(entry.substring(i + 1), id, i + 1));
+                }
+            }
+        }
+        wordList.sort(Comparator.comparing(Word::text));
+        this.words = new String[wordList.size()];
+        this.wordOwners = new int[wordList.size()];
+        this.wordOffsets = new int[wordList.size()];
+        for (int i = 0; i < wordList.size(); i++) {
+            Word word = wordList.get(i);
+            this.words[i] = word.text();
+            this.wordOwners[i] = word.owner();
+            this.wordOffsets[i] = word.offset();
+        }
+
+        // Trigram postings, ids are added in increasing order so every list is sorted
+        Map<Long, Postings> postings = new HashMap<>();
+        for (int id = 0; id < this.entries.length; id++) {
+            String entry = this.entries[id];
+            for (int i = 0; i + GRAM <= entry.length(); i++) {
+                postings.computeIfAbsent(gram(entry, i), g -> new Postings()).add(id);
+            }
+        }
+        Map<Long, int[]> compiled = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, list) -> compiled.put(gram, list.toArray()));
+        this.postingsByGram = compiled;
+    }
+
+    /**
+     * Find the best matches of a query
+     * @param query the lowercase query, an empty query matches everything
+     * @param limit the maximum number of matches
+     * @return the matches, best tier first
+     */
+    List<String> search(String query, int limit) {
+        List<String> matches = new ArrayList<>(Math.min(limit, 16));
+        if (limit <= 0) {
+            return matches;
+        }
+
+        if (query.isEmpty()) {
+            for (int id = 0; id < entries.length && matches.size() < limit; id++) {
+                matches.add(entries[id]);
+            }
+            return matches;
+        }
+
+        BitSet seen = new BitSet(entries.length);
+
+        // Tier 1 and 2: entry and word prefixes, one contiguous range of the sorted words
+        int from = lowerBound(query);
+        int[] wordMatchOwners = new int[limit];
+        int wordMatchCount = 0;
+        for (int i = from; i < words.length && words[i].startsWith(query); i++) {
+            int owner = wordOwners[i];
+            if (wordOffsets[i] == 0) {
+                if (!seen.get(owner)) {
+                    seen.set(owner);
+                    matches.add(entries[owner]);
+                    if (matches.size() >= limit) {
+                        return matches;
+                    }
+                }
+            } else if (wordMatchCount < limit) {
+                wordMatchOwners[wordMatchCount++] = owner; // Kept for after the entry prefix matches
+            }
+        }
+        for (int i = 0; i < wordMatchCount && matches.size() < limit; i++) {
+            int owner = wordMatchOwners[i];
+            if (!seen.get(owner)) {
+                seen.set(owner);
+                matches.add(entries[owner]);
+            }
+        }
+
+        // Tier 3: substring, intersect the trigram postings starting from the rarest one
+        if (matches.size() < limit && query.length() >= GRAM) {
+            addSubstringMatches(query, limit, seen, matches);
+        }
+
+        return matches;
+    }
+
+    /**
+     * Suggest the best matches of the remaining input of a builder, capped to {@link #MAX_SUGGESTIONS}
+     * @param builder the suggestions builder
+     * @return the completed suggestions
+     */
+    CompletableFuture<Suggestions> suggest(SuggestionsBuilder builder) {
+        for (String match : search(builder.getRemainingLowerCase(), MAX_SUGGESTIONS)) {
+            builder.suggest(match);
+        }
+        return CompletableFuture.completedFuture(builder.build());
+    }
+
+    /**
+     * Suggest the strings of a small collection containing the remaining input of a builder, capped to {@link #MAX_SUGGESTIONS}.
+     * Use an index instead for large or frequently queried collections.
+     * @param builder the suggestions builder
+     * @param candidates the lowercase candidates
+     * @return the completed suggestions
+     */
+    static CompletableFuture<Suggestions> suggest(SuggestionsBuilder builder, Collection<String> candidates) {
+        String query = builder.getRemainingLowerCase();
+        int count = 0;
+        for (String candidate : candidates) {
+            if (count >= MAX_SUGGESTIONS) {
+                break;
+            }
+            if (candidate.contains(query)) {
+                builder.suggest(candidate);
+                count++;
+            }
+        }
+        return CompletableFuture.completedFuture(builder.build());
+    }
+
+    //#region Helpers
+
+    private void addSubstringMatches(String query, int limit, BitSet seen, List<String> matches) {
+        int gramCount = query.length() - GRAM + 1;
+        int[][] lists = new int[gramCount][];
+        for (int i = 0; i < gramCount; i++) {
+            int[] list = postingsByGram.getOrDefault(gram(query, i), EMPTY_POSTINGS);
+            if (list.length == 0) {
+                return; // A trigram no entry contains
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        for (int id : lists[0]) {
+            if (seen.get(id) || !containsAll(lists, id)) {
+                continue;
+            }
+            // Trigrams may appear in another order, confirm the actual substring
+            if (entries[id].contains(query)) {
+                seen.set(id);
+                matches.add(entries[id]);
+                if (matches.size() >= limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean containsAll(int[][] lists, int id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i], id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the first word not lower than the query
+     */
+    private int lowerBound(String query) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ':' || c == '_' || c == '/' || c == '.';
+    }
+
+    //#endregion Helpers
+
+    private record Word(String text, int owner, int offset) {}
+
+    /**
+     * Growable list of entry ids
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return; // Trigram repeated in the same entry
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
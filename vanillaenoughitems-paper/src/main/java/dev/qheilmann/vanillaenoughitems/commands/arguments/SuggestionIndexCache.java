@@ -0,0 +1,49 @@
+package dev.qheilmann.vanillaenoughitems.commands.arguments;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+
+/**
+ * Cache of a {@link SuggestionIndex} per recipe index, tied to the {@link RecipeIndex#generation() index generation}.
+ * <p>
+ * The suggestion index is rebuilt lazily, on the first request after the recipe index changed.
+ * Uses reference equality (identity) since RecipeIndex instances are typically singletons.
+ */
+@NullMarked
+final class SuggestionIndexCache {
+
+    private final Function<RecipeIndex, Collection<String>> source;
+    private final Map<RecipeIndex, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Create a cache over a suggestion source
+     * @param source the suggestion strings of a recipe index
+     */
+    SuggestionIndexCache(Function<RecipeIndex, Collection<String>> source) {
+        this.source = source;
+    }
+
+    /**
+     * Get the suggestion index of a recipe index, rebuilding it if the recipe index changed since it was built
+     * @param recipeIndex the recipe index
+     * @return the up to date suggestion index
+     */
+    SuggestionIndex get(RecipeIndex recipeIndex) {
+        // Read before building, a change made during the build triggers another rebuild on the next request
+        long generation = recipeIndex.generation();
+        return entries.compute(recipeIndex, (index, entry) -> {
+            if (entry != null && entry.generation() == generation) {
+                return entry;
+            }
+            return new Entry(generation, new SuggestionIndex(source.apply(index)));
+        }).suggestionIndex();
+    }
+
+    private record Entry(long generation, SuggestionIndex suggestionIndex) {}
+}
@@ -0,0 +1,87 @@
+package dev.qheilmann.vanillaenoughitems.commands.arguments;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NullMarked;
+
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.CustomArgument;
+import dev.jorel.commandapi.arguments.ItemStackPredicateArgument;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import net.kyori.adventure.key.InvalidKeyException;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+
+/**
+ * A custom argument for parsing and validating item tags, written like in vanilla commands ({@code #minecraft:planks}).
+ * Converts the input to the tag key, throwing exceptions if it is not a tag or if no indexed recipe uses it.
+ * Provides methods for generating suggestions based on the tags used by the indexed recipes.
+ *
+ * @see CustomArgument
+ */
+@NullMarked
+public class TagArgument extends CustomArgument<Key, Predicate<ItemStack>> {
+
+    private static final String TAG_PREFIX = "#";
+
+    /**
+     * Constructs a new TagArgument with the specified node name.
+     * The input is parsed as an item predicate, so the client validates and highlights the tag syntax,
+     * then converted to the tag key used by the recipe index.
+     *
+     * @param nodeName the name of the argument node
+     * @param recipeIndex the recipe index
+     */
+    public TagArgument(String nodeName, RecipeIndex recipeIndex) {
+        super(new ItemStackPredicateArgument(nodeName), info -> {
+            String input = info.input();
+
+            if (!input.startsWith(TAG_PREFIX)) {
+                throw CustomArgumentHelper.minecraftLikeException("Expected an item tag, e.g. #minecraft:planks", info);
+            }
+
+            Key tag;
+            try {
+                tag = Key.key(input.substring(TAG_PREFIX.length()));
+            } catch (InvalidKeyException e) {
+                throw CustomArgumentHelper.minecraftLikeException("Invalid tag: " + input, info);
+            }
+
+            if (!recipeIndex.getAllTags().contains(tag)) {
+                throw CustomArgumentHelper.minecraftLikeException("No recipe uses the tag: " + input, info);
+            }
+
+            return tag;
+        });
+
+        // Default suggestions: all tags used by indexed recipes
+        replaceSuggestions(argumentSuggestions(recipeIndex));
+    }
+
+    /**
+     * Create argument suggestions for the tags used by indexed recipes.
+     *
+     * @param recipeIndex the recipe index
+     * @return ArgumentSuggestions providing the tag strings, prefixed with {@code #}
+     */
+    public static ArgumentSuggestions<CommandSender> argumentSuggestions(RecipeIndex recipeIndex) {
+        return ArgumentSuggestions.stringCollection(info -> suggestions(recipeIndex));
+    }
+
+    /**
+     * Provide suggestions for the tags used by indexed recipes.
+     *
+     * @param recipeIndex the recipe index
+     * @return a NavigableSet of tag strings, prefixed with {@code #}
+     */
+    public static NavigableSet<String> suggestions(RecipeIndex recipeIndex) {
+        return recipeIndex.getAllTags().stream()
+            .map(tag -> TAG_PREFIX + tag.asString())
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -1,5 +1,7 @@
 package dev.qheilmann.vanillaenoughitems.config;
 
+import net.kyori.adventure.key.InvalidKeyException;
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.format.TextColor;
 
 import org.bukkit.Bukkit;
@@ -16,6 +18,9 @@ import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Loads the {@link VanillaEnoughItemsConfig} from {@code config.yml} in the plugin data folder.
@@ -84,7 +89,26 @@ public final class VeiConfigLoader {
             data.debug.unhandledRecipesWarning
         );
 
-        return new VanillaEnoughItemsConfig(debug, data.quickRecipeLookup, style);
+        return new VanillaEnoughItemsConfig(debug, data.quickRecipeLookup, data.parallelIndexing, style, parseProcessWeights(data.pathProcessWeights));
+    }
+
+    /**
+     * Parses the process weights, skipping (with a warning) invalid process keys and weights lower than 1.
+     */
+    private static Map<Key, Integer> parseProcessWeights(Map<String, Integer> weights) {
+        Map<Key, Integer> parsed = new LinkedHashMap<>();
+        weights.forEach((process, weight) -> {
+            try {
+                if (weight < 1) {
+                    VanillaEnoughItems.LOGGER.warn("Ignoring path weight of process '" + process + "': " + weight + " is lower than 1");
+                    return;
+                }
+                parsed.put(Key.key(process), weight);
+            } catch (InvalidKeyException e) {
+                VanillaEnoughItems.LOGGER.warn("Ignoring path weight of process '" + process + "': invalid process key");
+            }
+        });
+        return Collections.unmodifiableMap(parsed);
     }
 
     /**
@@ -108,6 +132,17 @@ public final class VeiConfigLoader {
         @Setting("quick-recipe-lookup")
         boolean quickRecipeLookup = true;
 
+        // Extract and group recipes on all available cores when building the recipe index.
+        // Recipe extractors, including the ones of other plugins, then read Bukkit recipes and items off the main thread.
+        // Only enable if every registered extractor is thread-safe.
+        @Setting("parallel-indexing")
+        boolean parallelIndexing = false;
+
+        // Weight of one recipe of a process when looking for a crafting path with /craft --path, 1 if not listed.
+        // e.g. "minecraft:smelting: 2" to prefer crafting over smelting. Empty to find the path with the fewest recipes.
+        @Setting("path-process-weights")
+        Map<String, Integer> pathProcessWeights = new LinkedHashMap<>();
+
         DebugData debug = new DebugData();
 
         StyleData style = new StyleData();
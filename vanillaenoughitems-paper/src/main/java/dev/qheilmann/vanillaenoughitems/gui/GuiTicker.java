@@ -0,0 +1,137 @@
+package dev.qheilmann.vanillaenoughitems.gui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
+
+/**
+ * Single animation scheduler shared by every open GUI cycling its slots.
+ * <p>
+ * Each registered GUI gets a phase, the least loaded one, and is ticked once every {@link #INTERVAL} server ticks
+ * on that phase, so the GUIs are spread over the ticks of the interval instead of all waking up on the same one.
+ * One scheduler task runs while at least one GUI is registered.
+ * <p>
+ * Must be used from the main thread.
+ */
+@NullMarked
+public final class GuiTicker {
+
+    /**
+     * Number of server ticks between two ticks of the same GUI (1 second)
+     */
+    public static final int INTERVAL = 20;
+
+    private final JavaPlugin plugin;
+    private final List<Map<Object, Runnable>> phases = new ArrayList<>(INTERVAL);
+    private final Map<Object, Integer> phaseByOwner = new HashMap<>();
+    private @Nullable BukkitTask task;
+    private int currentPhase;
+
+    /**
+     * Create a ticker, its task is only scheduled once a GUI is registered
+     * @param plugin the plugin owning the task
+     */
+    public GuiTicker(JavaPlugin plugin) {
+        this.plugin = plugin;
+        for (int i = 0; i < INTERVAL; i++) {
+            phases.add(new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Register the ticker of a GUI, replacing its previous one (the GUI keeps its phase)
+     * @param owner the GUI
+     * @param ticker advances the cycling slots of the GUI
+     */
+    public void register(Object owner, Runnable ticker) {
+        Integer phase = phaseByOwner.get(owner);
+        if (phase == null) {
+            phase = leastLoadedPhase();
+            phaseByOwner.put(owner, phase);
+        }
+        phases.get(phase).put(owner, ticker);
+
+        if (task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+        }
+    }
+
+    /**
+     * Unregister the ticker of a GUI, typically when it closes
+     * @param owner the GUI
+     */
+    public void unregister(Object owner) {
+        Integer phase = phaseByOwner.remove(owner);
+        if (phase != null) {
+            phases.get(phase).remove(owner);
+        }
+
+        if (phaseByOwner.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Unregister every GUI and cancel the task (typically on plugin disable)
+     */
+    public void stop() {
+        phases.forEach(Map::clear);
+        phaseByOwner.clear();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Get the number of registered GUIs
+     * @return the number of GUIs
+     */
+    public int size() {
+        return phaseByOwner.size();
+    }
+
+    private void tick() {
+        Map<Object, Runnable> due = phases.get(currentPhase);
+        currentPhase = (currentPhase + 1) % INTERVAL;
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // Copy, a ticker may open or close a GUI
+        for (Map.Entry<Object, Runnable> entry : List.copyOf(due.entrySet())) {
+            Object owner = entry.getKey();
+            Runnable ticker = entry.getValue();
+            if (!phaseByOwner.containsKey(owner) || due.get(owner) != ticker) {
+                continue; // Closed or replaced by an earlier ticker of this phase
+            }
+
+            try {
+                ticker.run();
+            } catch (RuntimeException e) {
+                VanillaEnoughItems.LOGGER.error("GUI ticker failed, unregistering it", e);
+                unregister(owner);
+            }
+        }
+    }
+
+    private int leastLoadedPhase() {
+        int best = 0;
+        for (int phase = 1; phase < INTERVAL; phase++) {
+            if (phases.get(phase).size() < phases.get(best).size()) {
+                best = phase;
+            }
+        }
+        return best;
+    }
+}
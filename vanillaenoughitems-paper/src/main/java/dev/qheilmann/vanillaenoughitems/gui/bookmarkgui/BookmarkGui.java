@@ -6,12 +6,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -38,7 +36,6 @@ import net.kyori.adventure.text.Component;
 public class BookmarkGui extends FastInv {
 
     private static final int SIZE = Slots.Generic9x6.SIZE;
-    private static final int TICK_INTERVAL = 20; // ticks (1 second)
     private static final int MAX_BOOKMARKS = Slots.Generic9x6.WIDTH * 5;
     
     // Navigation slots (bottom row)
@@ -57,7 +54,6 @@ public class BookmarkGui extends FastInv {
     private final List<Bookmark> bookmarks;
     private final Map<Integer, Bookmark> slotToBookmark = new HashMap<>();
     private final @Nullable MultiProcessRecipeReader returnToReader;
-    private @Nullable BukkitTask tickTask;
     private int pageOffset = 0;
 
     /**
@@ -182,16 +178,7 @@ public class BookmarkGui extends FastInv {
     }
 
     private void startTicker() {
-        if (tickTask != null) {
-            tickTask.cancel();
-        }
-
-        tickTask = Bukkit.getScheduler().runTaskTimer(
-            VanillaEnoughItems.getPlugin(),
-            this::tickSymbols,
-            TICK_INTERVAL,
-            TICK_INTERVAL
-        );
+        services.guiTicker().register(this, this::tickSymbols);
     }
 
     private void tickSymbols() {
@@ -222,9 +209,6 @@ public class BookmarkGui extends FastInv {
 
     @Override
     protected void onClose(InventoryCloseEvent event) {
-        if (tickTask != null) {
-            tickTask.cancel();
-            tickTask = null;
-        }
+        services.guiTicker().unregister(this);
     }
 }
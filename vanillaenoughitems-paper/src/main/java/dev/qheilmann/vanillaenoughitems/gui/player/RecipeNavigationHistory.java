@@ -2,6 +2,7 @@ package dev.qheilmann.vanillaenoughitems.gui.player;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.List;
 import java.util.UUID;
 
 import org.jspecify.annotations.NullMarked;
@@ -98,6 +99,30 @@ public class RecipeNavigationHistory {
         }
     }
 
+    /**
+     * Prepare the history to follow a sequence of readers, e.g. the steps of a crafting path.
+     * The first reader becomes the viewed one and the next ones are queued as forward history,
+     * so the forward button walks through them in order. Open a GUI on the first reader afterwards.
+     * 
+     * @param path the readers to follow, the first one is viewed first
+     * @throws IllegalArgumentException if the path is empty or longer than the history
+     */
+    public void startPath(List<MultiProcessRecipeReader> path) {
+        if (path.isEmpty() || path.size() > MAX_HISTORY_SIZE) {
+            throw new IllegalArgumentException("Path must contain between 1 and " + MAX_HISTORY_SIZE + " readers, got " + path.size());
+        }
+
+        MultiProcessRecipeReader first = path.getFirst();
+        if (lastViewedReader != null) {
+            pushForNavigation(lastViewedReader, first);
+        }
+        forwardStack.clear();
+        for (int i = path.size() - 1; i > 0; i--) {
+            forwardStack.push(path.get(i));
+        }
+        lastViewedReader = first; // The GUI opened on it will not push it again
+    }
+
     /**
      * Go back to the previous reader in history
      * @param currentReader the current reader to push to forward stack
@@ -0,0 +1,124 @@
+package dev.qheilmann.vanillaenoughitems.gui.processpannel;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.gui.CyclicIngredient;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.RecipeGuiSharedButton;
+
+/**
+ * Immutable snapshot of a process panel: its button map, its static items and its cycling ingredients as templates.
+ * <p>
+ * The layout is derived once per recipe, each viewer then gets a panel with its own copies of the cycling ingredients
+ * (cheap, the options are shared) so ticking or pinning one viewer never affects another.
+ * The templates are never ticked, static items are shared and must not be modified.
+ */
+@NullMarked
+final class ProcessPanelLayout {
+
+    private final Map<RecipeGuiSharedButton, ProcessPannelSlot> buttonMap;
+    private final Map<ProcessPannelSlot, CyclicIngredient> ingredients;
+    private final Map<ProcessPannelSlot, CyclicIngredient> results;
+    private final Map<ProcessPannelSlot, CyclicIngredient> others;
+    private final Map<ProcessPannelSlot, PanelStaticItem> staticItems;
+
+    private ProcessPanelLayout(ProcessPanel panel) {
+        this.buttonMap = Collections.unmodifiableMap(new LinkedHashMap<>(panel.getRecipeGuiButtonMap()));
+        this.ingredients = Collections.unmodifiableMap(new LinkedHashMap<>(panel.getTickedIngredient()));
+        this.results = Collections.unmodifiableMap(new LinkedHashMap<>(panel.getTickedResults()));
+        this.others = Collections.unmodifiableMap(new LinkedHashMap<>(panel.getTickedOther()));
+        this.staticItems = Collections.unmodifiableMap(new LinkedHashMap<>(panel.getStaticItems()));
+    }
+
+    /**
+     * Snapshot a freshly created panel, the panel must not be used afterwards
+     * @param panel the panel to snapshot
+     * @return the layout of the panel
+     */
+    static ProcessPanelLayout of(ProcessPanel panel) {
+        return new ProcessPanelLayout(panel);
+    }
+
+    /**
+     * Create a panel for a new viewer, with its own cycling state
+     * @return a new panel sharing this layout
+     */
+    ProcessPanel newPanel() {
+        // One identity map for the whole panel, results may depend on ingredients
+        Map<CyclicIngredient, CyclicIngredient> copies = new IdentityHashMap<>();
+        return new ViewerPanel(
+            copyAll(ingredients, copies),
+            copyAll(results, copies),
+            copyAll(others, copies)
+        );
+    }
+
+    private static Map<ProcessPannelSlot, CyclicIngredient> copyAll(Map<ProcessPannelSlot, CyclicIngredient> templates, Map<CyclicIngredient, CyclicIngredient> copies) {
+        if (templates.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<ProcessPannelSlot, CyclicIngredient> copied = new LinkedHashMap<>(templates.size());
+        templates.forEach((slot, template) -> copied.put(slot, template.copy(copies)));
+        return Collections.unmodifiableMap(copied);
+    }
+
+    /**
+     * Panel of one viewer, the cycling state is its own, the rest comes from the layout
+     */
+    private final class ViewerPanel implements ProcessPanel {
+        private final Map<ProcessPannelSlot, CyclicIngredient> ingredients;
+        private final Map<ProcessPannelSlot, CyclicIngredient> results;
+        private final Map<ProcessPannelSlot, CyclicIngredient> others;
+
+        ViewerPanel(Map<ProcessPannelSlot, CyclicIngredient> ingredients, Map<ProcessPannelSlot, CyclicIngredient> results, Map<ProcessPannelSlot, CyclicIngredient> others) {
+            this.ingredients = ingredients;
+            this.results = results;
+            this.others = others;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<RecipeGuiSharedButton, ProcessPannelSlot> getRecipeGuiButtonMap() {
+            return buttonMap;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<ProcessPannelSlot, CyclicIngredient> getTickedIngredient() {
+            return ingredients;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<ProcessPannelSlot, CyclicIngredient> getTickedResults() {
+            return results;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<ProcessPannelSlot, CyclicIngredient> getTickedOther() {
+            return others;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<ProcessPannelSlot, PanelStaticItem> getStaticItems() {
+            return staticItems;
+        }
+    }
+}
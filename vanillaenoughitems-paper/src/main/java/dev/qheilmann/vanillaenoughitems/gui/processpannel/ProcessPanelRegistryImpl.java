@@ -1,35 +1,68 @@
 package dev.qheilmann.vanillaenoughitems.gui.processpannel;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.bukkit.inventory.Recipe;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 
 import dev.qheilmann.vanillaenoughitems.config.Style;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 
 /**
  * Maintains a mapping between Process types and their corresponding ProcessPanelFactory implementations.
  * Includes a factory method to create the correct panel for a given recipe.
+ * <p>
+ * For {@link ProcessPanelFactory#cacheable() cacheable} factories, the layout of the created panels is cached
+ * per (process, recipe, style) in a bounded LRU, a panel is then only built once per recipe and each call gets its own cycling state.
+ * Other factories are called for every panel. The cache is dropped when the tracked recipe index is rebuilt.
  */
 @NullMarked
 public class ProcessPanelRegistryImpl implements ProcessPanelRegistry {
     
+    private static final int MAX_CACHED_LAYOUTS = 512;
+
     private final Map<Process, ProcessPanelFactory> factories = new HashMap<>();
     private final RecipeExtractorRegistry extractorRegistry;
+    private @Nullable RecipeIndex recipeIndex;
+    private long recipeIndexGeneration;
+    private final LinkedHashMap<LayoutKey, ProcessPanelLayout> layouts = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayoutKey, ProcessPanelLayout> eldest) {
+            return size() > MAX_CACHED_LAYOUTS;
+        }
+    };
 
     public ProcessPanelRegistryImpl(RecipeExtractorRegistry extractorRegistry) {
         this.extractorRegistry = extractorRegistry;
     }
 
+    /**
+     * Track a recipe index, cached layouts are dropped whenever it is rebuilt
+     * (they hold the recipes of the previous generation)
+     * @param recipeIndex the recipe index the panels are created for
+     */
+    public void trackRecipeIndex(RecipeIndex recipeIndex) {
+        synchronized (layouts) {
+            this.recipeIndex = recipeIndex;
+            this.recipeIndexGeneration = recipeIndex.generation();
+            layouts.clear();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void registerProvider(Process process, ProcessPanelFactory provider) {
         factories.put(process, provider);
+        synchronized (layouts) {
+            layouts.clear(); // Cached layouts may come from the replaced factory
+        }
     }
 
     /**
@@ -43,7 +76,28 @@ public class ProcessPanelRegistryImpl implements ProcessPanelRegistry {
         }
 
         ProcessPanelFactory factory = factories.get(process);
-        return factory.create(recipe, style);
+        if (!factory.cacheable()) {
+            return factory.create(recipe, style);
+        }
+
+        LayoutKey key = new LayoutKey(process, recipe, style);
+        ProcessPanelLayout layout;
+        long generation;
+        synchronized (layouts) {
+            dropIfReindexed();
+            layout = layouts.get(key);
+            generation = recipeIndexGeneration;
+        }
+        if (layout == null) {
+            layout = ProcessPanelLayout.of(factory.create(recipe, style));
+            synchronized (layouts) {
+                dropIfReindexed();
+                if (recipeIndexGeneration == generation) { // Do not cache a recipe of a previous generation
+                    layouts.put(key, layout);
+                }
+            }
+        }
+        return layout.newPanel();
     }
 
     /**
@@ -53,4 +107,50 @@ public class ProcessPanelRegistryImpl implements ProcessPanelRegistry {
     public boolean hasFactory(Process process) {
         return factories.containsKey(process);
     }
+
+    // Must hold the layouts lock
+    private void dropIfReindexed() {
+        RecipeIndex index = recipeIndex;
+        if (index == null) {
+            return;
+        }
+
+        long generation = index.generation();
+        if (generation != recipeIndexGeneration) {
+            layouts.clear();
+            recipeIndexGeneration = generation;
+        }
+    }
+
+    /**
+     * Cache key, the recipe is compared by identity (indexed recipes are never copied)
+     */
+    private static final class LayoutKey {
+        private final Process process;
+        private final Recipe recipe;
+        private final Style style;
+        private final int hash;
+
+        LayoutKey(Process process, Recipe recipe, Style style) {
+            this.process = process;
+            this.recipe = recipe;
+            this.style = style;
+            this.hash = 31 * (31 * process.hashCode() + System.identityHashCode(recipe)) + style.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof LayoutKey other)) return false;
+            return hash == other.hash
+                && recipe == other.recipe
+                && process.equals(other.process)
+                && style.equals(other.style);
+        }
+    }
 }
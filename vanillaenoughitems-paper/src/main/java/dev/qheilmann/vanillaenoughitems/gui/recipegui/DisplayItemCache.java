@@ -0,0 +1,155 @@
+package dev.qheilmann.vanillaenoughitems.gui.recipegui;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.config.Style;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import dev.qheilmann.vanillaenoughitems.recipe.index.TagIndex;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+
+/**
+ * Shared cache of the decorated items shown in the ingredient and result slots of the recipe GUI, for all GUIs and players.
+ * <p>
+ * A decorated item only depends on the option item, the slot role, the recipe (for results), the style and the tag lore,
+ * so it is decorated once and shared between GUIs. A GUI resolves all the options of an ingredient once with
+ * {@link #decorateAll} and reads the array by cycle position, ticking does no lookup.
+ * The cache is bounded (least recently used entries are evicted) and is dropped when the recipe or tag index is rebuilt.
+ * A config reload changes the style, which is part of the key.
+ * <p>
+ * Cached items are shared, they must not be modified.
+ */
+@NullMarked
+public final class DisplayItemCache {
+
+    private static final int MAX_ENTRIES = 2048;
+
+    /**
+     * Role of the slot an item is displayed in
+     */
+    public enum SlotRole {
+        NON_RESULT,
+        RESULT
+    }
+
+    private final RecipeIndex recipeIndex;
+    private final TagIndex tagIndex;
+    private long recipeIndexGeneration;
+    private long tagIndexGeneration;
+    private final LinkedHashMap<DisplayKey, ItemStack> displayByKey = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DisplayKey, ItemStack> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Create a display item cache
+     * @param recipeIndex the recipe index, the cache is dropped when it is rebuilt
+     * @param tagIndex the tag index, the cache is dropped when it is rebuilt
+     */
+    public DisplayItemCache(RecipeIndex recipeIndex, TagIndex tagIndex) {
+        this.recipeIndex = recipeIndex;
+        this.tagIndex = tagIndex;
+        this.recipeIndexGeneration = recipeIndex.generation();
+        this.tagIndexGeneration = tagIndex.generation();
+    }
+
+    /**
+     * Get the decorated display item of an option, decorating and caching it on first use.
+     *
+     * @param option the option item currently shown by the slot
+     * @param role the role of the slot
+     * @param recipeKey the key of the displayed recipe, null when the decoration does not depend on it
+     * @param style the style the item is decorated with
+     * @param tagLore the tag lore of the ingredient the option belongs to
+     * @param decorator decorates a clone of the option
+     * @return the shared display item, must not be modified
+     */
+    public ItemStack getOrDecorate(ItemStack option, SlotRole role, @Nullable Key recipeKey, Style style, List<Component> tagLore, UnaryOperator<ItemStack> decorator) {
+        DisplayKey key = new DisplayKey(option, role, recipeKey, style, tagLore);
+
+        synchronized (displayByKey) {
+            long recipeGeneration = recipeIndex.generation();
+            long tagGeneration = tagIndex.generation();
+            if (recipeGeneration != recipeIndexGeneration || tagGeneration != tagIndexGeneration) {
+                displayByKey.clear();
+                recipeIndexGeneration = recipeGeneration;
+                tagIndexGeneration = tagGeneration;
+            }
+
+            ItemStack display = displayByKey.get(key);
+            if (display == null) {
+                display = decorator.apply(option.clone());
+                // Own copy of the option, the caller may reuse its instance
+                displayByKey.put(new DisplayKey(option.clone(), role, recipeKey, style, tagLore), display);
+            }
+            return display;
+        }
+    }
+
+    /**
+     * Get the decorated display items of all the options of an ingredient, in option order.
+     *
+     * @param options the option items of the ingredient
+     * @param role the role of the slot
+     * @param recipeKey the key of the displayed recipe, null when the decoration does not depend on it
+     * @param style the style the items are decorated with
+     * @param tagLore the tag lore of the ingredient
+     * @param decorator decorates a clone of an option
+     * @return the shared display items, by option index, must not be modified
+     */
+    public ItemStack[] decorateAll(ItemStack[] options, SlotRole role, @Nullable Key recipeKey, Style style, List<Component> tagLore, UnaryOperator<ItemStack> decorator) {
+        ItemStack[] displays = new ItemStack[options.length];
+        for (int i = 0; i < options.length; i++) {
+            displays[i] = getOrDecorate(options[i], role, recipeKey, style, tagLore, decorator);
+        }
+        return displays;
+    }
+
+    /**
+     * Cache key, with its hash computed once
+     */
+    private static final class DisplayKey {
+        private final ItemStack option;
+        private final SlotRole role;
+        private final @Nullable Key recipeKey;
+        private final Style style;
+        private final List<Component> tagLore;
+        private final int hash;
+
+        DisplayKey(ItemStack option, SlotRole role, @Nullable Key recipeKey, Style style, List<Component> tagLore) {
+            this.option = option;
+            this.role = role;
+            this.recipeKey = recipeKey;
+            this.style = style;
+            this.tagLore = tagLore;
+            this.hash = Objects.hash(option, role, recipeKey, style, tagLore);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof DisplayKey other)) return false;
+            return hash == other.hash
+                && role == other.role
+                && Objects.equals(recipeKey, other.recipeKey)
+                && option.equals(other.option)
+                && style.equals(other.style)
+                && tagLore.equals(other.tagLore);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package dev.qheilmann.vanillaenoughitems.gui.recipegui;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -11,8 +11,8 @@ import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -21,7 +21,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.ItemType;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitTask;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -35,17 +34,20 @@ import dev.qheilmann.vanillaenoughitems.gui.bookmarkgui.BookmarkGui;
 import dev.qheilmann.vanillaenoughitems.gui.player.PlayerGuiData;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.ProcessPanel;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.ProcessPannelSlot;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.DisplayItemCache.SlotRole;
+import dev.qheilmann.vanillaenoughitems.gui.treegui.CraftingTreeGui;
 import dev.qheilmann.vanillaenoughitems.pack.VeiPack;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
 import dev.qheilmann.vanillaenoughitems.recipe.index.Grouping;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
 import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Workbench;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingTree;
 import dev.qheilmann.vanillaenoughitems.utils.fastinv.FastInv;
 import dev.qheilmann.vanillaenoughitems.gui.processpannel.PanelStaticItem;
 import dev.qheilmann.vanillaenoughitems.utils.fastinv.FastInvItem;
 import dev.qheilmann.vanillaenoughitems.utils.fastinv.Slots;
-import io.papermc.paper.registry.tag.TagKey;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
@@ -59,7 +61,6 @@ public class RecipeGui extends FastInv {
 
     // GUI size
     private static final int SIZE = FastInv.GENERIC_9X6_SIZE;
-    private static final int TICK_INTERVAL = 20; // ticks (1 second)
     
     // Slots
     private static final LinkedHashSet<Integer> PROCESSES_SCROLL_RANGE  = Slots.Generic9x6.gridRange(1, 0, 7, 0);
@@ -68,11 +69,13 @@ public class RecipeGui extends FastInv {
     private static final int PROCESS_SCROLL_LEFT_SLOT   = PROCESSES_SCROLL_RANGE.getFirst();
     private static final int PROCESS_SCROLL_RIGHT_SLOT  = PROCESSES_SCROLL_RANGE.getLast();
     private static final int INFO_SLOT                  = Slots.Generic9x6.slot(8, 0);
+    private static final int CRAFTABLE_SLOT             = Slots.Generic9x6.slot(8, 1);
     private static final int WORKBENCH_SCROLL_UP_SLOT   = WORKBENCHS_SCROLL_RANGE.getFirst();
     private static final int WORKBENCH_SCROLL_DOWN_SLOT = WORKBENCHS_SCROLL_RANGE.getLast();
     private static final int BOOKMARK_THIS_RECIPE_SLOT  = Slots.Generic9x6.slot(8, 2);
     private static final int BOOKMARK_LIST_SLOT         = Slots.Generic9x6.slot(8, 3);
     private static final int BOOKMARK_SERVER_LIST_SLOT  = Slots.Generic9x6.slot(8, 4);
+    private static final int CRAFTING_TREE_SLOT         = Slots.Generic9x6.slot(8, 5);
     
     private static final int MAX_VISIBLE_PROCESSES = PROCESSES_SCROLL_RANGE.size() - 1; // Never fill the first slot
     private static final int MAX_SCROLLABLE_PROCESSES = PROCESSES_SCROLL_RANGE.size() - 2; // Account for scroll buttons
@@ -90,7 +93,10 @@ public class RecipeGui extends FastInv {
     private final ItemStack fillerItem;
     // Mutable state
     private MultiProcessRecipeReader reader;
-    private @Nullable BukkitTask tickTask;
+    /** Tag lore of the ingredients of the current panel, by identity (options never change, the index may tick) */
+    private final Map<CyclicIngredient, List<Component>> tagLoreByIngredient = new IdentityHashMap<>();
+    /** Decorated options of the ingredients of the current panel, by identity, read with the cycle position */
+    private final Map<CyclicIngredient, ItemStack[]> displaysByIngredient = new IdentityHashMap<>();
     /** Scroll offset for process tabs (in case of more than one page) */
     private int processScrollOffset = 0;
     /** Scroll offset for workbench tabs (in case of more than one page) */
@@ -108,14 +114,16 @@ public class RecipeGui extends FastInv {
         // Inform navigation history a new viewing session
         playerData.navigationHistory().startViewing(reader);
         
-        // Initial filling
-        setItems(Slots.Generic9x6.all(), fillerItem);
+        batch(() -> {
+            // Initial filling
+            setItems(Slots.Generic9x6.all(), fillerItem);
 
-        // Static buttons
-        // renderInfoButton(); // TODO info button not implemented yet
+            // Static buttons
+            // renderInfoButton(); // TODO info button not implemented yet
 
-        // Dynamic render
-        render();
+            // Dynamic render
+            render();
+        });
     }
 
     private static Component title(Style style) {
@@ -132,16 +140,21 @@ public class RecipeGui extends FastInv {
      * @implNote This method don't erase previous items, it should place {@link #FILLER_ITEM} where a slot is unused.
      */
     public void render() {
-        // Recipe dependent buttons
-        renderQuickLinkButton();
-        renderBookmarkButton();
-        renderBookmarkListButton();
-        renderBookmarkServerListButton();
-        renderWorkbenchScrollButtons();
-        renderProcessScrollButtons();
-
-        // Process panel content
-        renderProcessPanel(generateCurrentPanel());
+        // One batch, the panel is refilled before being drawn and only the slots that actually change are sent
+        batch(() -> {
+            // Recipe dependent buttons
+            renderQuickLinkButton();
+            renderBookmarkButton();
+            renderBookmarkListButton();
+            renderBookmarkServerListButton();
+            renderCraftingTreeButton();
+            renderCraftableButton();
+            renderWorkbenchScrollButtons();
+            renderProcessScrollButtons();
+
+            // Process panel content
+            renderProcessPanel(generateCurrentPanel());
+        });
     }
 
     /**
@@ -160,7 +173,7 @@ public class RecipeGui extends FastInv {
         if (isLeftClick) {
             newMultiRecipeReader = services.recipeIndex().readerByResult(recipeItem);
         } else if (isRightClick) {
-            if (reader.getGrouping().equals(new Grouping.ByIngredient(recipeItem))) {
+            if (reader.getGrouping().equals(new Grouping.ByIngredient(ItemKey.of(recipeItem)))) {
                 return; // No action if usage clicking on the same usage reader
             }
             newMultiRecipeReader = services.recipeIndex().readerByIngredient(recipeItem);
@@ -178,7 +191,7 @@ public class RecipeGui extends FastInv {
         MultiProcessRecipeReader newMultiRecipeReader = null;
 
         if (isLeftClick) {
-            if (reader.getGrouping().equals(new Grouping.ByResult(recipeItem))) {
+            if (reader.getGrouping().equals(new Grouping.ByResult(ItemKey.of(recipeItem)))) {
                 return; // No action if recipe clicking on the same result reader
             }
             newMultiRecipeReader = services.recipeIndex().readerByResult(recipeItem);
@@ -210,6 +223,8 @@ public class RecipeGui extends FastInv {
         Map<RecipeGuiSharedButton, ProcessPannelSlot> sharedButtonSlots = processPanel.getRecipeGuiButtonMap();
         
         setItems(ProcessPannelSlot.all(), fillerItem);
+        tagLoreByIngredient.clear(); // New panel, new ingredients
+        displaysByIngredient.clear();
 
         // Recipe reader dependent buttons
         renderSharedIfPresent(this::renderNextRecipeButton, sharedButtonSlots.get(RecipeGuiSharedButton.NEXT_RECIPE));
@@ -308,24 +323,14 @@ public class RecipeGui extends FastInv {
     //#region Ingredient / Result Ticker
 
     private void startTicker(Runnable ticker) {
-        if (tickTask != null) {
-            tickTask.cancel();
-        }
-
-        tickTask = Bukkit.getScheduler().runTaskTimer(
-            VanillaEnoughItems.getPlugin(),
-            ticker,
-            TICK_INTERVAL,
-            TICK_INTERVAL
-        );
+        services.guiTicker().register(this, ticker);
     }
 
     @Override
     protected void onClose(InventoryCloseEvent event) {
-        if (tickTask != null) {
-            tickTask.cancel();
-            tickTask = null;
-        }
+        services.guiTicker().unregister(this);
+        // The craftable result is only reused while the GUI is open
+        services.craftableIndex().forget(event.getPlayer().getUniqueId());
         // Save current reader to navigation history
         playerData.navigationHistory().stopViewing(reader);
     }
@@ -358,35 +363,62 @@ public class RecipeGui extends FastInv {
 
     private void placeNonResult(ProcessPannelSlot panelSlot, CyclicIngredient ingredient) {
         ItemStack item = ingredient.getCurrentItem();
-        ItemStack showItem = item.clone();
+        List<Component> tagLore = formatTagLore(ingredient);
+        ItemStack showItem = displayItem(ingredient, item, SlotRole.NON_RESULT, null, tagLore,
+            clone -> decorateNonResult(clone, tagLore));
+
+        setItem(panelSlot.toSlotIndex(), showItem, event -> nonResultChangeRecipeAction(event, item));
+    }
+
+    private void placeResult(ProcessPannelSlot panelSlot, CyclicIngredient ingredient) {
+        ItemStack item = ingredient.getCurrentItem();
+        Key recipeKey = getCurrentRecipeKey();
+        List<Component> tagLore = formatTagLore(ingredient);
+        ItemStack showItem = displayItem(ingredient, item, SlotRole.RESULT, recipeKey, tagLore,
+            clone -> decorateResult(clone, recipeKey, tagLore));
 
+        setItem(panelSlot.toSlotIndex(), showItem, event -> resultChangeRecipeAction(event, item));
+    }
+
+    /**
+     * Get the decorated item shown for the current option of an ingredient.
+     * The options of a predefined ingredient are decorated once per panel and read by cycle position.
+     * Dependent ingredients produce a new item on every tick and go through the shared cache.
+     */
+    private ItemStack displayItem(CyclicIngredient ingredient, ItemStack item, SlotRole role, @Nullable Key recipeKey, List<Component> tagLore, UnaryOperator<ItemStack> decorator) {
+        DisplayItemCache cache = services.displayItemCache();
+        if (ingredient.isDependent()) {
+            return cache.getOrDecorate(item, role, recipeKey, style, tagLore, decorator);
+        }
+
+        ItemStack[] displays = displaysByIngredient.computeIfAbsent(ingredient,
+            cyclic -> cache.decorateAll(cyclic.getOptions(), role, recipeKey, style, tagLore, decorator));
+        return displays[ingredient.getCurrentIndex()];
+    }
+
+    private ItemStack decorateNonResult(ItemStack showItem, List<Component> tagLore) {
         List<Component> lore = getLore(showItem);
         lore.add(Component.empty()); // empty line
         
         // Add tag lore for items that exactly match tags
-        lore.addAll(formatTagLore(ingredient));
+        lore.addAll(tagLore);
 
         // Use remainder
-        lore.addAll(formatRemainingItemLore(item));
+        lore.addAll(formatRemainingItemLore(showItem));
 
         if (!showItem.isEmpty()) {
             showItem.lore(lore);
         }
-
-        setItem(panelSlot.toSlotIndex(), showItem, event -> nonResultChangeRecipeAction(event, item));
+        return showItem;
     }
 
-    private void placeResult(ProcessPannelSlot panelSlot, CyclicIngredient ingredient) {
-        ItemStack item = ingredient.getCurrentItem();
-        ItemStack showItem = item.clone();
-        
-        Key recipeKey = getCurrentRecipeKey();
+    private ItemStack decorateResult(ItemStack showItem, @Nullable Key recipeKey, List<Component> tagLore) {
         if (recipeKey != null) {
             List<Component> lore = getLore(showItem);
             lore.add(Component.empty()); // empty line
             
             // Add tag lore for items that exactly match tags
-            lore.addAll(formatTagLore(ingredient));
+            lore.addAll(tagLore);
             
             // Recipe by (if custom)
             if (!recipeKey.namespace().equals(Key.MINECRAFT_NAMESPACE)) {
@@ -414,8 +446,7 @@ public class RecipeGui extends FastInv {
                 showItem.lore(lore);
             }
         }
-
-        setItem(panelSlot.toSlotIndex(), showItem, event -> resultChangeRecipeAction(event, item));
+        return showItem;
     }
 
     private List<Component> getLore(ItemStack item) {
@@ -866,6 +897,48 @@ public class RecipeGui extends FastInv {
 
     //#endregion Bookmark Server List
 
+    //#region Crafting Tree
+
+    private void renderCraftingTreeButton() {
+        if (getCurrentRecipe().getResult().isEmpty()) {
+            setItem(CRAFTING_TREE_SLOT, fillerItem);
+            return;
+        }
+
+        setItem(CRAFTING_TREE_SLOT, guiComponent.createCraftingTreeButton(), this::craftingTreeAction);
+    }
+
+    private void craftingTreeAction(InventoryClickEvent event) {
+        Player player = (Player) event.getWhoClicked();
+        player.playSound(UI_CLICK_SOUND);
+
+        ItemStack result = getCurrentRecipe().getResult();
+        CraftingTree tree = services.craftingTreeResolver().resolve(result, result.getAmount());
+        new CraftingTreeGui(services, playerData, tree, reader).open(player);
+    }
+
+    //#endregion Crafting Tree
+
+    //#region Craftable
+
+    private void renderCraftableButton() {
+        setItem(CRAFTABLE_SLOT, guiComponent.createCraftableButton(), this::craftableAction);
+    }
+
+    private void craftableAction(InventoryClickEvent event) {
+        Player player = (Player) event.getWhoClicked();
+        player.playSound(UI_CLICK_SOUND);
+
+        MultiProcessRecipeReader craftableReader = services.craftableIndex().readerByCraftable(player);
+        if (craftableReader == null) {
+            player.sendMessage(Component.text("Nothing can be crafted with your inventory.", NamedTextColor.RED));
+            return;
+        }
+        openNewReader(craftableReader);
+    }
+
+    //#endregion Craftable
+
     //#region QuickLink
 
     private void renderQuickLinkButton() {
@@ -944,7 +1017,7 @@ public class RecipeGui extends FastInv {
     @Nullable
     private ItemStack getPinnedIngredient() {
         return switch (reader.getGrouping()) {
-            case Grouping.ByIngredient g -> g.ingredient(); 
+            case Grouping.ByIngredient g -> g.ingredient().toItemStack();
             default -> null;
         };
     }
@@ -957,7 +1030,7 @@ public class RecipeGui extends FastInv {
     @Nullable
     private ItemStack getPinnedResult() {
         return switch (reader.getGrouping()) {
-            case Grouping.ByResult g -> g.result();
+            case Grouping.ByResult g -> g.result().toItemStack();
             default -> null;
         };
     }
@@ -965,48 +1038,13 @@ public class RecipeGui extends FastInv {
     /**
      * Format tag lore for a CyclicIngredient.
      * Returns tags that exactly match the items in the cyclic.
+     * Resolved once per ingredient of the current panel, ticking only reuses it.
      * 
      * @param cyclic the cyclic ingredient
      * @return list of formatted tag components, or empty if no exact matches
      */
     private List<Component> formatTagLore(CyclicIngredient cyclic) {
-        // Dependent ingredients cannot enumerate their options
-        // Also ignore unique ingredients
-        if (cyclic.isDependent() || !cyclic.hasMultipleOptions()) {
-            return List.of();
-        }
-        
-        // Get all item types from the cyclic's options
-        ItemStack[] options = cyclic.getOptions();
-        Set<ItemType> itemTypes = new HashSet<>();
-        for (ItemStack option : options) {
-            if (!option.isEmpty()) {
-                itemTypes.add(option.getType().asItemType());
-            }
-        }
-        
-        // Find tags that exactly match this set
-        Set<TagKey<ItemType>> matchingTags = services.tagIndex().getTagsExactlyMatching(itemTypes);
-        
-        if (matchingTags.isEmpty()) {
-            return List.of();
-        }
-        
-        // Build lore components
-        List<Component> tagLore = new ArrayList<>();
-        String title;
-        if (matchingTags.size() >= 2) {
-            title = "Accepts Tags:";
-        } else {
-            title = "Accepts Tag:";
-        }
-        tagLore.add(Component.text(title, NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
-        for (TagKey<ItemType> tagKey : matchingTags) {
-            Component tagComponent = Component.text("#" + tagKey.key().asString(), NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false);
-            tagLore.add(tagComponent);
-        }
-        
-        return tagLore;
+        return tagLoreByIngredient.computeIfAbsent(cyclic, services.tagLoreCache()::getTagLore);
     }
 
     /**
@@ -310,6 +310,32 @@ public class RecipeGuiComponent {
         return item;
     }
 
+    public ItemStack createCraftingTreeButton() {
+        ItemStack item = new ItemStack(Material.CRAFTING_TABLE);
+        item.editMeta(meta -> {
+            meta.displayName(Component.text("Crafting Tree", colorPrimary).decoration(TextDecoration.ITALIC, false));
+            meta.lore(List.of(
+                Component.text("Click to see the raw materials", colorPrimaryVariant).decoration(TextDecoration.ITALIC, false),
+                Component.text("needed to craft this result", colorPrimaryVariant).decoration(TextDecoration.ITALIC, false)
+            ));
+        });
+
+        return item;
+    }
+
+    public ItemStack createCraftableButton() {
+        ItemStack item = new ItemStack(Material.CHEST);
+        item.editMeta(meta -> {
+            meta.displayName(Component.text("Craftable Now", colorPrimary).decoration(TextDecoration.ITALIC, false));
+            meta.lore(List.of(
+                Component.text("Click to see the recipes you can", colorPrimaryVariant).decoration(TextDecoration.ITALIC, false),
+                Component.text("craft with your inventory", colorPrimaryVariant).decoration(TextDecoration.ITALIC, false)
+            ));
+        });
+
+        return item;
+    }
+
     public ItemStack createQuickCraftButton() {
         ItemStack item = new ItemStack(Material.WHITE_DYE);
         item.editMeta(meta -> {
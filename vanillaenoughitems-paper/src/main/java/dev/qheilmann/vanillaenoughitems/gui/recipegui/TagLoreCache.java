@@ -0,0 +1,141 @@
+package dev.qheilmann.vanillaenoughitems.gui.recipegui;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.ItemType;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.gui.CyclicIngredient;
+import dev.qheilmann.vanillaenoughitems.recipe.index.TagIndex;
+import io.papermc.paper.registry.tag.TagKey;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+/**
+ * Shared cache of the tag lore shown under cycling ingredients, for all GUIs and players.
+ * <p>
+ * Entries are keyed by the option set of an ingredient (its item types), which never changes after construction.
+ * The cache is bounded (least recently used entries are evicted) and is dropped when the tag index is rebuilt.
+ */
+@NullMarked
+public final class TagLoreCache {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private final TagIndex tagIndex;
+    private long tagIndexGeneration;
+    private final LinkedHashMap<OptionTypes, List<Component>> loreByOptions = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<OptionTypes, List<Component>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Create a tag lore cache over a tag index
+     * @param tagIndex the tag index resolving the tags
+     */
+    public TagLoreCache(TagIndex tagIndex) {
+        this.tagIndex = tagIndex;
+        this.tagIndexGeneration = tagIndex.generation();
+    }
+
+    /**
+     * Get the tag lore of a CyclicIngredient.
+     * Lists the tags that exactly match the items of the cyclic.
+     *
+     * @param cyclic the cyclic ingredient
+     * @return unmodifiable list of formatted tag components, or empty if no exact matches
+     */
+    public List<Component> getTagLore(CyclicIngredient cyclic) {
+        // Dependent ingredients cannot enumerate their options
+        // Also ignore unique ingredients
+        if (cyclic.isDependent() || !cyclic.hasMultipleOptions()) {
+            return List.of();
+        }
+
+        // Get all item types from the cyclic's options
+        Set<ItemType> itemTypes = new HashSet<>();
+        for (ItemStack option : cyclic.getOptions()) {
+            if (!option.isEmpty()) {
+                itemTypes.add(option.getType().asItemType());
+            }
+        }
+        OptionTypes optionTypes = new OptionTypes(itemTypes);
+
+        synchronized (loreByOptions) {
+            long generation = tagIndex.generation();
+            if (generation != tagIndexGeneration) {
+                loreByOptions.clear();
+                tagIndexGeneration = generation;
+            }
+            return loreByOptions.computeIfAbsent(optionTypes, k -> formatTagLore(k.types()));
+        }
+    }
+
+    /**
+     * Resolve and format the tags exactly matching a set of item types
+     */
+    private List<Component> formatTagLore(Set<ItemType> itemTypes) {
+        // Find tags that exactly match this set
+        Set<TagKey<ItemType>> matchingTags = tagIndex.getTagsExactlyMatching(itemTypes);
+
+        if (matchingTags.isEmpty()) {
+            return List.of();
+        }
+
+        // Build lore components
+        List<Component> tagLore = new ArrayList<>();
+        String title;
+        if (matchingTags.size() >= 2) {
+            title = "Accepts Tags:";
+        } else {
+            title = "Accepts Tag:";
+        }
+        tagLore.add(Component.text(title, NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false));
+        List<TagKey<ItemType>> sortedTags = matchingTags.stream().sorted(Comparator.comparing(tagKey -> tagKey.key().asString())).toList();
+        for (TagKey<ItemType> tagKey : sortedTags) {
+            Component tagComponent = Component.text("#" + tagKey.key().asString(), NamedTextColor.GRAY).decoration(TextDecoration.ITALIC, false);
+            tagLore.add(tagComponent);
+        }
+
+        return List.copyOf(tagLore);
+    }
+
+    /**
+     * Option set fingerprint, item types with their hash computed once
+     */
+    private static final class OptionTypes {
+        private final Set<ItemType> types;
+        private final int hash;
+
+        OptionTypes(Set<ItemType> types) {
+            this.types = types;
+            this.hash = types.hashCode();
+        }
+
+        Set<ItemType> types() {
+            return types;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof OptionTypes other)) return false;
+            return hash == other.hash && types.equals(other.types);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package dev.qheilmann.vanillaenoughitems.gui.searchgui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.RecipeServices;
+import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
+import dev.qheilmann.vanillaenoughitems.config.Style;
+import dev.qheilmann.vanillaenoughitems.gui.bookmarkgui.BookmarkGuiComponent;
+import dev.qheilmann.vanillaenoughitems.gui.helper.GuiComponentHelper;
+import dev.qheilmann.vanillaenoughitems.gui.player.PlayerGuiData;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.RecipeGui;
+import dev.qheilmann.vanillaenoughitems.pack.VeiPack;
+import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
+import dev.qheilmann.vanillaenoughitems.recipe.search.SearchResult;
+import dev.qheilmann.vanillaenoughitems.utils.fastinv.FastInv;
+import dev.qheilmann.vanillaenoughitems.utils.fastinv.Slots;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+/**
+ * GUI listing search results, best match first.
+ * Clicking a result opens its recipes in the recipe GUI.
+ */
+@NullMarked
+public class SearchResultGui extends FastInv {
+
+    private static final int SIZE = Slots.Generic9x6.SIZE;
+    private static final int MAX_RESULTS = Slots.Generic9x6.WIDTH * 5;
+
+    // Navigation slots (bottom row)
+    private static final int PREVIOUS_PAGE_SLOT = Slots.Generic9x6.slot(2, 5);
+    private static final int NEXT_PAGE_SLOT = Slots.Generic9x6.slot(6, 5);
+
+    // Sounds
+    private static final Sound UI_CLICK_SOUND = Sound.sound(org.bukkit.Sound.UI_BUTTON_CLICK, Sound.Source.UI, 0.25f, 1.0f);
+
+    private final RecipeServices services;
+    private final PlayerGuiData playerData;
+    private final BookmarkGuiComponent guiComponent;
+    private final ItemStack fillerItem;
+    private final List<SearchResult> results;
+    private int pageOffset = 0;
+
+    /**
+     * Create a search result GUI
+     * @param titleComponent the title component
+     * @param services the recipe services
+     * @param playerData the current player's GUI data
+     * @param results the results to display, in display order
+     */
+    public SearchResultGui(Component titleComponent, RecipeServices services, PlayerGuiData playerData, List<SearchResult> results) {
+        super(SIZE, title(titleComponent, VanillaEnoughItems.veiConfig().style()));
+        Style style = VanillaEnoughItems.veiConfig().style();
+        this.services = services;
+        this.playerData = playerData;
+        this.guiComponent = new BookmarkGuiComponent(style);
+        this.fillerItem = GuiComponentHelper.createFillerItem(style.hasResourcePack());
+        this.results = new ArrayList<>(results);
+
+        // Fill with filler items
+        setItems(Slots.Generic9x6.all(), fillerItem);
+
+        render();
+    }
+
+    private void render() {
+        int startIndex = pageOffset * MAX_RESULTS;
+        int endIndex = Math.min(startIndex + MAX_RESULTS, results.size());
+
+        int slot = 0;
+        for (int i = startIndex; i < endIndex; i++) {
+            SearchResult result = results.get(i);
+            setItem(slot, createResultItem(result), event -> clickAction(event, result));
+            slot++;
+        }
+
+        // Clear remaining slots on current page
+        while (slot < MAX_RESULTS) {
+            setItem(slot, fillerItem);
+            slot++;
+        }
+
+        renderNavigationButtons();
+    }
+
+    private static ItemStack createResultItem(SearchResult result) {
+        ItemStack item = result.createIcon();
+        String kind = switch (result.kind()) {
+            case ITEM -> "Item";
+            case RECIPE -> "Recipe";
+        };
+        Component labelLine = Component.text(kind + ": " + result.label(), NamedTextColor.DARK_GRAY).decoration(TextDecoration.ITALIC, false);
+        Component keyLine = Component.text(result.key().asString(), NamedTextColor.DARK_GRAY).decoration(TextDecoration.ITALIC, false);
+        boolean labelledByKey = result.label().equals(result.key().asString());
+        item.editMeta(meta -> {
+            List<Component> lore = meta.hasLore() ? new ArrayList<>(meta.lore()) : new ArrayList<>();
+            lore.add(labelLine);
+            if (!labelledByKey) {
+                lore.add(keyLine); // Tells apart custom items sharing a name
+            }
+            meta.lore(lore);
+        });
+        return item;
+    }
+
+    private void clickAction(InventoryClickEvent event, SearchResult result) {
+        Player player = (Player) event.getWhoClicked();
+        MultiProcessRecipeReader reader = result.createReader(services.recipeIndex());
+        if (reader == null) {
+            // Removed from the index since the search
+            player.sendMessage(Component.text("This result is no longer available.", NamedTextColor.RED));
+            return;
+        }
+        new RecipeGui(services, playerData, reader).open(player);
+    }
+
+    private void renderNavigationButtons() {
+        if (hasPreviousPage()) {
+            setItem(PREVIOUS_PAGE_SLOT, guiComponent.createPreviousPageButton(), event -> previousPageAction(event));
+        } else {
+            setItem(PREVIOUS_PAGE_SLOT, fillerItem);
+        }
+
+        if (hasNextPage()) {
+            setItem(NEXT_PAGE_SLOT, guiComponent.createNextPageButton(), event -> nextPageAction(event));
+        } else {
+            setItem(NEXT_PAGE_SLOT, fillerItem);
+        }
+    }
+
+    private boolean hasPreviousPage() {
+        return pageOffset > 0;
+    }
+
+    private boolean hasNextPage() {
+        return (pageOffset + 1) * MAX_RESULTS < results.size();
+    }
+
+    private void previousPageAction(InventoryClickEvent event) {
+        event.getWhoClicked().playSound(UI_CLICK_SOUND);
+        pageOffset = Math.max(0, pageOffset - 1);
+        render();
+    }
+
+    private void nextPageAction(InventoryClickEvent event) {
+        event.getWhoClicked().playSound(UI_CLICK_SOUND);
+        int maxPage = (results.size() - 1) / MAX_RESULTS;
+        pageOffset = Math.min(maxPage, pageOffset + 1);
+        render();
+    }
+
+    private static Component title(Component titleComponent, Style style) {
+        if (style.hasResourcePack()) {
+            return VeiPack.Font.Gui.BLANK_54.iconComponent().append(titleComponent);
+        } else {
+            return titleComponent;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package dev.qheilmann.vanillaenoughitems.gui.treegui;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.RecipeServices;
+import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
+import dev.qheilmann.vanillaenoughitems.config.Style;
+import dev.qheilmann.vanillaenoughitems.gui.bookmarkgui.BookmarkGuiComponent;
+import dev.qheilmann.vanillaenoughitems.gui.helper.GuiComponentHelper;
+import dev.qheilmann.vanillaenoughitems.gui.player.PlayerGuiData;
+import dev.qheilmann.vanillaenoughitems.gui.recipegui.RecipeGui;
+import dev.qheilmann.vanillaenoughitems.pack.VeiPack;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import dev.qheilmann.vanillaenoughitems.recipe.search.SearchResult;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingNode;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftingTree;
+import dev.qheilmann.vanillaenoughitems.utils.fastinv.FastInv;
+import dev.qheilmann.vanillaenoughitems.utils.fastinv.Slots;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+/**
+ * GUI showing the crafting tree of an item: the total raw materials, or the crafting steps in crafting order.
+ * Clicking an entry opens its recipes in the recipe GUI.
+ */
+@NullMarked
+public class CraftingTreeGui extends FastInv {
+
+    private static final int SIZE = Slots.Generic9x6.SIZE;
+    private static final int ROOT_SLOT = Slots.Generic9x6.slot(4, 0);
+    private static final int FIRST_ENTRY_SLOT = Slots.Generic9x6.slot(0, 1);
+    private static final int MAX_ENTRIES = Slots.Generic9x6.WIDTH * 4;
+
+    // Navigation slots (bottom row)
+    private static final int PREVIOUS_PAGE_SLOT = Slots.Generic9x6.slot(2, 5);
+    private static final int RETURN_BUTTON_SLOT = Slots.Generic9x6.slot(4, 5);
+    private static final int NEXT_PAGE_SLOT = Slots.Generic9x6.slot(6, 5);
+    private static final int VIEW_TOGGLE_SLOT = Slots.Generic9x6.slot(8, 5);
+
+    // Sounds
+    private static final Sound UI_CLICK_SOUND = Sound.sound(org.bukkit.Sound.UI_BUTTON_CLICK, Sound.Source.UI, 0.25f, 1.0f);
+
+    private final RecipeServices services;
+    private final PlayerGuiData playerData;
+    private final BookmarkGuiComponent guiComponent;
+    private final ItemStack fillerItem;
+    private final TextColor colorPrimary;
+    private final TextColor colorPrimaryVariant;
+    private final CraftingTree tree;
+    private final List<Entry> rawEntries;
+    private final List<Entry> stepEntries;
+    private final @Nullable MultiProcessRecipeReader returnToReader;
+    private boolean showSteps = false;
+    private int pageOffset = 0;
+
+    /**
+     * Create a crafting tree GUI
+     * @param services the recipe services
+     * @param playerData the current player's GUI data
+     * @param tree the crafting tree to display
+     * @param returnToReader optional reader to return to when using the return button (can be null)
+     */
+    public CraftingTreeGui(RecipeServices services, PlayerGuiData playerData, CraftingTree tree, @Nullable MultiProcessRecipeReader returnToReader) {
+        super(SIZE, title(VanillaEnoughItems.veiConfig().style()));
+        Style style = VanillaEnoughItems.veiConfig().style();
+        this.services = services;
+        this.playerData = playerData;
+        this.guiComponent = new BookmarkGuiComponent(style);
+        this.fillerItem = GuiComponentHelper.createFillerItem(style.hasResourcePack());
+        this.colorPrimary = style.colorPrimary();
+        this.colorPrimaryVariant = style.colorPrimaryVariant();
+        this.tree = tree;
+        this.returnToReader = returnToReader;
+
+        this.rawEntries = new ArrayList<>();
+        tree.rawMaterials().forEach((item, amount) -> rawEntries.add(new Entry(item, amount, 0, null)));
+        this.stepEntries = collectSteps(tree.root());
+
+        // Fill with filler items
+        setItems(Slots.Generic9x6.all(), fillerItem);
+
+        render();
+    }
+
+    private void render() {
+        List<Entry> entries = currentEntries();
+
+        setItem(ROOT_SLOT, createRootItem(), event -> openItem(event, tree.root().item()));
+
+        int startIndex = pageOffset * MAX_ENTRIES;
+        int endIndex = Math.min(startIndex + MAX_ENTRIES, entries.size());
+        int slot = FIRST_ENTRY_SLOT;
+        for (int i = startIndex; i < endIndex; i++) {
+            Entry entry = entries.get(i);
+            setItem(slot, createEntryItem(entry), event -> openItem(event, entry.item()));
+            slot++;
+        }
+
+        // Clear remaining slots on current page
+        while (slot < FIRST_ENTRY_SLOT + MAX_ENTRIES) {
+            setItem(slot, fillerItem);
+            slot++;
+        }
+
+        renderNavigationButtons();
+    }
+
+    private List<Entry> currentEntries() {
+        return showSteps ? stepEntries : rawEntries;
+    }
+
+    /**
+     * Sum the crafted nodes by item and process, ingredients before the items they are used in
+     */
+    private static List<Entry> collectSteps(CraftingNode root) {
+        Map<StepKey, Entry> steps = new LinkedHashMap<>();
+        collectSteps(root, steps);
+        return new ArrayList<>(steps.values());
+    }
+
+    private static void collectSteps(CraftingNode node, Map<StepKey, Entry> steps) {
+        if (node.isRaw()) {
+            return;
+        }
+        for (CraftingNode input : node.inputs()) {
+            collectSteps(input, steps);
+        }
+        steps.merge(new StepKey(node.item(), node.process()),
+            new Entry(node.item(), node.amount(), node.crafts(), node.process()),
+            (a, b) -> new Entry(a.item(), a.amount() + b.amount(), a.crafts() + b.crafts(), a.process()));
+    }
+
+    //#region Items
+
+    private ItemStack createRootItem() {
+        CraftingNode root = tree.root();
+        ItemStack item = root.item().toItemStack();
+        item.setAmount(Math.clamp(root.amount(), 1, item.getMaxStackSize()));
+        List<Component> lore = new ArrayList<>();
+        lore.add(loreLine("Crafting " + root.amount(), colorPrimary));
+        lore.add(loreLine(tree.rawMaterials().size() + " raw materials, " + stepEntries.size() + " crafting steps", colorPrimaryVariant));
+        if (root.isRaw()) {
+            lore.add(loreLine("No usable recipe, this is a raw material", colorPrimaryVariant));
+        }
+        appendLore(item, lore);
+        return item;
+    }
+
+    private ItemStack createEntryItem(Entry entry) {
+        ItemStack item = entry.item().toItemStack();
+        item.setAmount(Math.clamp(entry.amount(), 1, item.getMaxStackSize()));
+        List<Component> lore = new ArrayList<>();
+        Process process = entry.process();
+        if (process == null) {
+            lore.add(loreLine("Needed: " + entry.amount(), colorPrimary));
+        } else {
+            lore.add(loreLine("Crafted: " + entry.amount() + " (" + entry.crafts() + " crafts)", colorPrimary));
+            lore.add(loreLine("Process: " + process.key().asString(), colorPrimaryVariant));
+        }
+        appendLore(item, lore);
+        return item;
+    }
+
+    private ItemStack createViewToggleButton() {
+        ItemStack item = new ItemStack(showSteps ? Material.CHEST : Material.CRAFTING_TABLE);
+        item.editMeta(meta -> {
+            meta.displayName(Component.text(showSteps ? "Show Raw Materials" : "Show Crafting Steps", colorPrimary).decoration(TextDecoration.ITALIC, false));
+        });
+        return item;
+    }
+
+    private static void appendLore(ItemStack item, List<Component> lines) {
+        item.editMeta(meta -> {
+            List<Component> lore = meta.hasLore() ? new ArrayList<>(meta.lore()) : new ArrayList<>();
+            lore.addAll(lines);
+            meta.lore(lore);
+        });
+    }
+
+    private static Component loreLine(String text, TextColor color) {
+        return Component.text(text, color).decoration(TextDecoration.ITALIC, false);
+    }
+
+    //#endregion Items
+
+    //#region Actions
+
+    private void openItem(InventoryClickEvent event, ItemKey item) {
+        Player player = (Player) event.getWhoClicked();
+        MultiProcessRecipeReader reader = SearchResult.ofItem(item).createReader(services.recipeIndex());
+        if (reader == null) {
+            return; // Not indexed anymore
+        }
+        player.playSound(UI_CLICK_SOUND);
+        new RecipeGui(services, playerData, reader).open(player);
+    }
+
+    private void renderNavigationButtons() {
+        if (hasPreviousPage()) {
+            setItem(PREVIOUS_PAGE_SLOT, guiComponent.createPreviousPageButton(), event -> previousPageAction(event));
+        } else {
+            setItem(PREVIOUS_PAGE_SLOT, fillerItem);
+        }
+
+        if (returnToReader != null) {
+            setItem(RETURN_BUTTON_SLOT, guiComponent.createReturnButton(), event -> returnAction(event));
+        } else {
+            setItem(RETURN_BUTTON_SLOT, fillerItem);
+        }
+
+        if (hasNextPage()) {
+            setItem(NEXT_PAGE_SLOT, guiComponent.createNextPageButton(), event -> nextPageAction(event));
+        } else {
+            setItem(NEXT_PAGE_SLOT, fillerItem);
+        }
+
+        setItem(VIEW_TOGGLE_SLOT, createViewToggleButton(), event -> viewToggleAction(event));
+    }
+
+    private boolean hasPreviousPage() {
+        return pageOffset > 0;
+    }
+
+    private boolean hasNextPage() {
+        return (pageOffset + 1) * MAX_ENTRIES < currentEntries().size();
+    }
+
+    private void previousPageAction(InventoryClickEvent event) {
+        event.getWhoClicked().playSound(UI_CLICK_SOUND);
+        pageOffset = Math.max(0, pageOffset - 1);
+        render();
+    }
+
+    private void nextPageAction(InventoryClickEvent event) {
+        event.getWhoClicked().playSound(UI_CLICK_SOUND);
+        int maxPage = (currentEntries().size() - 1) / MAX_ENTRIES;
+        pageOffset = Math.min(maxPage, pageOffset + 1);
+        render();
+    }
+
+    private void viewToggleAction(InventoryClickEvent event) {
+        event.getWhoClicked().playSound(UI_CLICK_SOUND);
+        showSteps = !showSteps;
+        pageOffset = 0;
+        render();
+    }
+
+    private void returnAction(InventoryClickEvent event) {
+        Player player = (Player) event.getWhoClicked();
+        player.playSound(UI_CLICK_SOUND);
+        if (returnToReader != null) {
+            new RecipeGui(services, playerData, returnToReader).open(player);
+        }
+    }
+
+    //#endregion Actions
+
+    private static Component title(Style style) {
+        Component titleComponent = Component.text("Crafting Tree");
+        if (style.hasResourcePack()) {
+            return VeiPack.Font.Gui.BLANK_54.iconComponent().append(titleComponent);
+        } else {
+            return titleComponent;
+        }
+    }
+
+    /**
+     * A line of the GUI, a raw material when the process is null
+     */
+    private record Entry(ItemKey item, long amount, long crafts, @Nullable Process process) {}
+
+    private record StepKey(ItemKey item, @Nullable Process process) {}
+}
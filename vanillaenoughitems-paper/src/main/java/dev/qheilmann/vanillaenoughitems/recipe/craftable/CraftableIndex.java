@@ -0,0 +1,475 @@
+package dev.qheilmann.vanillaenoughitems.recipe.craftable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
+import dev.qheilmann.vanillaenoughitems.recipe.index.Grouping;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+import dev.qheilmann.vanillaenoughitems.recipe.index.MultiProcessRecipeMap;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+
+/**
+ * Finds the indexed recipes that can be crafted right away with the items of an inventory.
+ * <p>
+ * Every recipe is reduced once per {@link RecipeIndex#generation() index generation} to its consumed slots,
+ * each slot being the dense ordinals of the items it accepts. A recipe is craftable when every slot can get
+ * its own held item, matched as a multiset against the inventory counts.
+ * Only the recipes indexed under a held item are tested: each recipe is indexed under the options of its narrowest slot.
+ * <p>
+ * Options without components come from material choices and accept any held item of their material, damaged,
+ * enchanted or renamed included. Options with components accept the held items {@link ItemStack#isSimilar similar} to them.
+ * A held item counts for the option it is similar to, or else for its material, and a material slot also accepts
+ * the options with components of its material.
+ * <p>
+ * The last result of each tracked player is kept while their recipe GUI is open or until they quit, asking again only tests
+ * the recipes using an item whose count changed since.
+ * Recipes whose extractor gives no ingredient choices are never craftable.
+ */
+@NullMarked
+public final class CraftableIndex implements Listener {
+
+    private static final int NONE = -1;
+
+    private final RecipeIndex recipeIndex;
+    private final RecipeExtractorRegistry recipeExtractor;
+
+    // Guarded by this
+    private @Nullable Requirements requirements;
+    private final Map<UUID, PlayerState> players = new HashMap<>();
+
+    /**
+     * Create a craftable index over a recipe index
+     * @param recipeIndex the recipe index
+     * @param recipeExtractor the extractor registry, reading the ingredient choices of the recipes
+     */
+    public CraftableIndex(RecipeIndex recipeIndex, RecipeExtractorRegistry recipeExtractor) {
+        this.recipeIndex = recipeIndex;
+        this.recipeExtractor = recipeExtractor;
+    }
+
+    /**
+     * Find the recipes craftable with some items, without tracking anything
+     * @param items the held items, null and empty items are ignored
+     * @return the craftable recipes, in index order
+     */
+    public synchronized List<Recipe> craftableRecipes(@Nullable ItemStack[] items) {
+        Requirements current = requirements();
+        BitSet craftable = current.craftable(current.count(items));
+        List<Recipe> recipes = new ArrayList<>(craftable.cardinality());
+        craftable.stream().forEach(r -> recipes.add(current.recipes[r]));
+        return recipes;
+    }
+
+    /**
+     * Find the recipes a player can craft with the storage of their inventory.
+     * The player is tracked from now on, until {@link #forget(UUID) forgotten}.
+     * @param player the player
+     * @return the craftable recipes, in index order
+     */
+    public synchronized List<Recipe> craftableRecipes(Player player) {
+        PlayerState state = refreshState(player);
+        List<Recipe> recipes = new ArrayList<>(state.craftable.cardinality());
+        state.craftable.stream().forEach(r -> recipes.add(state.requirements.recipes[r]));
+        return recipes;
+    }
+
+    /**
+     * Create a reader over the recipes a player can craft, grouped by process.
+     * The player is tracked from now on, until {@link #forget(UUID) forgotten}.
+     * @param player the player
+     * @return a new reader, or null if nothing is craftable
+     */
+    @Nullable
+    public synchronized MultiProcessRecipeReader readerByCraftable(Player player) {
+        PlayerState state = refreshState(player);
+        if (state.craftable.isEmpty()) {
+            return null;
+        }
+
+        MultiProcessRecipeMap recipeMap = new MultiProcessRecipeMap(new Grouping.Craftable(player.getUniqueId()));
+        state.craftable.stream().forEach(r -> recipeMap.addRecipe(state.requirements.processes[r], state.requirements.recipes[r]));
+        return new MultiProcessRecipeReader(recipeMap);
+    }
+
+    /**
+     * Stop tracking a player
+     * @param playerUuid the player UUID
+     */
+    public synchronized void forget(UUID playerUuid) {
+        players.remove(playerUuid);
+    }
+
+    /**
+     * Stop tracking a player once they quit
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        forget(event.getPlayer().getUniqueId());
+    }
+
+    private PlayerState refreshState(Player player) {
+        Requirements current = requirements();
+        int[] counts = current.count(player.getInventory().getStorageContents());
+
+        PlayerState previous = players.get(player.getUniqueId());
+        if (previous == null || previous.requirements != current) {
+            PlayerState state = new PlayerState(current, counts, current.craftable(counts));
+            players.put(player.getUniqueId(), state);
+            return state;
+        }
+        PlayerState state = previous;
+
+        // Test again the recipes using a changed item only
+        BitSet affected = new BitSet(current.recipes.length);
+        for (int item = 0; item < counts.length; item++) {
+            if (counts[item] != state.counts[item]) {
+                for (int r : current.recipesByItem[item]) {
+                    affected.set(r);
+                }
+            }
+        }
+        Matcher matcher = new Matcher();
+        affected.stream().forEach(r -> state.craftable.set(r, matcher.canCraft(current.slots[r], counts)));
+        state.counts = counts;
+        return state;
+    }
+
+    private Requirements requirements() {
+        // Read before building, a change made during the build triggers another rebuild on the next query
+        long generation = recipeIndex.generation();
+        Requirements current = requirements;
+        if (current == null || current.generation != generation) {
+            current = build(generation);
+            requirements = current;
+        }
+        return current;
+    }
+
+    //#region Build
+
+    private Requirements build(long generation) {
+        // Options without components stand for their material (material choices), the others for a similar item (exact choices)
+        Map<Material, Integer> materialOrdinals = new HashMap<>();
+        Map<ItemKey, Integer> exactOrdinals = new HashMap<>();
+        Map<Material, List<ExactOption>> exactByMaterial = new HashMap<>();
+        List<Recipe> recipes = new ArrayList<>();
+        List<Process> processes = new ArrayList<>();
+        List<int[][]> slots = new ArrayList<>();
+
+        for (Map.Entry<Recipe, Process> entry : recipeIndex.getAllProcessByRecipeMap().entrySet()) {
+            List<int[]> recipeSlots = new ArrayList<>();
+            for (Set<ItemStack> choice : recipeExtractor.extractIngredientChoices(entry.getKey())) {
+                Set<Integer> options = new LinkedHashSet<>();
+                for (ItemStack option : choice) {
+                    if (!option.hasItemMeta()) {
+                        options.add(materialOrdinals.computeIfAbsent(option.getType(), m -> materialOrdinals.size() + exactOrdinals.size()));
+                        continue;
+                    }
+                    ItemKey key = ItemKey.of(option);
+                    Integer ordinal = exactOrdinals.get(key);
+                    if (ordinal == null) {
+                        ordinal = materialOrdinals.size() + exactOrdinals.size();
+                        exactOrdinals.put(key, ordinal);
+                        exactByMaterial.computeIfAbsent(option.getType(), m -> new ArrayList<>(1)).add(new ExactOption(key, ordinal));
+                    }
+                    options.add(ordinal);
+                }
+                if (!options.isEmpty()) {
+                    recipeSlots.add(options.stream().mapToInt(Integer::intValue).toArray());
+                }
+            }
+            if (recipeSlots.isEmpty()) {
+                continue; // Nothing to match against
+            }
+
+            recipes.add(entry.getKey());
+            processes.add(entry.getValue());
+            slots.add(recipeSlots.toArray(int[][]::new));
+        }
+
+        // A held item similar to an exact option only counts for it, material slots accept these options too
+        int itemCount = materialOrdinals.size() + exactOrdinals.size();
+        @Nullable Material[] materialByOrdinal = new Material[itemCount];
+        materialOrdinals.forEach((material, ordinal) -> materialByOrdinal[ordinal] = material);
+        for (int[][] recipeSlots : slots) {
+            for (int s = 0; s < recipeSlots.length; s++) {
+                recipeSlots[s] = withExactOptions(recipeSlots[s], materialByOrdinal, exactByMaterial);
+            }
+        }
+
+        // Inverted indexes: by narrowest slot options to find candidates, by any option to find affected recipes
+        List<List<Integer>> candidates = new ArrayList<>(itemCount);
+        List<List<Integer>> users = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            candidates.add(new ArrayList<>(2));
+            users.add(new ArrayList<>(2));
+        }
+        for (int r = 0; r < slots.size(); r++) {
+            int[][] recipeSlots = slots.get(r);
+            int[] narrowest = recipeSlots[0];
+            BitSet used = new BitSet(itemCount);
+            for (int[] slot : recipeSlots) {
+                if (slot.length < narrowest.length) {
+                    narrowest = slot;
+                }
+                for (int item : slot) {
+                    if (!used.get(item)) {
+                        used.set(item);
+                        users.get(item).add(r);
+                    }
+                }
+            }
+            for (int item : narrowest) {
+                candidates.get(item).add(r);
+            }
+        }
+
+        Map<Material, ExactOption[]> exactOptions = new HashMap<>();
+        exactByMaterial.forEach((material, options) -> exactOptions.put(material, options.toArray(ExactOption[]::new)));
+
+        return new Requirements(
+            generation,
+            itemCount,
+            Map.copyOf(materialOrdinals),
+            Map.copyOf(exactOptions),
+            recipes.toArray(Recipe[]::new),
+            processes.toArray(Process[]::new),
+            slots.toArray(int[][][]::new),
+            toArrays(candidates),
+            toArrays(users)
+        );
+    }
+
+    private static int[] withExactOptions(int[] slot, @Nullable Material[] materialByOrdinal, Map<Material, List<ExactOption>> exactByMaterial) {
+        @Nullable Set<Integer> options = null;
+        for (int item : slot) {
+            Material material = materialByOrdinal[item];
+            List<ExactOption> exactOptions = material != null ? exactByMaterial.get(material) : null;
+            if (exactOptions == null) {
+                continue;
+            }
+            if (options == null) {
+                options = new LinkedHashSet<>();
+                Arrays.stream(slot).forEach(options::add);
+            }
+            for (ExactOption exactOption : exactOptions) {
+                options.add(exactOption.ordinal());
+            }
+        }
+        return options != null ? options.stream().mapToInt(Integer::intValue).toArray() : slot;
+    }
+
+    private static int[][] toArrays(List<List<Integer>> lists) {
+        int[][] arrays = new int[lists.size()][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = lists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return arrays;
+    }
+
+    //#endregion Build
+
+    /**
+     * Requirement vectors of one index generation
+     */
+    private static final class Requirements {
+        private final long generation;
+        private final int itemCount;
+        private final Map<Material, Integer> materialOrdinals;
+        private final Map<Material, ExactOption[]> exactByMaterial;
+        private final Recipe[] recipes;
+        private final Process[] processes;
+        /** Consumed slots of each recipe, each slot being the ordinals of the items it accepts */
+        private final int[][][] slots;
+        /** Recipes by an item of their narrowest slot */
+        private final int[][] candidatesByItem;
+        /** Recipes by any item of their slots */
+        private final int[][] recipesByItem;
+
+        private Requirements(long generation, int itemCount, Map<Material, Integer> materialOrdinals, Map<Material, ExactOption[]> exactByMaterial, Recipe[] recipes, Process[] processes, int[][][] slots, int[][] candidatesByItem, int[][] recipesByItem) {
+            this.generation = generation;
+            this.itemCount = itemCount;
+            this.materialOrdinals = materialOrdinals;
+            this.exactByMaterial = exactByMaterial;
+            this.recipes = recipes;
+            this.processes = processes;
+            this.slots = slots;
+            this.candidatesByItem = candidatesByItem;
+            this.recipesByItem = recipesByItem;
+        }
+
+        /**
+         * Count the held items by ordinal, items used by no recipe are ignored
+         */
+        private int[] count(@Nullable ItemStack[] items) {
+            int[] counts = new int[itemCount];
+            for (ItemStack item : items) {
+                if (item == null || item.isEmpty()) {
+                    continue;
+                }
+                int ordinal = ordinalOf(item);
+                if (ordinal != NONE) {
+                    counts[ordinal] += item.getAmount();
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * Get the ordinal a held item counts for: the exact option it is similar to, or else its material
+         */
+        private int ordinalOf(ItemStack item) {
+            if (item.hasItemMeta()) {
+                ExactOption[] exactOptions = exactByMaterial.get(item.getType());
+                if (exactOptions != null) {
+                    for (ExactOption exactOption : exactOptions) {
+                        if (exactOption.key().matches(item)) {
+                            return exactOption.ordinal();
+                        }
+                    }
+                }
+            }
+            Integer ordinal = materialOrdinals.get(item.getType());
+            return ordinal != null ? ordinal : NONE;
+        }
+
+        /**
+         * Test the candidate recipes of the held items
+         */
+        private BitSet craftable(int[] counts) {
+            BitSet tested = new BitSet(recipes.length);
+            BitSet craftable = new BitSet(recipes.length);
+            Matcher matcher = new Matcher();
+            for (int item = 0; item < counts.length; item++) {
+                if (counts[item] == 0) {
+                    continue;
+                }
+                for (int r : candidatesByItem[item]) {
+                    if (!tested.get(r)) {
+                        tested.set(r);
+                        if (matcher.canCraft(slots[r], counts)) {
+                            craftable.set(r);
+                        }
+                    }
+                }
+            }
+            return craftable;
+        }
+    }
+
+    /**
+     * Option with components, accepting the held items similar to it
+     */
+    private record ExactOption(ItemKey key, int ordinal) {}
+
+    /**
+     * Assigns a held item to every slot of a recipe, moving earlier assignments when an item runs out (augmenting paths).
+     * Reused between recipes of a single query.
+     */
+    static final class Matcher {
+        private int[] assigned = new int[9];
+        private int[] visited = new int[16];
+        private int visitedCount;
+
+        /**
+         * Check if every slot can get its own held item
+         * @param slots the ordinals of the items accepted by each slot
+         * @param counts the held count of each item ordinal
+         * @return true if the held items fill every slot
+         */
+        boolean canCraft(int[][] slots, int[] counts) {
+            if (assigned.length < slots.length) {
+                assigned = new int[slots.length];
+            }
+            Arrays.fill(assigned, 0, slots.length, -1);
+
+            for (int slot = 0; slot < slots.length; slot++) {
+                visitedCount = 0;
+                if (!assign(slot, slots, counts)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean assign(int slot, int[][] slots, int[] counts) {
+            for (int item : slots[slot]) {
+                if (counts[item] == 0 || isVisited(item)) {
+                    continue;
+                }
+                visit(item);
+
+                int holders = 0;
+                for (int other = 0; other < slots.length; other++) {
+                    if (assigned[other] == item) {
+                        holders++;
+                    }
+                }
+                if (holders < counts[item]) {
+                    assigned[slot] = item;
+                    return true;
+                }
+
+                // Item used up, try to move one of its holders to another item
+                for (int other = 0; other < slots.length; other++) {
+                    if (assigned[other] == item && assign(other, slots, counts)) {
+                        assigned[slot] = item;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean isVisited(int item) {
+            for (int i = 0; i < visitedCount; i++) {
+                if (visited[i] == item) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void visit(int item) {
+            if (visitedCount == visited.length) {
+                visited = Arrays.copyOf(visited, visited.length * 2);
+            }
+            visited[visitedCount++] = item;
+        }
+    }
+
+    /**
+     * Last result of a tracked player
+     */
+    private static final class PlayerState {
+        private final Requirements requirements;
+        private int[] counts;
+        private final BitSet craftable;
+
+        private PlayerState(Requirements requirements, int[] counts, BitSet craftable) {
+            this.requirements = requirements;
+            this.counts = counts;
+            this.craftable = craftable;
+        }
+    }
+}
@@ -1,49 +1,75 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
+
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
 import net.kyori.adventure.key.Key;
 
 /**
  * Registry implementation that delegates extraction to registered extractors
+ * <p>
+ * Once {@link #freeze() frozen} (locked), the registry is read-only: late registrations are logged and ignored.
+ * Lookups are not cached here, the recipe index caches them per recipe class.
  */
 @NullMarked
 public class RecipeExtractorRegistryImpl implements RecipeExtractorRegistry {
-    
+
     // Map of registered extractors by key, ordered by insertion order
     LinkedHashMap<Key, RecipeExtractor> extractors = new LinkedHashMap<>();
 
-    boolean locked = false;
-    
-    // Cache for last-used extractor (optimization for repeated calls on same recipe)
-    private @Nullable Recipe lastRecipe;
-    private @Nullable RecipeExtractor lastExtractor;
+    volatile boolean locked = false;
+
+    // Resolution order, compiled on every change so lookups never iterate the map
+    private volatile RecipeExtractor[] orderedExtractors = new RecipeExtractor[0];
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void registerExtractor(RecipeExtractor extractor) {
+    public synchronized void registerExtractor(RecipeExtractor extractor) {
         if (locked) {
-            throw new IllegalStateException("RecipeExtractor is locked, cannot register new extractors");
+            VanillaEnoughItems.LOGGER.warn("Recipe extractor {} registered after VeiRegistrationEvent, ignored", extractor.key().asString());
+            return;
         }
         this.extractors.put(extractor.key(), extractor);
+        this.orderedExtractors = extractors.values().toArray(RecipeExtractor[]::new);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public RecipeExtractor unregisterExtractor(Key key) {
+    @Nullable
+    public synchronized RecipeExtractor unregisterExtractor(Key key) {
         if (locked) {
-            throw new IllegalStateException("RecipeExtractor is locked, cannot unregister extractors");
+            VanillaEnoughItems.LOGGER.warn("Recipe extractor {} unregistered after VeiRegistrationEvent, ignored", key.asString());
+            return null;
         }
-        return this.extractors.remove(key);
+        RecipeExtractor removed = this.extractors.remove(key);
+        this.orderedExtractors = extractors.values().toArray(RecipeExtractor[]::new);
+        return removed;
+    }
+
+    /**
+     * Lock the registry, extractors registered or unregistered afterwards are ignored.
+     */
+    public synchronized void freeze() {
+        this.locked = true;
+    }
+
+    /**
+     * Check if the registry is locked
+     * @return true if the registry is locked
+     */
+    public boolean isFrozen() {
+        return locked;
     }
 
     /**
@@ -55,31 +81,32 @@ public class RecipeExtractorRegistryImpl implements RecipeExtractorRegistry {
         return extractors.get(key);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public RecipeExtractor getRecipeExtractor(Recipe recipe) {
+        for (RecipeExtractor extractor : orderedExtractors) {
+            if (extractor.canHandle(recipe)) {
+                return extractor;
+            }
+        }
+        return null;
+    }
+
     /**
      * Find the extractor that can handle the given recipe.
-     * Uses a simple cache for performance when processing the same recipe repeatedly.
      * @param recipe the recipe to find an extractor for
      * @return the extractor that can handle the recipe
      * @throws IllegalArgumentException if no extractor can handle the recipe
      */
     private RecipeExtractor findExtractor(Recipe recipe) {
-        // Fast path: check if last extractor still works (same recipe reference)
-        RecipeExtractor cached = lastExtractor;
-        if (cached != null && lastRecipe == recipe && cached.canHandle(recipe)) {
-            return cached;
+        RecipeExtractor extractor = getRecipeExtractor(recipe);
+        if (extractor == null) {
+            throw new IllegalArgumentException("No extractor found for recipe: " + recipe.getClass().getSimpleName());
         }
-        
-        // Slow path: search for extractor
-        for (RecipeExtractor extractor : extractors.values()) {
-            if (extractor.canHandle(recipe)) {
-                // Cache for next call
-                lastRecipe = recipe;
-                lastExtractor = extractor;
-                return extractor;
-            }
-        }
-        
-        throw new IllegalArgumentException("No extractor found for recipe: " + recipe.getClass().getSimpleName());
+        return extractor;
     }
 
     /**
@@ -87,20 +114,7 @@ public class RecipeExtractorRegistryImpl implements RecipeExtractorRegistry {
      */
     @Override
     public boolean canHandle(Recipe recipe) {
-        // Fast path check
-        RecipeExtractor cached = lastExtractor;
-        if (cached != null && lastRecipe == recipe && cached.canHandle(recipe)) {
-            return true;
-        }
-        
-        for (RecipeExtractor extractor : extractors.values()) {
-            if (extractor.canHandle(recipe)) {
-                lastRecipe = recipe;
-                lastExtractor = extractor;
-                return true;
-            }
-        }
-        return false;
+        return getRecipeExtractor(recipe) != null;
     }
 
     /**
@@ -119,6 +133,14 @@ public class RecipeExtractorRegistryImpl implements RecipeExtractorRegistry {
         return findExtractor(recipe).extractIngredients(recipe);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        return findExtractor(recipe).extractIngredientChoices(recipe);
+    }
+
     /**
      * {@inheritDoc}
      */
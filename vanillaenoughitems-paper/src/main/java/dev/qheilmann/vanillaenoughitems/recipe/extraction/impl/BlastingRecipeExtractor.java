@@ -1,5 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.BlastingRecipe;
@@ -33,6 +34,12 @@ public class BlastingRecipeExtractor implements RecipeExtractor {
         return RecipeChoiceHelper.getItemsFromChoice(blasting.getInputChoice());
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        BlastingRecipe blasting = (BlastingRecipe) recipe;
+        return List.of(RecipeChoiceHelper.getItemsFromChoice(blasting.getInputChoice()));
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Fuels.FUELS;
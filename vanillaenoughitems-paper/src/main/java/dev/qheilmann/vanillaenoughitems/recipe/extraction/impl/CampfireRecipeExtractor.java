@@ -1,5 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.CampfireRecipe;
@@ -32,6 +33,12 @@ public class CampfireRecipeExtractor implements RecipeExtractor {
         return RecipeChoiceHelper.getItemsFromChoice(campfire.getInputChoice());
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        CampfireRecipe campfire = (CampfireRecipe) recipe;
+        return List.of(RecipeChoiceHelper.getItemsFromChoice(campfire.getInputChoice()));
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Set.of();
@@ -1,5 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.FurnaceRecipe;
@@ -33,6 +34,12 @@ public class FurnaceRecipeExtractor implements RecipeExtractor {
         return RecipeChoiceHelper.getItemsFromChoice(furnace.getInputChoice());
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        FurnaceRecipe furnace = (FurnaceRecipe) recipe;
+        return List.of(RecipeChoiceHelper.getItemsFromChoice(furnace.getInputChoice()));
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Fuels.FUELS;
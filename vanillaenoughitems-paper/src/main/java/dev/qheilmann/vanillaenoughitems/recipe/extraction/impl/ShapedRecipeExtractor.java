@@ -1,6 +1,9 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -39,6 +42,24 @@ public class ShapedRecipeExtractor implements RecipeExtractor {
         return ingredients;
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        ShapedRecipe shaped = (ShapedRecipe) recipe;
+        Map<Character, RecipeChoice> choiceMap = shaped.getChoiceMap();
+        List<Set<ItemStack>> choices = new ArrayList<>();
+
+        // One entry per filled slot of the shape
+        for (String row : shaped.getShape()) {
+            for (char symbol : row.toCharArray()) {
+                Set<ItemStack> items = RecipeChoiceHelper.getItemsFromChoice(choiceMap.get(symbol));
+                if (!items.isEmpty()) {
+                    choices.add(items);
+                }
+            }
+        }
+        return choices;
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Set.of();
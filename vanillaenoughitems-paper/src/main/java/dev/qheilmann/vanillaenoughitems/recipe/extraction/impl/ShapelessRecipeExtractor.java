@@ -1,6 +1,8 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -39,6 +41,17 @@ public class ShapelessRecipeExtractor implements RecipeExtractor {
         return ingredients;
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        ShapelessRecipe shapeless = (ShapelessRecipe) recipe;
+        List<Set<ItemStack>> choices = new ArrayList<>();
+
+        for (RecipeChoice choice : shapeless.getChoiceList()) {
+            choices.add(RecipeChoiceHelper.getItemsFromChoice(choice));
+        }
+        return choices;
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Set.of();
@@ -1,6 +1,7 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -37,6 +38,16 @@ public class SmithingTransformRecipeExtractor implements RecipeExtractor {
         return ingredients;
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        SmithingTransformRecipe smithing = (SmithingTransformRecipe) recipe;
+        return List.of(
+            RecipeChoiceHelper.getItemsFromChoice(smithing.getTemplate()),
+            RecipeChoiceHelper.getItemsFromChoice(smithing.getBase()),
+            RecipeChoiceHelper.getItemsFromChoice(smithing.getAddition())
+        );
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Set.of();
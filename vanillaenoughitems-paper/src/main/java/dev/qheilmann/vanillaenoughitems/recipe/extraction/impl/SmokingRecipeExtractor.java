@@ -1,5 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -33,6 +34,12 @@ public class SmokingRecipeExtractor implements RecipeExtractor {
         return RecipeChoiceHelper.getItemsFromChoice(smoking.getInputChoice());
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        SmokingRecipe smoking = (SmokingRecipe) recipe;
+        return List.of(RecipeChoiceHelper.getItemsFromChoice(smoking.getInputChoice()));
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Fuels.FUELS;
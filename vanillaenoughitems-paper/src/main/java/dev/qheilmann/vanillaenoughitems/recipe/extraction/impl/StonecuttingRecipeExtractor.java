@@ -1,5 +1,6 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -32,6 +33,12 @@ public class StonecuttingRecipeExtractor implements RecipeExtractor {
         return RecipeChoiceHelper.getItemsFromChoice(stonecutting.getInputChoice());
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        StonecuttingRecipe stonecutting = (StonecuttingRecipe) recipe;
+        return List.of(RecipeChoiceHelper.getItemsFromChoice(stonecutting.getInputChoice()));
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Set.of();
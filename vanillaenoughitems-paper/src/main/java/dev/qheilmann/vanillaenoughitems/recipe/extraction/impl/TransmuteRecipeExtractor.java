@@ -1,6 +1,7 @@
 package dev.qheilmann.vanillaenoughitems.recipe.extraction.impl;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.inventory.ItemStack;
@@ -36,6 +37,15 @@ public class TransmuteRecipeExtractor implements RecipeExtractor {
         return inputs;
     }
 
+    @Override
+    public List<Set<ItemStack>> extractIngredientChoices(Recipe recipe) {
+        TransmuteRecipe transmute = (TransmuteRecipe) recipe;
+        return List.of(
+            RecipeChoiceHelper.getItemsFromChoice(transmute.getInput()),
+            RecipeChoiceHelper.getItemsFromChoice(transmute.getMaterial())
+        );
+    }
+
     @Override
     public Set<ItemStack> extractOthers(Recipe recipe) {
         return Set.of();
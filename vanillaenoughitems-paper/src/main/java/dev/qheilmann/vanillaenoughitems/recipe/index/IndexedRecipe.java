@@ -0,0 +1,46 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.Set;
+
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import net.kyori.adventure.key.Key;
+
+/**
+ * Everything the index needs to know about a recipe, read once from its extractor and process registry.
+ * Items are stored as their {@link ItemKey}, interned in the generation the recipe is indexed in.
+ *
+ * @param recipe the recipe
+ * @param key the recipe key
+ * @param process the process handling the recipe
+ * @param results the result item keys
+ * @param ingredients the ingredient item keys
+ * @param others the other item keys
+ * @param tags the keys of the item tags exactly matched by an ingredient choice
+ */
+@NullMarked
+record IndexedRecipe(
+    Recipe recipe,
+    Key key,
+    Process process,
+    Set<ItemKey> results,
+    Set<ItemKey> ingredients,
+    Set<ItemKey> others,
+    Set<Key> tags) {
+
+    /**
+     * Check if another extraction indexes the same way, regardless of the recipe instance
+     * @param other the other extracted recipe
+     * @return true if the key, process, items and tags are equal
+     */
+    boolean hasSameExtraction(IndexedRecipe other) {
+        return key.equals(other.key)
+            && process.equals(other.process)
+            && results.equals(other.results)
+            && ingredients.equals(other.ingredients)
+            && others.equals(other.others)
+            && tags.equals(other.tags);
+    }
+}
@@ -0,0 +1,355 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+
+/**
+ * Immutable item graph of one {@link RecipeIndex#generation() index generation}: an edge goes from every ingredient
+ * of a recipe to every result of that recipe.
+ * <p>
+ * Items and recipes are numbered with dense ordinals, and the edges are stored in compressed rows
+ * (the out-edges of item {@code i} are the range {@code [offsets[i], offsets[i + 1])} of the edge arrays,
+ * its in-edges the same range of the reverse arrays), so traversals only touch int arrays and bitsets.
+ */
+@NullMarked
+final class ItemGraph {
+
+    private static final int NONE = -1;
+
+    private final long generation;
+    private final ItemKey[] items;
+    private final Map<ItemKey, Integer> ordinals;
+    private final IndexedRecipe[] recipes;
+
+    // Out-edges, by source item
+    private final int[] offsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final int[] edgeRecipes;
+
+    // In-edges, by target item, as indexes of the out-edge arrays
+    private final int[] reverseOffsets;
+    private final int[] reverseEdges;
+
+    private ItemGraph(long generation, ItemKey[] items, Map<ItemKey, Integer> ordinals, IndexedRecipe[] recipes, int[] offsets, int[] sources, int[] targets, int[] edgeRecipes, int[] reverseOffsets, int[] reverseEdges) {
+        this.generation = generation;
+        this.items = items;
+        this.ordinals = ordinals;
+        this.recipes = recipes;
+        this.offsets = offsets;
+        this.sources = sources;
+        this.targets = targets;
+        this.edgeRecipes = edgeRecipes;
+        this.reverseOffsets = reverseOffsets;
+        this.reverseEdges = reverseEdges;
+    }
+
+    /**
+     * Build the graph of indexed recipes
+     * @param indexedRecipes the indexed recipes, in a stable order
+     * @param generation the index generation the recipes were read from
+     * @return the graph
+     */
+    static ItemGraph build(List<IndexedRecipe> indexedRecipes, long generation) {
+        Map<ItemKey, Integer> ordinals = new HashMap<>();
+        IndexedRecipe[] recipes = indexedRecipes.toArray(IndexedRecipe[]::new);
+
+        // Number the items and count the out-edges of each one
+        int[] edgeCounts = new int[16];
+        int edgeTotal = 0;
+        for (IndexedRecipe indexedRecipe : recipes) {
+            for (ItemKey ingredient : indexedRecipe.ingredients()) {
+                int source = ordinals.computeIfAbsent(ingredient, k -> ordinals.size());
+                if (source >= edgeCounts.length) {
+                    edgeCounts = Arrays.copyOf(edgeCounts, Math.max(source + 1, edgeCounts.length * 2));
+                }
+                edgeCounts[source] += indexedRecipe.results().size();
+                edgeTotal += indexedRecipe.results().size();
+            }
+            for (ItemKey result : indexedRecipe.results()) {
+                ordinals.computeIfAbsent(result, k -> ordinals.size());
+            }
+        }
+
+        int itemCount = ordinals.size();
+        ItemKey[] items = new ItemKey[itemCount];
+        ordinals.forEach((item, ordinal) -> items[ordinal] = item);
+
+        // Compressed out-edge rows
+        int[] offsets = new int[itemCount + 1];
+        for (int i = 0; i < itemCount; i++) {
+            offsets[i + 1] = offsets[i] + (i < edgeCounts.length ? edgeCounts[i] : 0);
+        }
+        int[] cursor = Arrays.copyOf(offsets, itemCount);
+        int[] sources = new int[edgeTotal];
+        int[] targets = new int[edgeTotal];
+        int[] edgeRecipes = new int[edgeTotal];
+        int[] inCounts = new int[itemCount];
+        for (int r = 0; r < recipes.length; r++) {
+            IndexedRecipe indexedRecipe = recipes[r];
+            for (ItemKey ingredient : indexedRecipe.ingredients()) {
+                int source = ordinals.get(ingredient);
+                for (ItemKey result : indexedRecipe.results()) {
+                    int target = ordinals.get(result);
+                    int edge = cursor[source]++;
+                    sources[edge] = source;
+                    targets[edge] = target;
+                    edgeRecipes[edge] = r;
+                    inCounts[target]++;
+                }
+            }
+        }
+
+        // Compressed in-edge rows
+        int[] reverseOffsets = new int[itemCount + 1];
+        for (int i = 0; i < itemCount; i++) {
+            reverseOffsets[i + 1] = reverseOffsets[i] + inCounts[i];
+        }
+        int[] reverseCursor = Arrays.copyOf(reverseOffsets, itemCount);
+        int[] reverseEdges = new int[edgeTotal];
+        for (int edge = 0; edge < edgeTotal; edge++) {
+            reverseEdges[reverseCursor[targets[edge]]++] = edge;
+        }
+
+        return new ItemGraph(generation, items, Map.copyOf(ordinals), recipes, offsets, sources, targets, edgeRecipes, reverseOffsets, reverseEdges);
+    }
+
+    /**
+     * Get the index generation this graph was built from
+     * @return the index generation
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * Find every item reachable from an item through a chain of recipes, breadth first
+     * @param start the start item
+     * @return unmodifiable map of the reachable items (without the start item) to their minimal number of recipes,
+     * ordered by that number, empty if the item is not in the graph
+     */
+    Map<ItemKey, Integer> reachableFrom(ItemKey start) {
+        Integer startOrdinal = ordinals.get(start);
+        if (startOrdinal == null) {
+            return Map.of();
+        }
+
+        BitSet visited = new BitSet(items.length);
+        int[] queue = new int[items.length];
+        int[] hops = new int[items.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startOrdinal;
+        visited.set(startOrdinal);
+
+        Map<ItemKey, Integer> reachable = new LinkedHashMap<>();
+        while (head < tail) {
+            int item = queue[head++];
+            int nextHops = hops[item] + 1;
+            for (int edge = offsets[item]; edge < offsets[item + 1]; edge++) {
+                int target = targets[edge];
+                if (!visited.get(target)) {
+                    visited.set(target);
+                    hops[target] = nextHops;
+                    queue[tail++] = target;
+                    reachable.put(items[target], nextHops);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(reachable);
+    }
+
+    //#region Paths
+
+    /**
+     * Find a path using the fewest recipes between two items, with a bidirectional breadth first search
+     * @param from the start item
+     * @param to the end item
+     * @return the recipes of the path in crafting order, empty if both items are the same, null if there is no path
+     */
+    @Nullable
+    List<RecipePathStep> shortestPath(ItemKey from, ItemKey to) {
+        if (from.equals(to)) {
+            return List.of();
+        }
+        Integer fromOrdinal = ordinals.get(from);
+        Integer toOrdinal = ordinals.get(to);
+        if (fromOrdinal == null || toOrdinal == null) {
+            return null;
+        }
+
+        // Each side keeps the edge it reached an item with, toward the start for the forward side, toward the end for the backward side
+        BitSet forwardVisited = new BitSet(items.length);
+        BitSet backwardVisited = new BitSet(items.length);
+        int[] forwardEdges = new int[items.length];
+        int[] backwardEdges = new int[items.length];
+        int[] forwardHops = new int[items.length];
+        int[] backwardHops = new int[items.length];
+        forwardVisited.set(fromOrdinal);
+        backwardVisited.set(toOrdinal);
+        forwardEdges[fromOrdinal] = NONE;
+        backwardEdges[toOrdinal] = NONE;
+
+        int[] forwardFrontier = {fromOrdinal};
+        int[] backwardFrontier = {toOrdinal};
+        int forwardSize = 1;
+        int backwardSize = 1;
+
+        while (forwardSize > 0 && backwardSize > 0) {
+            // Expand the smallest frontier by a whole level, then keep the best meeting item of that level
+            int meeting = NONE;
+            int meetingHops = Integer.MAX_VALUE;
+            boolean forward = forwardSize <= backwardSize;
+            int[] frontier = forward ? forwardFrontier : backwardFrontier;
+            int frontierSize = forward ? forwardSize : backwardSize;
+            BitSet visited = forward ? forwardVisited : backwardVisited;
+            BitSet otherVisited = forward ? backwardVisited : forwardVisited;
+            int[] via = forward ? forwardEdges : backwardEdges;
+            int[] hops = forward ? forwardHops : backwardHops;
+            int[] otherHops = forward ? backwardHops : forwardHops;
+            int[] rowOffsets = forward ? offsets : reverseOffsets;
+
+            int[] next = new int[Math.min(items.length, frontierSize * 4 + 4)];
+            int nextSize = 0;
+            for (int f = 0; f < frontierSize; f++) {
+                int item = frontier[f];
+                for (int row = rowOffsets[item]; row < rowOffsets[item + 1]; row++) {
+                    int edge = forward ? row : reverseEdges[row];
+                    int neighbor = forward ? targets[edge] : sources[edge];
+                    if (visited.get(neighbor)) {
+                        continue;
+                    }
+                    visited.set(neighbor);
+                    via[neighbor] = edge;
+                    hops[neighbor] = hops[item] + 1;
+                    if (otherVisited.get(neighbor) && hops[neighbor] + otherHops[neighbor] < meetingHops) {
+                        meeting = neighbor;
+                        meetingHops = hops[neighbor] + otherHops[neighbor];
+                    }
+                    if (nextSize == next.length) {
+                        next = Arrays.copyOf(next, Math.min(items.length, next.length * 2));
+                    }
+                    next[nextSize++] = neighbor;
+                }
+            }
+
+            if (meeting != NONE) {
+                return bidirectionalPath(meeting, forwardEdges, backwardEdges);
+            }
+            if (forward) {
+                forwardFrontier = next;
+                forwardSize = nextSize;
+            } else {
+                backwardFrontier = next;
+                backwardSize = nextSize;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the path with the lowest total weight between two items, each recipe weighing the weight of its process
+     * @param from the start item
+     * @param to the end item
+     * @param processWeights the weight of the recipes of each process, at least 1
+     * @return the recipes of the path in crafting order, empty if both items are the same, null if there is no path
+     * @throws IllegalArgumentException if a process weight is lower than 1
+     */
+    @Nullable
+    List<RecipePathStep> lightestPath(ItemKey from, ItemKey to, ToIntFunction<Process> processWeights) {
+        if (from.equals(to)) {
+            return List.of();
+        }
+        Integer fromOrdinal = ordinals.get(from);
+        Integer toOrdinal = ordinals.get(to);
+        if (fromOrdinal == null || toOrdinal == null) {
+            return null;
+        }
+
+        // Weight of every recipe, asking once per process
+        Map<Process, Integer> weightByProcess = new HashMap<>();
+        int[] recipeWeights = new int[recipes.length];
+        for (int r = 0; r < recipes.length; r++) {
+            recipeWeights[r] = weightByProcess.computeIfAbsent(recipes[r].process(), process -> {
+                int weight = processWeights.applyAsInt(process);
+                if (weight < 1) {
+                    throw new IllegalArgumentException("Process weight must be at least 1, got " + weight + " for " + process.key().asString());
+                }
+                return weight;
+            });
+        }
+
+        // Dijkstra, stale queue entries are skipped once their item is settled
+        long[] distances = new long[items.length];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        int[] via = new int[items.length];
+        BitSet settled = new BitSet(items.length);
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong((long[] entry) -> entry[0]));
+        distances[fromOrdinal] = 0;
+        via[fromOrdinal] = NONE;
+        queue.add(new long[] {0, fromOrdinal});
+
+        while (!queue.isEmpty()) {
+            int item = (int) queue.poll()[1];
+            if (settled.get(item)) {
+                continue;
+            }
+            settled.set(item);
+            if (item == toOrdinal) {
+                return forwardPath(item, via);
+            }
+
+            for (int edge = offsets[item]; edge < offsets[item + 1]; edge++) {
+                int target = targets[edge];
+                long distance = distances[item] + recipeWeights[edgeRecipes[edge]];
+                if (distance < distances[target]) {
+                    distances[target] = distance;
+                    via[target] = edge;
+                    queue.add(new long[] {distance, target});
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<RecipePathStep> bidirectionalPath(int meeting, int[] forwardEdges, int[] backwardEdges) {
+        List<RecipePathStep> path = new ArrayList<>(forwardPath(meeting, forwardEdges));
+        for (int edge = backwardEdges[meeting]; edge != NONE; edge = backwardEdges[targets[edge]]) {
+            path.add(step(edge));
+        }
+        return List.copyOf(path);
+    }
+
+    /**
+     * Walk back the edges an item was reached with, up to the start item
+     */
+    private List<RecipePathStep> forwardPath(int end, int[] via) {
+        List<RecipePathStep> path = new ArrayList<>();
+        for (int edge = via[end]; edge != NONE; edge = via[sources[edge]]) {
+            path.add(step(edge));
+        }
+        Collections.reverse(path);
+        return List.copyOf(path);
+    }
+
+    private RecipePathStep step(int edge) {
+        IndexedRecipe indexedRecipe = recipes[edgeRecipes[edge]];
+        return new RecipePathStep(items[sources[edge]], indexedRecipe.process(), indexedRecipe.recipe(), items[targets[edge]]);
+    }
+
+    //#endregion Paths
+}
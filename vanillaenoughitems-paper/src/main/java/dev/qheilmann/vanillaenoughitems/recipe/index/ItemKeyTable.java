@@ -0,0 +1,85 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.inventory.ItemStack;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Intern table of the item keys of one index generation.
+ * <p>
+ * Keys are interned while the generation is built, so every map of the generation shares one key instance per item.
+ * Lookups with an {@link ItemStack} go through {@link #find(ItemStack)}, which never copies the item:
+ * plain items resolve by material, items with components are hashed ({@link ItemKey#hashOf(ItemStack)})
+ * and only compared with {@link ItemKey#matches(ItemStack)} against the keys sharing their hash.
+ * <p>
+ * The table belongs to its generation and is dropped with it, so keys of items that are no longer indexed are never retained.
+ */
+@NullMarked
+final class ItemKeyTable {
+
+    // Interned keys by key hash (the hash covers the material), colliding keys share one array, replaced as a whole
+    private final Map<Integer, ItemKey[]> keysByHash = new ConcurrentHashMap<>();
+
+    /**
+     * Get the interned key of an item, creating it if needed.
+     * The item is copied only when it is not interned yet.
+     * @param item the item, its amount is ignored
+     * @return the interned key
+     */
+    ItemKey intern(ItemStack item) {
+        ItemKey found = find(item);
+        return found != null ? found : intern(ItemKey.of(item));
+    }
+
+    /**
+     * Get the interned key equal to a key, interning this one if none is
+     * @param key the key, e.g. carried over from a previous generation
+     * @return the interned key
+     */
+    synchronized ItemKey intern(ItemKey key) {
+        ItemKey[] keys = keysByHash.get(key.hashCode());
+        if (keys == null) {
+            keysByHash.put(key.hashCode(), new ItemKey[] { key });
+            return key;
+        }
+
+        for (ItemKey interned : keys) {
+            if (interned.equals(key)) {
+                return interned;
+            }
+        }
+
+        ItemKey[] grown = Arrays.copyOf(keys, keys.length + 1);
+        grown[keys.length] = key;
+        keysByHash.put(key.hashCode(), grown);
+        return key;
+    }
+
+    /**
+     * Find the interned key of an item, without copying the item
+     * @param item the item, its amount is ignored
+     * @return the interned key, or null if no indexed item is similar
+     */
+    @Nullable
+    ItemKey find(ItemStack item) {
+        if (!item.hasItemMeta()) {
+            return ItemKey.of(item); // Plain keys are shared by material, no allocation
+        }
+
+        ItemKey[] keys = keysByHash.get(ItemKey.hashOf(item));
+        if (keys == null) {
+            return null;
+        }
+
+        for (ItemKey key : keys) {
+            if (key.matches(item)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,182 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+/**
+ * Inverted index from the words of item display names and lore to the items, for items with components (custom items).
+ * Plain vanilla items are reachable by key and are not indexed here.
+ * <p>
+ * Words are lowercase runs of letters and digits. A query matches the items containing all of its words,
+ * the last word being matched as a prefix so results follow the text as it is typed.
+ * Every operation is safe to run concurrently, items are added while recipes are indexed.
+ * The index belongs to one recipe index generation and is rebuilt with it, items are never removed.
+ */
+@NullMarked
+final class ItemTextIndex {
+
+    private static final PlainTextComponentSerializer PLAIN_TEXT = PlainTextComponentSerializer.plainText();
+
+    private final ConcurrentHashMap<ItemKey, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<ItemKey>> itemsByWord = new ConcurrentSkipListMap<>();
+
+    /**
+     * Add an item if it is not indexed yet
+     * @param item the item key
+     */
+    void add(ItemKey item) {
+        if (entries.containsKey(item)) {
+            return;
+        }
+
+        ItemStack itemStack = item.toItemStack();
+        if (!itemStack.hasItemMeta()) {
+            return; // Plain vanilla item
+        }
+
+        Entry entry = readEntry(itemStack.getItemMeta());
+        if (entries.putIfAbsent(item, entry) != null) {
+            return; // Added concurrently
+        }
+        for (String word : entry.words()) {
+            itemsByWord.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(item);
+        }
+    }
+
+    /**
+     * Find the items whose name or lore contains every word of a text, the last word as a prefix
+     * @param text the text, case insensitive
+     * @param limit the maximum number of items
+     * @return the matching items, ordered by name
+     */
+    List<ItemKey> search(String text, int limit) {
+        String[] words = words(text);
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // Candidate sets, the last word covers every indexed word it prefixes
+        List<Set<ItemKey>> candidates = new ArrayList<>(words.length);
+        for (int i = 0; i < words.length - 1; i++) {
+            Set<ItemKey> items = itemsByWord.get(words[i]);
+            if (items == null) {
+                return List.of();
+            }
+            candidates.add(items);
+        }
+        Set<ItemKey> prefixed = new HashSet<>();
+        String prefix = words[words.length - 1];
+        for (Set<ItemKey> items : itemsByWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            prefixed.addAll(items);
+        }
+        if (prefixed.isEmpty()) {
+            return List.of();
+        }
+        candidates.add(prefixed);
+
+        // Intersect from the smallest set
+        candidates.sort(Comparator.comparingInt(Set::size));
+        List<ItemKey> matches = new ArrayList<>();
+        for (ItemKey item : candidates.get(0)) {
+            if (containsAll(candidates, item) && entries.containsKey(item)) {
+                matches.add(item);
+            }
+        }
+
+        return matches.stream()
+            .sorted(Comparator.comparing((ItemKey item) -> nameOf(item)).thenComparingInt(ItemKey::hashCode))
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Get the number of indexed items
+     * @return the number of items
+     */
+    int size() {
+        return entries.size();
+    }
+
+    //#region Helpers
+
+    private String nameOf(ItemKey item) {
+        Entry entry = entries.get(item);
+        return entry != null ? entry.name() : "";
+    }
+
+    private static boolean containsAll(List<Set<ItemKey>> candidates, ItemKey item) {
+        for (int i = 1; i < candidates.size(); i++) {
+            if (!candidates.get(i).contains(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Entry readEntry(ItemMeta meta) {
+        String name = "";
+        if (meta.hasDisplayName()) {
+            name = plainText(meta.displayName());
+        } else if (meta.hasItemName()) {
+            name = plainText(meta.itemName());
+        }
+
+        Set<String> words = new LinkedHashSet<>(Arrays.asList(words(name)));
+        List<Component> lore = meta.lore();
+        if (lore != null) {
+            for (Component line : lore) {
+                words.addAll(Arrays.asList(words(plainText(line))));
+            }
+        }
+
+        return new Entry(name.toLowerCase(Locale.ROOT), words.toArray(String[]::new));
+    }
+
+    private static String plainText(@Nullable Component component) {
+        return component == null ? "" : PLAIN_TEXT.serialize(component);
+    }
+
+    /**
+     * Split a text into lowercase words of letters and digits
+     */
+    private static String[] words(String text) {
+        List<String> words = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+
+    //#endregion Helpers
+
+    /**
+     * Indexed text of an item
+     * @param name the lowercase plain name, used to order results
+     * @param words the distinct words of the name and lore
+     */
+    private record Entry(String name, String[] words) {}
+}
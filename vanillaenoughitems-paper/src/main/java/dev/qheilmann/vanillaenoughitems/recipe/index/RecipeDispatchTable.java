@@ -0,0 +1,62 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractor;
+import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import dev.qheilmann.vanillaenoughitems.recipe.process.ProcessRegistry;
+
+/**
+ * Per recipe class dispatch table, resolving the extractor and the process of a recipe in a single lookup.
+ * <p>
+ * The registries must be frozen before the table is used: the first recipe of each class is probed against them,
+ * every following recipe of that class reuses the result. Recipe classes without extractor are remembered as well.
+ */
+@NullMarked
+final class RecipeDispatchTable {
+
+    private final ProcessRegistry processRegistry;
+    private final RecipeExtractorRegistry recipeExtractorRegistry;
+    private final ConcurrentHashMap<Class<? extends Recipe>, Optional<Dispatch>> dispatchByRecipeClass = new ConcurrentHashMap<>();
+
+    /**
+     * Create a dispatch table over frozen registries
+     * @param processRegistry the frozen process registry
+     * @param recipeExtractorRegistry the frozen extractor registry
+     */
+    RecipeDispatchTable(ProcessRegistry processRegistry, RecipeExtractorRegistry recipeExtractorRegistry) {
+        this.processRegistry = processRegistry;
+        this.recipeExtractorRegistry = recipeExtractorRegistry;
+    }
+
+    /**
+     * Resolve the extractor and the process of a recipe
+     * @param recipe the recipe
+     * @return the dispatch of the recipe class, or null if no extractor can handle it
+     */
+    @Nullable
+    Dispatch resolve(Recipe recipe) {
+        return dispatchByRecipeClass.computeIfAbsent(recipe.getClass(), recipeClass -> probe(recipe)).orElse(null);
+    }
+
+    private Optional<Dispatch> probe(Recipe recipe) {
+        RecipeExtractor extractor = recipeExtractorRegistry.getRecipeExtractor(recipe);
+        if (extractor == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Dispatch(extractor, processRegistry.getRecipeProcess(recipe)));
+    }
+
+    /**
+     * Extractor and process handling a recipe class
+     * @param extractor the first compatible extractor
+     * @param process the first compatible process
+     */
+    record Dispatch(RecipeExtractor extractor, Process process) {}
+}
@@ -1,11 +1,16 @@
 package dev.qheilmann.vanillaenoughitems.recipe.index;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
 
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
@@ -13,6 +18,7 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
+import dev.qheilmann.vanillaenoughitems.config.VanillaEnoughItemsConfig;
 import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
 import dev.qheilmann.vanillaenoughitems.recipe.helper.RecipeHelper;
 import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
@@ -20,7 +26,6 @@ import dev.qheilmann.vanillaenoughitems.recipe.index.reader.RecipeIndexView;
 import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
 import dev.qheilmann.vanillaenoughitems.recipe.process.ProcessRegistry;
 import net.kyori.adventure.key.Key;
-import net.kyori.adventure.key.Keyed;
 
 /**
  * Index all recipes by different criteria.
@@ -31,27 +36,84 @@ public class RecipeIndex implements RecipeIndexView {
     
     private final ProcessRegistry processRegistry;
     private final RecipeExtractorRegistry recipeExtractorRegistry;
-    
-    // Search indexes
-    private final ConcurrentSkipListMap<Key, Recipe> recipeByKey = new ConcurrentSkipListMap<>(Key.comparator());
-    private final MultiProcessRecipeMap recipesByProcess = new MultiProcessRecipeMap(new Grouping.AllRecipes()); // All recipes by process
-    // ItemStack#hashcode are not really reliable between sessions, at least we regenerate them each time
-    private final ConcurrentHashMap<ItemStack, MultiProcessRecipeMap> recipesByResult = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<ItemStack, MultiProcessRecipeMap> recipesByIngredient = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<ItemStack, MultiProcessRecipeMap> recipesByOther = new ConcurrentHashMap<>();
+    private final TagIndex tagIndex;
 
-    // Inverse index for fast lookup
+    private final RecipeDispatchTable dispatchTable;
+    /**
+     * The currently published generation. Replaced as a whole on every change so readers never observe a partially built index.
+     */
+    private final AtomicReference<RecipeIndexGeneration> published;
+    /**
+     * Serializes the changes to the index, each one builds its generation from the one it replaces.
+     */
+    private final Object writeLock = new Object();
     /**
-     * Store the first compatible process for a recipe depending {@link Process#COMPARATOR}.
+     * Incremented after every change to the index, lets dependent caches detect stale content.
      */
-    private final ConcurrentSkipListMap<Recipe, Process> processByRecipe = new ConcurrentSkipListMap<>(RecipeHelper.RECIPE_COMPARATOR);
+    private final AtomicLong generation = new AtomicLong();
+    /**
+     * Item graph of the last queried generation, built lazily on the first reachability or path query of a generation.
+     */
+    private volatile @Nullable ItemGraph itemGraph;
 
     /**
-     * Create an empty RecipeIndex
+     * Create an empty RecipeIndex.
+     * The registries must be frozen, recipe classes are resolved once and cached.
+     * The tag index must be built, ingredient choices are matched against it while indexing.
      */
-    public RecipeIndex(ProcessRegistry processRegistry, RecipeExtractorRegistry recipeExtractorRegistry) {
+    public RecipeIndex(ProcessRegistry processRegistry, RecipeExtractorRegistry recipeExtractorRegistry, TagIndex tagIndex) {
         this.processRegistry = processRegistry;
         this.recipeExtractorRegistry = recipeExtractorRegistry;
+        this.tagIndex = tagIndex;
+        this.dispatchTable = new RecipeDispatchTable(processRegistry, recipeExtractorRegistry);
+        this.published = new AtomicReference<>(newGeneration());
+    }
+
+    /**
+     * Get the currently published generation.
+     * Callers doing several lookups should read it once and use the same instance for all of them.
+     * @return the current generation
+     */
+    private RecipeIndexGeneration current() {
+        return published.get();
+    }
+
+    /**
+     * Get the generation number of this index, incremented every time recipes are indexed, deindexed or cleared.
+     * Caches built from the index content can store it and rebuild once it changes.
+     * @return the index generation number
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Get the item graph of the current generation, building it if the index changed since the last one.
+     * @return the item graph
+     */
+    private ItemGraph itemGraph() {
+        long currentGeneration = generation();
+        ItemGraph graph = itemGraph;
+        if (graph != null && graph.generation() == currentGeneration) {
+            return graph;
+        }
+
+        synchronized (this) {
+            graph = itemGraph;
+            if (graph == null || graph.generation() != currentGeneration) {
+                RecipeIndexGeneration current = current();
+                List<IndexedRecipe> indexedRecipes = new ArrayList<>(current.indexedByKey.size());
+                for (Key key : current.recipeByKey.keySet()) {
+                    IndexedRecipe indexedRecipe = current.indexedByKey.get(key);
+                    if (indexedRecipe != null) {
+                        indexedRecipes.add(indexedRecipe);
+                    }
+                }
+                graph = ItemGraph.build(indexedRecipes, currentGeneration);
+                itemGraph = graph;
+            }
+            return graph;
+        }
     }
 
     //#region Indexing
@@ -59,152 +121,188 @@ public class RecipeIndex implements RecipeIndexView {
     /**
      * Index multiple recipes with an iterable.
      * You can use a lambda {@code () -> iterator} to consume an iterator instance
+     * <p>
+     * The indexed recipes are carried over into a new generation, published once the recipes are added.
+     * Prefer one call with every recipe over one call per recipe. To replace the whole index use {@link #reindex(Iterable)}.
      * @param recipes the recipes to index
      */
     public void indexRecipe(Iterable<Recipe> recipes) {
-        for (Recipe recipe : recipes) {
-            indexRecipe(recipe);
+        synchronized (writeLock) {
+            RecipeIndexGeneration next = newGeneration();
+            Map<Key, IndexedRecipe> indexedRecipes = new HashMap<>(current().indexedByKey);
+            for (Recipe recipe : recipes) {
+                IndexedRecipe indexedRecipe = next.extract(recipe);
+                if (indexedRecipe != null) {
+                    indexedRecipes.put(indexedRecipe.key(), indexedRecipe); // Replaces a previous recipe with the same key
+                }
+            }
+            publish(next, indexedRecipes.values());
         }
     }
 
     /**
-     * Index a single recipe
+     * Index a single recipe.
+     * <p>
+     * The whole index is carried over into a new generation, linear in the number of indexed recipes:
+     * to index several recipes call {@link #indexRecipe(Iterable)} once instead of this in a loop.
      * @param recipe the recipe to index
      */
     public void indexRecipe(Recipe recipe) {
-
-        if (!recipeExtractorRegistry.canHandle(recipe)) {
-            // Recipes without extractors are skipped silently
-            // Enable debug logging in config to audit unhandled recipe types during development.
-            if (VanillaEnoughItems.veiConfig().debug().unhandledRecipesWarning()) {
-                String key = (recipe instanceof Keyed keyed) ? keyed.key().asString() : "no key available";
-                VanillaEnoughItems.LOGGER.warn("No extractor registered for recipe type: {} ({})", recipe.getClass().getSimpleName(), key);
-            }
-            return; // Skip indexation for recipes without extractors
-        }
-
-        // Index by id
-        Key recipeKey = recipeExtractorRegistry.extractKey(recipe);
-        recipeByKey.put(recipeKey, recipe);
-
-        // Index by process
-        Process process = processRegistry.getRecipeProcess(recipe);
-        processByRecipe.put(recipe, process);
-        recipesByProcess.addRecipe(process, recipe);
-
-        // Index by result
-        Set<ItemStack> results = recipeExtractorRegistry.extractResults(recipe);
-        for (ItemStack result : results) {
-            result = result.asOne(); // Normalize to amount 1 for indexing
-            MultiProcessRecipeMap multiProcessRecipeMap = recipesByResult.computeIfAbsent(result, r -> new MultiProcessRecipeMap(new Grouping.ByResult(r)));
-            multiProcessRecipeMap.addRecipe(process, recipe);
-        }
-
-        // Index by ingredient
-        Set<ItemStack> ingredients = recipeExtractorRegistry.extractIngredients(recipe);
-        for (ItemStack ingredient : ingredients) {
-            ingredient = ingredient.asOne(); // Normalize to amount 1 for indexing
-            MultiProcessRecipeMap multiProcessRecipeMap = recipesByIngredient.computeIfAbsent(ingredient, i -> new MultiProcessRecipeMap(new Grouping.ByIngredient(i)));
-            multiProcessRecipeMap.addRecipe(process, recipe);
-        }
-        
-        // Index by other
-        Set<ItemStack> others = recipeExtractorRegistry.extractOthers(recipe);
-        for (ItemStack other : others) {
-            other = other.asOne(); // Normalize to amount 1 for indexing
-            MultiProcessRecipeMap multiProcessRecipeMap = recipesByOther.computeIfAbsent(other, o -> new MultiProcessRecipeMap(new Grouping.ByOther(o)));
-            multiProcessRecipeMap.addRecipe(process, recipe);
-        }
+        indexRecipe(List.of(recipe));
     }
 
     /**
      * Deindex multiple recipes with an iterable.
      * You can use a lambda {@code () -> iterator} to consume an iterator instance
+     * <p>
+     * The remaining recipes are carried over into a new generation, nothing is published if no recipe was indexed.
      * @param recipes the recipes to deindex
      */
     public void deindexRecipe(Iterable<Key> recipes) {
-        for (Key recipeKey : recipes) {
-            deindexRecipe(recipeKey);
+        synchronized (writeLock) {
+            Map<Key, IndexedRecipe> indexedRecipes = new HashMap<>(current().indexedByKey);
+            boolean removed = false;
+            for (Key recipeKey : recipes) {
+                removed |= indexedRecipes.remove(recipeKey) != null;
+            }
+            if (removed) {
+                publish(newGeneration(), indexedRecipes.values());
+            }
         }
     }
 
     /**
-     * Deindex a single recipe
+     * Deindex a single recipe.
+     * <p>
+     * The whole index is carried over into a new generation, linear in the number of indexed recipes:
+     * to deindex several recipes call {@link #deindexRecipe(Iterable)} once instead of this in a loop.
      * @param recipeKey the recipe key to deindex
      */
     public void deindexRecipe(Key recipeKey) {
+        deindexRecipe(List.of(recipeKey));
+    }
 
-        // Get the recipe by its key
-        Recipe recipe = recipeByKey.get(recipeKey);
-        if (recipe == null) {
-            // Not indexed
-            return;
-        }
+    /**
+     * Rebuild the entire index from the given recipes.
+     * <p>
+     * The new index is built off to the side and published with a single atomic swap once complete,
+     * readers always see either the previous index or the new one, never a partially built one.
+     * Readers already handed out keep working on the previous index.
+     * <p>
+     * Recipes are first drained into a buffer on the calling thread and given dense ordinals in recipe order.
+     * When {@link VanillaEnoughItemsConfig#parallelIndexing()} is enabled (off by default), they are extracted and grouped
+     * on the common fork-join pool, every registered extractor must then be thread-safe.
+     * You can use a lambda {@code () -> iterator} to consume an iterator instance
+     * @param recipes the recipes to index
+     */
+    public void reindex(Iterable<Recipe> recipes) {
+        // Drain on the calling thread, the server recipe iterator must not be shared with workers
+        List<Recipe> buffer = new ArrayList<>();
+        recipes.forEach(buffer::add);
+
+        synchronized (writeLock) {
+            RecipeIndexGeneration next = newGeneration();
+            next.indexRecipes(buffer, VanillaEnoughItems.veiConfig().parallelIndexing());
 
-        // Process lookup
-        Process process = processByRecipe.remove(recipe);
-        if (process == null) {
-            // Recipe not indexed
-            return;
+            published.set(next);
+            generation.incrementAndGet();
         }
+    }
+
+    /**
+     * Bring the index in line with the given recipes, extracting only what changed.
+     * <p>
+     * Recipes are compared by key with the indexed ones: keys no longer present are dropped, new keys are extracted,
+     * and recipes whose content changed ({@link RecipeHelper#isSameContent(Recipe, Recipe)}) are extracted again.
+     * Recipe types the helper cannot compare ({@link RecipeHelper#canCompareContent(Recipe)}) are extracted again
+     * and only count as changed when the extraction output differs.
+     * <p>
+     * Like {@link #reindex(Iterable)}, the result is built as a new generation and published with a single atomic swap,
+     * unchanged recipes are carried over without running their extractor. Nothing is published when nothing changed.
+     * Extraction runs on the calling thread.
+     * You can use a lambda {@code () -> iterator} to consume an iterator instance
+     * @param recipes the complete set of recipes that should be indexed
+     * @return the number of added, removed, changed and unchanged recipes
+     */
+    public ReindexDelta reindexIncremental(Iterable<Recipe> recipes) {
+        synchronized (writeLock) {
+            RecipeIndexGeneration current = current();
+            RecipeIndexGeneration next = newGeneration();
+            Map<Key, IndexedRecipe> indexedRecipes = new HashMap<>();
+            int added = 0;
+            int changed = 0;
+            int unchanged = 0;
+
+            for (Recipe recipe : recipes) {
+                RecipeDispatchTable.Dispatch dispatch = dispatchTable.resolve(recipe);
+                if (dispatch == null) {
+                    continue;
+                }
 
-        // Deindex by id
-        recipeByKey.remove(recipeKey);
+                Key recipeKey = dispatch.extractor().extractKey(recipe);
+                IndexedRecipe previous = current.indexedByKey.get(recipeKey);
+                if (previous != null && RecipeHelper.isSameContent(previous.recipe(), recipe)) {
+                    indexedRecipes.put(recipeKey, previous);
+                    unchanged++;
+                    continue;
+                }
 
-        // Deindex by process
-        recipesByProcess.removeRecipe(process,  recipe);
+                IndexedRecipe extracted = next.extract(recipe);
+                if (extracted == null) {
+                    continue;
+                }
 
-        // Deindex by result
-        Set<ItemStack> results = recipeExtractorRegistry.extractResults(recipe);
-        for (ItemStack result : results) {
-            result = result.asOne();
-            removeRecipeFromMapWithCleanup(recipesByResult, result, process, recipe);
-        }
+                if (previous == null) {
+                    indexedRecipes.put(recipeKey, extracted);
+                    added++;
+                } else if (!RecipeHelper.canCompareContent(recipe) && previous.hasSameExtraction(extracted)) {
+                    indexedRecipes.put(recipeKey, previous); // Same index content, keep the indexed instance
+                    unchanged++;
+                } else {
+                    indexedRecipes.put(recipeKey, extracted);
+                    changed++;
+                }
+            }
 
-        // Deindex by ingredient
-        Set<ItemStack> ingredients = recipeExtractorRegistry.extractIngredients(recipe);
-        for (ItemStack ingredient : ingredients) {
-            ingredient = ingredient.asOne();
-            removeRecipeFromMapWithCleanup(recipesByIngredient, ingredient, process, recipe);
-        }
-        
-        // Deindex by other
-        Set<ItemStack> others = recipeExtractorRegistry.extractOthers(recipe);
-        for (ItemStack other : others) {
-            other = other.asOne();
-            removeRecipeFromMapWithCleanup(recipesByOther, other, process, recipe);
+            int removed = 0;
+            for (Key recipeKey : current.indexedByKey.keySet()) {
+                if (!indexedRecipes.containsKey(recipeKey)) {
+                    removed++;
+                }
+            }
+
+            ReindexDelta delta = new ReindexDelta(added, removed, changed, unchanged);
+            if (delta.hasChanges()) {
+                publish(next, indexedRecipes.values());
+            }
+            return delta;
         }
     }
 
     /**
-     * Helper method to remove a recipe from a map and cleanup if the MultiProcessRecipeMap becomes empty
-     * @param map the map containing MultiProcessRecipeMaps
-     * @param key the key in the map
-     * @param process the process associated with the recipe (can be null)
-     * @param recipe the recipe to remove
-     * @param <K> the type of the key
+     * Clear the entire index.
+     * Publishes an empty index, readers already handed out keep working on the previous one.
      */
-    private <K> void removeRecipeFromMapWithCleanup(Map<K, MultiProcessRecipeMap> map, K key, Process process, Recipe recipe) {
-        MultiProcessRecipeMap multiProcessRecipeMap = map.get(key);
-        if (multiProcessRecipeMap != null) {
-            multiProcessRecipeMap.removeRecipe(process, recipe);
-            // Cleanup if empty
-            if (multiProcessRecipeMap.isEmpty()) {
-                map.remove(key);
-            }
+    public void clearIndex() {
+        synchronized (writeLock) {
+            published.set(newGeneration());
+            generation.incrementAndGet();
         }
     }
 
+    private RecipeIndexGeneration newGeneration() {
+        return new RecipeIndexGeneration(dispatchTable, tagIndex);
+    }
+
     /**
-     * Clear the entire index
+     * Fill a new generation with extracted recipes and publish it. Must hold the write lock.
+     * @param next the new generation, recipes extracted for it already intern their keys in it
+     * @param indexedRecipes every recipe of the new generation, one per key
      */
-    public void clearIndex() {
-        recipeByKey.clear();
-        recipesByProcess.clear();
-        recipesByResult.clear();
-        recipesByIngredient.clear();
-        recipesByOther.clear();
-        processByRecipe.clear();
+    private void publish(RecipeIndexGeneration next, Collection<IndexedRecipe> indexedRecipes) {
+        next.indexExtracted(indexedRecipes);
+        published.set(next);
+        generation.incrementAndGet();
     }
 
     //#endregion Indexing
@@ -216,7 +314,7 @@ public class RecipeIndex implements RecipeIndexView {
      * @return unmodifiable view of all recipes by their key
      */
     public NavigableMap<Key, Recipe> getAllRecipesByKey() {
-        return Collections.unmodifiableNavigableMap(recipeByKey); 
+        return Collections.unmodifiableNavigableMap(current().recipeByKey); 
     }
 
     /**
@@ -232,7 +330,7 @@ public class RecipeIndex implements RecipeIndexView {
      * @return unmodifiable view of all recipes by their process
      */
     public NavigableMap<Process, ProcessRecipeSet> getAllRecipesByProcess() {
-        return Collections.unmodifiableNavigableMap(recipesByProcess.getAllProcessRecipeSets());
+        return Collections.unmodifiableNavigableMap(current().recipesByProcess.getAllProcessRecipeSets());
     }
 
     /**
@@ -247,8 +345,8 @@ public class RecipeIndex implements RecipeIndexView {
      *
      * @return unmodifiable view of all recipes by their result
      */
-    public Map<ItemStack, MultiProcessRecipeMap> getAllRecipesByResult() {
-        return Collections.unmodifiableMap(recipesByResult);
+    public Map<ItemKey, MultiProcessRecipeMap> getAllRecipesByResult() {
+        return Collections.unmodifiableMap(current().recipesByResult);
     }
 
     /**
@@ -263,8 +361,8 @@ public class RecipeIndex implements RecipeIndexView {
      *
      * @return unmodifiable view of all recipes by their ingredient
      */
-    public Map<ItemStack, MultiProcessRecipeMap> getAllRecipesByIngredient() {
-        return Collections.unmodifiableMap(recipesByIngredient);
+    public Map<ItemKey, MultiProcessRecipeMap> getAllRecipesByIngredient() {
+        return Collections.unmodifiableMap(current().recipesByIngredient);
     }
 
     //#endregion Exporting
@@ -274,31 +372,50 @@ public class RecipeIndex implements RecipeIndexView {
      * @return
      */
     public NavigableMap<Recipe, Process> getAllProcessByRecipeMap() {
-        return Collections.unmodifiableNavigableMap(processByRecipe);
+        return Collections.unmodifiableNavigableMap(current().processByRecipe);
     }
 
     /**
      * Get all indexed result items
      * @return unmodifiable set of all indexed result items
      */
-    public Set<ItemStack> getAllResultItems() {
-        return Collections.unmodifiableSet(recipesByResult.keySet());
+    public Set<ItemKey> getAllResultItems() {
+        return Collections.unmodifiableSet(current().recipesByResult.keySet());
     }
 
     /**
      * Get all indexed ingredient items
      * @return unmodifiable set of all indexed ingredient items
      */
-    public Set<ItemStack> getAllIngredientItems() {
-        return Collections.unmodifiableSet(recipesByIngredient.keySet());
+    public Set<ItemKey> getAllIngredientItems() {
+        return Collections.unmodifiableSet(current().recipesByIngredient.keySet());
     }
 
     /**
      * Get all indexed other items
      * @return unmodifiable set of all indexed other items
      */
-    public Set<ItemStack> getAllOtherItems() {
-        return Collections.unmodifiableSet(recipesByOther.keySet());
+    public Set<ItemKey> getAllOtherItems() {
+        return Collections.unmodifiableSet(current().recipesByOther.keySet());
+    }
+
+    /**
+     * Get all item tags used by indexed recipes
+     * @return unmodifiable set of all used tag keys
+     */
+    public Set<Key> getAllTags() {
+        return Collections.unmodifiableSet(current().recipesByTag.keySet());
+    }
+
+    /**
+     * Find the indexed custom items whose display name or lore contains every word of a text.
+     * The last word is matched as a prefix. Plain vanilla items are not part of this search.
+     * @param text the searched text, case insensitive
+     * @param limit the maximum number of items
+     * @return the matching items, ordered by name
+     */
+    public List<ItemKey> searchItemsByText(String text, int limit) {
+        return current().itemText.search(text, limit);
     }
 
     /**
@@ -326,17 +443,13 @@ public class RecipeIndex implements RecipeIndexView {
     @Override
     @Nullable
     public MultiProcessRecipeReader readerByKey(Key key) {
-        // Get the recipe by its key
-        Recipe recipe = recipeByKey.get(key);
-        if (recipe == null) {
+        // Shared map of the generation, only the reader cursor is allocated
+        MultiProcessRecipeMap multiProcessRecipeMap = current().singleRecipeMap(key);
+        if (multiProcessRecipeMap == null) {
             // Not indexed
             return null;
         }
 
-        Process process = processByRecipe.get(recipe);
-        MultiProcessRecipeMap multiProcessRecipeMap = new MultiProcessRecipeMap(new Grouping.ByKey(key), Collections.singletonList(
-            new ProcessRecipeSet(process, Set.of(recipe))
-        ));
         return new MultiProcessRecipeReader(multiProcessRecipeMap);
     }
 
@@ -346,7 +459,7 @@ public class RecipeIndex implements RecipeIndexView {
     @Override
     @Nullable
     public Recipe getSingleRecipeByKey(Key key) {
-        return recipeByKey.get(key);
+        return current().recipeByKey.get(key);
     }
 
     //#endregion By Key
@@ -358,7 +471,7 @@ public class RecipeIndex implements RecipeIndexView {
      */
     @Nullable
     public MultiProcessRecipeReader readerByProcess(Process process) {
-        ProcessRecipeSet processRecipeSet = recipesByProcess.getProcessRecipeSet(process);
+        ProcessRecipeSet processRecipeSet = current().recipesByProcess.getProcessRecipeSet(process);
         if (processRecipeSet == null) {
             return null;
         }
@@ -390,8 +503,17 @@ public class RecipeIndex implements RecipeIndexView {
     @Override
     @Nullable
     public MultiProcessRecipeReader readerByResult(ItemStack result) {
-        result = result.asOne();
-        MultiProcessRecipeMap multiProcessRecipeMap = recipesByResult.get(result);
+        ItemKey key = current().itemKeys.find(result);
+        return key != null ? readerByResult(key) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public MultiProcessRecipeReader readerByResult(ItemKey result) {
+        MultiProcessRecipeMap multiProcessRecipeMap = current().recipesByResult.get(result);
         if (multiProcessRecipeMap == null) {
             return null;
         }
@@ -435,8 +557,17 @@ public class RecipeIndex implements RecipeIndexView {
     @Override
     @Nullable
     public MultiProcessRecipeReader readerByIngredient(ItemStack item) {
-        item = item.asOne();
-        MultiProcessRecipeMap multiProcessRecipeMap = recipesByIngredient.get(item);
+        ItemKey key = current().itemKeys.find(item);
+        return key != null ? readerByIngredient(key) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public MultiProcessRecipeReader readerByIngredient(ItemKey item) {
+        MultiProcessRecipeMap multiProcessRecipeMap = current().recipesByIngredient.get(item);
         if (multiProcessRecipeMap == null) {
             return null;
         }
@@ -472,6 +603,37 @@ public class RecipeIndex implements RecipeIndexView {
 
     //#endregion By Ingredient
 
+    //#region By Tag
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public MultiProcessRecipeReader readerByTag(Key tag) {
+        MultiProcessRecipeMap multiProcessRecipeMap = current().recipesByTag.get(tag);
+        if (multiProcessRecipeMap == null) {
+            return null;
+        }
+
+        return new MultiProcessRecipeReader(multiProcessRecipeMap);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public MultiProcessRecipeReader readerByTag(Key tag, Process startProcess) {
+        MultiProcessRecipeReader reader = readerByTag(tag);
+        if (reader != null) {
+            reader.setCurrentProcess(startProcess);
+        }
+        return reader;
+    }
+
+    //#endregion By Tag
+
     //#region All Recipes
 
     /**
@@ -479,8 +641,9 @@ public class RecipeIndex implements RecipeIndexView {
      */
     @Override
     public MultiProcessRecipeReader readerWithAllRecipes() {
-        MultiProcessRecipeMap allProcessRecipeMap = new MultiProcessRecipeMap(new Grouping.AllRecipes(), recipesByProcess.getAllProcessRecipeSets().values());
-        return new MultiProcessRecipeReader(allProcessRecipeMap);
+        // Read directly over the by-process index of the generation, it already groups all recipes.
+        // Safe to share, a generation is never modified once published.
+        return new MultiProcessRecipeReader(current().recipesByProcess);
     }
 
     /**
@@ -504,30 +667,75 @@ public class RecipeIndex implements RecipeIndexView {
     }
     
     //#endregion All Recipes
+
+    //#region Reachability
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ItemKey, Integer> reachableFrom(ItemStack item) {
+        ItemKey key = current().itemKeys.find(item);
+        return key != null ? reachableFrom(key) : Map.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ItemKey, Integer> reachableFrom(ItemKey item) {
+        return itemGraph().reachableFrom(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public List<RecipePathStep> findPath(ItemKey from, ItemKey to) {
+        return itemGraph().shortestPath(from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public List<RecipePathStep> findPath(ItemKey from, ItemKey to, ToIntFunction<Process> processWeights) {
+        return itemGraph().lightestPath(from, to, processWeights);
+    }
+
+    //#endregion Reachability
     //#endregion RecipeIndexView
 
     //#region Summary Logging
 
     @SuppressWarnings("java:S3776") // Temporarly complex method
     public void logSummary() {
+        RecipeIndexGeneration current = current();
+
         VanillaEnoughItems.LOGGER.info("==================== Recipe Index Summary ====================");
         
         // Overall totals
-        int totalRecipes = recipeByKey.size();
-        int totalProcesses = recipesByProcess.getAllProcesses().size();
-        int totalResultTypes = recipesByResult.size();
-        int totalIngredientTypes = recipesByIngredient.size();
-        int totalOtherTypes = recipesByOther.size();
+        int totalRecipes = current.recipeByKey.size();
+        int totalProcesses = current.recipesByProcess.getAllProcesses().size();
+        int totalResultTypes = current.recipesByResult.size();
+        int totalIngredientTypes = current.recipesByIngredient.size();
+        int totalOtherTypes = current.recipesByOther.size();
+        int totalTags = current.recipesByTag.size();
+        int totalTextItems = current.itemText.size();
         
         VanillaEnoughItems.LOGGER.info("Total Recipes Indexed: {}", totalRecipes);
         VanillaEnoughItems.LOGGER.info("Total Processes: {}", totalProcesses);
         VanillaEnoughItems.LOGGER.info("Total Unique Result Types: {}", totalResultTypes);
         VanillaEnoughItems.LOGGER.info("Total Unique Ingredient Types: {}", totalIngredientTypes);
         VanillaEnoughItems.LOGGER.info("Total Unique Other Item Types: {}", totalOtherTypes);
+        VanillaEnoughItems.LOGGER.info("Total Tags Used by Recipes: {}", totalTags);
+        VanillaEnoughItems.LOGGER.info("Total Custom Items Searchable by Text: {}", totalTextItems);
         
         // Per-process breakdown
         VanillaEnoughItems.LOGGER.info("---------- Recipes by Process ----------");
-        NavigableMap<Process, ProcessRecipeSet> processMap = recipesByProcess.getAllProcessRecipeSets();
+        NavigableMap<Process, ProcessRecipeSet> processMap = current.recipesByProcess.getAllProcessRecipeSets();
         for (Map.Entry<Process, ProcessRecipeSet> entry : processMap.entrySet()) {
             Process process = entry.getKey();
             ProcessRecipeSet recipeSet = entry.getValue();
@@ -557,19 +765,19 @@ public class RecipeIndex implements RecipeIndexView {
         
         // Results index summary
         VanillaEnoughItems.LOGGER.info("---------- Recipes by Result (Top 5) ----------");
-        recipesByResult.entrySet().stream()
+        current.recipesByResult.entrySet().stream()
             .sorted((e1, e2) -> Integer.compare(
                 e2.getValue().getAllRecipes().size(), 
                 e1.getValue().getAllRecipes().size()
             ))
             .limit(5)
             .forEach(entry -> {
-                ItemStack result = entry.getKey();
+                ItemKey result = entry.getKey();
                 MultiProcessRecipeMap recipes = entry.getValue();
                 int recipeCount = recipes.getAllRecipes().size();
                 int processCount = recipes.getAllProcesses().size();
                 
-                String resultName = result.getType().name();
+                String resultName = result.type().name();
                 VanillaEnoughItems.LOGGER.info("  {}: {} recipes across {} processes", resultName, recipeCount, processCount);
                 
                 // Show process breakdown for this result
@@ -583,19 +791,19 @@ public class RecipeIndex implements RecipeIndexView {
         
         // Ingredient index summary
         VanillaEnoughItems.LOGGER.info("---------- Recipes by Ingredient (Top 5) ----------");
-        recipesByIngredient.entrySet().stream()
+        current.recipesByIngredient.entrySet().stream()
             .sorted((e1, e2) -> Integer.compare(
                 e2.getValue().getAllRecipes().size(), 
                 e1.getValue().getAllRecipes().size()
             ))
             .limit(5)
             .forEach(entry -> {
-                ItemStack ingredient = entry.getKey();
+                ItemKey ingredient = entry.getKey();
                 MultiProcessRecipeMap recipes = entry.getValue();
                 int recipeCount = recipes.getAllRecipes().size();
                 int processCount = recipes.getAllProcesses().size();
                 
-                String ingredientType = ingredient.getType().name();
+                String ingredientType = ingredient.type().name();
                 VanillaEnoughItems.LOGGER.info("  {}: {} recipes across {} processes", ingredientType, recipeCount, processCount);
                 
                 // Show process breakdown for this used item
@@ -0,0 +1,291 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.ItemType;
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
+import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractor;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.key.Keyed;
+
+/**
+ * One generation of the recipe index: every lookup map of a {@link RecipeIndex}, built together.
+ * <p>
+ * Every change to the index fills a fresh generation off to the side and the owning {@link RecipeIndex} publishes it
+ * with a single reference swap. A generation is never modified once published, readers created from a previous
+ * generation keep reading that generation.
+ */
+@NullMarked
+final class RecipeIndexGeneration {
+
+    private final RecipeDispatchTable dispatchTable;
+    private final TagIndex tagIndex;
+
+    // Dense recipe ordinals shared by every recipe set of this generation
+    final RecipeTable recipeTable = new RecipeTable();
+
+    // Item keys of this generation, every map below shares one key instance per item
+    final ItemKeyTable itemKeys = new ItemKeyTable();
+
+    // Search indexes
+    final ConcurrentSkipListMap<Key, Recipe> recipeByKey = new ConcurrentSkipListMap<>(Key.comparator());
+    final MultiProcessRecipeMap recipesByProcess = new MultiProcessRecipeMap(new Grouping.AllRecipes(), recipeTable); // All recipes by process
+    // Keyed by interned ItemKey, hash computed once per item instead of on every lookup
+    final ConcurrentHashMap<ItemKey, MultiProcessRecipeMap> recipesByResult = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<ItemKey, MultiProcessRecipeMap> recipesByIngredient = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<ItemKey, MultiProcessRecipeMap> recipesByOther = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Key, MultiProcessRecipeMap> recipesByTag = new ConcurrentHashMap<>();
+    // Words of the names and lore of the indexed custom items
+    final ItemTextIndex itemText = new ItemTextIndex();
+
+    // Inverse index for fast lookup
+    /**
+     * Store the first compatible process for a recipe depending {@link Process#COMPARATOR}.
+     * Ordered by recipe rank.
+     */
+    final ConcurrentSkipListMap<Recipe, Process> processByRecipe = new ConcurrentSkipListMap<>(recipeTable.recipeComparator());
+    /**
+     * Extraction output captured at index time, so deindexing never has to run the extractors again.
+     */
+    final ConcurrentHashMap<Key, IndexedRecipe> indexedByKey = new ConcurrentHashMap<>();
+    /**
+     * Single recipe maps handed to by-key readers, built on first use.
+     */
+    private final ConcurrentHashMap<Key, MultiProcessRecipeMap> singleRecipeMapByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Create an empty generation
+     * @param dispatchTable the dispatch table used to resolve the extractor and process of recipes
+     * @param tagIndex the tag index used to resolve the tags of ingredient choices
+     */
+    RecipeIndexGeneration(RecipeDispatchTable dispatchTable, TagIndex tagIndex) {
+        this.dispatchTable = dispatchTable;
+        this.tagIndex = tagIndex;
+    }
+
+    //#region Indexing
+
+    /**
+     * Index a batch of recipes into this empty generation.
+     * <p>
+     * Recipes are extracted first, then given dense ordinals in recipe order, then grouped into the index maps.
+     * In parallel mode extraction and grouping run on the common fork-join pool,
+     * grouping is safe to run concurrently since every map of a generation is concurrent.
+     * The recipes must already be drained from the server (iterating the server recipes is not thread-safe).
+     * @param recipes the recipes to index
+     * @param parallel whether to use the common fork-join pool
+     */
+    void indexRecipes(Collection<Recipe> recipes, boolean parallel) {
+        Stream<Recipe> recipeStream = parallel ? recipes.parallelStream() : recipes.stream();
+        Map<Key, IndexedRecipe> indexedRecipes = recipeStream
+            .map(this::extract)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toMap(IndexedRecipe::key, Function.identity(), (first, last) -> last)); // A later recipe with the same key replaces the earlier one
+
+        insertAll(List.copyOf(indexedRecipes.values()), parallel);
+    }
+
+    /**
+     * Index already extracted recipes into this empty generation, e.g. recipes carried over from the previous generation.
+     * Their item keys are interned in this generation, so no key of the previous generation is retained.
+     * @param indexedRecipes the extracted recipes, one per recipe key
+     */
+    void indexExtracted(Collection<IndexedRecipe> indexedRecipes) {
+        insertAll(indexedRecipes.stream().map(this::relink).toList(), false);
+    }
+
+    private void insertAll(List<IndexedRecipe> indexedRecipes, boolean parallel) {
+        recipeTable.registerSorted(indexedRecipes.stream().map(IndexedRecipe::recipe).toList());
+
+        Stream<IndexedRecipe> indexedStream = parallel ? indexedRecipes.parallelStream() : indexedRecipes.stream();
+        indexedStream.forEach(this::insert);
+    }
+
+    /**
+     * Read a recipe through the extractor and process resolved by the dispatch table.
+     * Item keys are interned in this generation.
+     * @param recipe the recipe to read
+     * @return the extracted recipe, or null if no extractor can handle it
+     */
+    @Nullable
+    IndexedRecipe extract(Recipe recipe) {
+
+        RecipeDispatchTable.Dispatch dispatch = dispatchTable.resolve(recipe);
+        if (dispatch == null) {
+            // Recipes without extractors are skipped silently
+            // Enable debug logging in config to audit unhandled recipe types during development.
+            if (VanillaEnoughItems.veiConfig().debug().unhandledRecipesWarning()) {
+                String key = (recipe instanceof Keyed keyed) ? keyed.key().asString() : "no key available";
+                VanillaEnoughItems.LOGGER.warn("No extractor registered for recipe type: {} ({})", recipe.getClass().getSimpleName(), key);
+            }
+            return null; // Skip indexation for recipes without extractors
+        }
+
+        RecipeExtractor extractor = dispatch.extractor();
+        return new IndexedRecipe(
+            recipe,
+            extractor.extractKey(recipe),
+            dispatch.process(),
+            normalize(extractor.extractResults(recipe)),
+            normalize(extractor.extractIngredients(recipe)),
+            normalize(extractor.extractOthers(recipe)),
+            resolveTags(extractor.extractIngredientChoices(recipe))
+        );
+    }
+
+    /**
+     * Resolve the keys of extracted items, interned in this generation
+     * @param items the items to normalize
+     * @return a compact immutable set of item keys
+     */
+    private Set<ItemKey> normalize(Set<ItemStack> items) {
+        Set<ItemKey> normalized = new HashSet<>(items.size());
+        for (ItemStack item : items) {
+            normalized.add(itemKeys.intern(item));
+        }
+        return Set.copyOf(normalized);
+    }
+
+    /**
+     * Intern the item keys of a recipe extracted in another generation
+     * @param indexedRecipe the extracted recipe
+     * @return the same recipe, with the keys of this generation
+     */
+    private IndexedRecipe relink(IndexedRecipe indexedRecipe) {
+        return new IndexedRecipe(
+            indexedRecipe.recipe(),
+            indexedRecipe.key(),
+            indexedRecipe.process(),
+            relink(indexedRecipe.results()),
+            relink(indexedRecipe.ingredients()),
+            relink(indexedRecipe.others()),
+            indexedRecipe.tags()
+        );
+    }
+
+    private Set<ItemKey> relink(Set<ItemKey> keys) {
+        Set<ItemKey> relinked = new HashSet<>(keys.size());
+        for (ItemKey key : keys) {
+            relinked.add(itemKeys.intern(key));
+        }
+        return Set.copyOf(relinked);
+    }
+
+    /**
+     * Resolve the item tags exactly matched by ingredient choices.
+     * Choices accepting a single item type are skipped, they are already indexed by ingredient.
+     * @param choices the accepted items of each ingredient choice
+     * @return a compact immutable set of tag keys
+     */
+    private Set<Key> resolveTags(List<Set<ItemStack>> choices) {
+        Set<Key> tags = new HashSet<>();
+        for (Set<ItemStack> choice : choices) {
+            if (choice.size() < 2) {
+                continue;
+            }
+
+            Set<ItemType> itemTypes = new HashSet<>(choice.size());
+            for (ItemStack option : choice) {
+                if (!option.isEmpty()) {
+                    itemTypes.add(option.getType().asItemType());
+                }
+            }
+            if (itemTypes.size() < 2) {
+                continue;
+            }
+
+            tagIndex.getTagsExactlyMatching(itemTypes).forEach(tagKey -> tags.add(tagKey.key()));
+        }
+        return Set.copyOf(tags);
+    }
+
+    /**
+     * Add an extracted recipe to every index map, the recipe must already be registered in the recipe table
+     * @param indexedRecipe the extracted recipe
+     */
+    private void insert(IndexedRecipe indexedRecipe) {
+        Recipe recipe = indexedRecipe.recipe();
+        Process process = indexedRecipe.process();
+
+        // Index by id
+        indexedByKey.put(indexedRecipe.key(), indexedRecipe);
+        recipeByKey.put(indexedRecipe.key(), recipe);
+
+        // Index by process
+        processByRecipe.put(recipe, process);
+        recipesByProcess.addRecipe(process, recipe);
+
+        // Index by result
+        for (ItemKey result : indexedRecipe.results()) {
+            MultiProcessRecipeMap multiProcessRecipeMap = recipesByResult.computeIfAbsent(result, r -> new MultiProcessRecipeMap(new Grouping.ByResult(r), recipeTable));
+            multiProcessRecipeMap.addRecipe(process, recipe);
+            itemText.add(result);
+        }
+
+        // Index by ingredient
+        for (ItemKey ingredient : indexedRecipe.ingredients()) {
+            MultiProcessRecipeMap multiProcessRecipeMap = recipesByIngredient.computeIfAbsent(ingredient, i -> new MultiProcessRecipeMap(new Grouping.ByIngredient(i), recipeTable));
+            multiProcessRecipeMap.addRecipe(process, recipe);
+            itemText.add(ingredient);
+        }
+
+        // Index by other
+        for (ItemKey other : indexedRecipe.others()) {
+            MultiProcessRecipeMap multiProcessRecipeMap = recipesByOther.computeIfAbsent(other, o -> new MultiProcessRecipeMap(new Grouping.ByOther(o), recipeTable));
+            multiProcessRecipeMap.addRecipe(process, recipe);
+            itemText.add(other);
+        }
+
+        // Index by tag
+        for (Key tag : indexedRecipe.tags()) {
+            MultiProcessRecipeMap multiProcessRecipeMap = recipesByTag.computeIfAbsent(tag, t -> new MultiProcessRecipeMap(new Grouping.ByTag(t), recipeTable));
+            multiProcessRecipeMap.addRecipe(process, recipe);
+        }
+    }
+
+    //#endregion Indexing
+
+    //#region Views
+
+    /**
+     * Get the shared single recipe map of a recipe key, to back by-key readers without rebuilding it on every call.
+     * Keys that are not indexed are not cached, so the cache never holds an empty map.
+     * @param recipeKey the recipe key
+     * @return the shared map, or null if the key is not indexed
+     */
+    @Nullable
+    MultiProcessRecipeMap singleRecipeMap(Key recipeKey) {
+        MultiProcessRecipeMap cached = singleRecipeMapByKey.get(recipeKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        IndexedRecipe indexedRecipe = indexedByKey.get(recipeKey);
+        if (indexedRecipe == null) {
+            return null;
+        }
+
+        MultiProcessRecipeMap map = new MultiProcessRecipeMap(new Grouping.ByKey(recipeKey), recipeTable);
+        map.addRecipe(indexedRecipe.process(), indexedRecipe.recipe());
+        MultiProcessRecipeMap previous = singleRecipeMapByKey.putIfAbsent(recipeKey, map);
+        return previous != null ? previous : map;
+    }
+
+    //#endregion Views
+}
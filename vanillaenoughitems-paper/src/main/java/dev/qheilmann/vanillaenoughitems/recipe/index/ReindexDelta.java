@@ -0,0 +1,23 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Changes applied to the recipe index by an incremental reindex.
+ *
+ * @param added number of recipes indexed for the first time
+ * @param removed number of recipes no longer present and deindexed
+ * @param changed number of recipes whose content changed and were reindexed
+ * @param unchanged number of recipes left untouched
+ */
+@NullMarked
+public record ReindexDelta(int added, int removed, int changed, int unchanged) {
+
+    /**
+     * Check if the reindex changed anything
+     * @return true if at least one recipe was added, removed or changed
+     */
+    public boolean hasChanges() {
+        return added + removed + changed > 0;
+    }
+}
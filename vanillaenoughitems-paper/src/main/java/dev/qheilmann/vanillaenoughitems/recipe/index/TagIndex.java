@@ -1,10 +1,13 @@
 package dev.qheilmann.vanillaenoughitems.recipe.index;
 
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.bukkit.Registry;
 import org.bukkit.inventory.ItemType;
@@ -17,12 +20,19 @@ import io.papermc.paper.registry.tag.TagKey;
 /**
  * Index for item tags.
  * Maps items to their tags and provides lookup for tags that exactly match a set of items.
+ * <p>
+ * Each indexed item type gets a dense ordinal and each tag is stored as a bitset of ordinals with a precomputed hash,
+ * so finding the tags exactly matching a set of items is one hash lookup and one bitset comparison.
  */
 @NullMarked
 public class TagIndex {
     
     private final ConcurrentHashMap<ItemType, Set<TagKey<ItemType>>> itemToTags = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<TagKey<ItemType>, Set<ItemType>> tagToItems = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ItemType, Integer> itemOrdinals = new ConcurrentHashMap<>();
+    // Tags grouped by exact content, tags sharing the same items share an entry
+    private final ConcurrentHashMap<ItemTypeBits, Set<TagKey<ItemType>>> tagsByContent = new ConcurrentHashMap<>();
+    // Incremented after every indexation, lets dependent caches detect a rebuilt index
+    private final AtomicLong generation = new AtomicLong();
     
     /**
      * Build the tag index from a collection of tags
@@ -32,27 +42,32 @@ public class TagIndex {
     public void index(Iterable<Tag<ItemType>> tags, Registry<ItemType> itemRegistry) {
         int tagCount = 0;
         AtomicInteger itemCount = new AtomicInteger(0);
+        AtomicInteger nextOrdinal = new AtomicInteger(itemOrdinals.size());
+        Map<ItemTypeBits, Set<TagKey<ItemType>>> contentGroups = new HashMap<>();
         
         // Iterate through all tags
         for (Tag<ItemType> tag : tags) {
             TagKey<ItemType> tagKey = tag.tagKey();
             tagCount++;
             
-            Set<ItemType> tagItemsSet = ConcurrentHashMap.newKeySet();
+            BitSet tagItemBits = new BitSet();
             
-            // For each item in the tag, add the tag to that item's set and cache tag contents
+            // For each item in the tag, add the tag to that item's set and mark it in the tag content
             tag.forEach(typedKey -> {
                 ItemType itemType = itemRegistry.get(typedKey);
                 if (itemType != null) {
                     itemToTags.computeIfAbsent(itemType, k -> ConcurrentHashMap.newKeySet()).add(tagKey);
-                    tagItemsSet.add(itemType);
+                    tagItemBits.set(itemOrdinals.computeIfAbsent(itemType, k -> nextOrdinal.getAndIncrement()));
                     itemCount.incrementAndGet();
                 }
             });
             
-            // Cache the tag's items for exact matching
-            tagToItems.put(tagKey, tagItemsSet);
+            // Group the tag with the tags of identical content for exact matching
+            contentGroups.computeIfAbsent(new ItemTypeBits(tagItemBits), k -> new HashSet<>()).add(tagKey);
         }
+
+        contentGroups.forEach((content, tagKeys) -> tagsByContent.put(content, Set.copyOf(tagKeys)));
+        generation.incrementAndGet();
         
         VanillaEnoughItems.LOGGER.info("Tag index: {} tags, {} item-tag mappings", tagCount, itemCount.get());
     }
@@ -72,48 +87,34 @@ public class TagIndex {
      * A tag matches if its items are exactly the same as the provided set.
      * 
      * @param itemTypes the set of item types to match
-     * @return set of tags that exactly match, or empty set if none
+     * @return unmodifiable set of tags that exactly match, or empty set if none
      */
     public Set<TagKey<ItemType>> getTagsExactlyMatching(Set<ItemType> itemTypes) {
         if (itemTypes.isEmpty()) {
             return Set.of();
         }
         
-        // Start with tags from the first item
-        Iterator<ItemType> itemIterator = itemTypes.iterator();
-        ItemType firstItem = itemIterator.next();
-        Set<TagKey<ItemType>> candidateTags = new HashSet<>(getTags(firstItem));
-        
-        if (candidateTags.isEmpty()) {
-            return Set.of();
-        }
-        
-        // Intersect with tags from each subsequent item
-        while (itemIterator.hasNext() && !candidateTags.isEmpty()) {
-            ItemType nextItem = itemIterator.next();
-            candidateTags.retainAll(getTags(nextItem));
-        }
-        
-        if (candidateTags.isEmpty()) {
-            return Set.of();
-        }
-        
-        // Now verify exact match: check that each candidate tag contains exactly our items
-        Set<TagKey<ItemType>> result = new HashSet<>();
-        
-        for (TagKey<ItemType> candidateTag : candidateTags) {
-            // Get the cached tag items
-            Set<ItemType> tagItems = tagToItems.get(candidateTag);
-            
-            // Check if sets are exactly equal (tag doesn't contain extra items)
-            if (tagItems != null && tagItems.equals(itemTypes)) {
-                result.add(candidateTag);
+        BitSet itemBits = new BitSet(itemOrdinals.size());
+        for (ItemType itemType : itemTypes) {
+            Integer ordinal = itemOrdinals.get(itemType);
+            if (ordinal == null) {
+                return Set.of(); // Item in no tag, no tag can match
             }
+            itemBits.set(ordinal);
         }
         
-        return result;
+        Set<TagKey<ItemType>> matchingTags = tagsByContent.get(new ItemTypeBits(itemBits));
+        return matchingTags != null ? matchingTags : Set.of();
     }
     
+    /**
+     * Get the generation of this index, incremented every time tags are indexed
+     * @return the index generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
     /**
      * Get the total number of unique items indexed
      * @return item count
@@ -121,4 +122,29 @@ public class TagIndex {
     public int getIndexedItemCount() {
         return itemToTags.size();
     }
+
+    /**
+     * Set of item type ordinals with its hash computed once
+     */
+    private static final class ItemTypeBits {
+        private final BitSet bits;
+        private final int hash;
+
+        ItemTypeBits(BitSet bits) {
+            this.bits = bits;
+            this.hash = bits.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ItemTypeBits other)) return false;
+            return hash == other.hash && bits.equals(other.bits);
+        }
+    }
 }
@@ -7,19 +7,49 @@ import org.bukkit.inventory.Recipe;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import dev.qheilmann.vanillaenoughitems.VanillaEnoughItems;
 import net.kyori.adventure.key.Key;
 
+/**
+ * Registry implementation resolving recipes to the first compatible process in {@link Process#COMPARATOR} order.
+ * <p>
+ * Once {@link #freeze() frozen}, the registry is read-only: late registrations are logged and ignored.
+ * Resolutions are not cached here, the recipe index caches them per recipe class.
+ */
 @NullMarked
 public class ProcessRegistryImpl implements ProcessRegistry {
 
     private final Map<Key, Process> processes = new HashMap<>();
 
+    private volatile boolean frozen = false;
+    private volatile Process[] orderedProcesses = new Process[0]; // resolution order, compiled on every change
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public void registerProcess(Process process) {
+    public synchronized void registerProcess(Process process) {
+        if (frozen) {
+            VanillaEnoughItems.LOGGER.warn("Process {} registered after VeiRegistrationEvent, ignored", process.key().asString());
+            return;
+        }
         this.processes.put(process.key(), process);
+        this.orderedProcesses = processes.values().stream().sorted(Process.COMPARATOR).toArray(Process[]::new);
+    }
+
+    /**
+     * Freeze the registry, processes registered afterwards are ignored.
+     */
+    public synchronized void freeze() {
+        this.frozen = true;
+    }
+
+    /**
+     * Check if the registry is frozen
+     * @return true if the registry is frozen
+     */
+    public boolean isFrozen() {
+        return frozen;
     }
 
     /**
@@ -36,7 +66,7 @@ public class ProcessRegistryImpl implements ProcessRegistry {
      */
     @Override
     public Process getRecipeProcess(Recipe recipe) {
-        for (Process process : processes.values()) {
+        for (Process process : orderedProcesses) {
             if (process.canHandleRecipe(recipe)) {
                 return process;
             }
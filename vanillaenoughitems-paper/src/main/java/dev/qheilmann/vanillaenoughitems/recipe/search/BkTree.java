@@ -0,0 +1,170 @@
+package dev.qheilmann.vanillaenoughitems.recipe.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Burkhard-Keller tree over string terms, using the Levenshtein edit distance.
+ * <p>
+ * Each child is stored under its distance to the parent term, so by the triangle inequality a query only descends
+ * into the children whose edge lies within the distance budget of the parent distance.
+ * The tree is built once and then only read, it is safe to query from several threads once built.
+ *
+ * @param <T> the type of the values attached to the terms
+ */
+@NullMarked
+public final class BkTree<T> {
+
+    private @Nullable Node<T> root;
+    private int size;
+
+    /**
+     * Add a value under a term, values sharing a term are kept together
+     * @param term the term
+     * @param value the value
+     */
+    public void add(String term, T value) {
+        size++;
+        if (root == null) {
+            root = new Node<>(term, 0);
+            root.values.add(value);
+            return;
+        }
+
+        Node<T> node = root;
+        while (true) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                node.values.add(value);
+                return;
+            }
+
+            Node<T> child = node.child(distance);
+            if (child == null) {
+                child = new Node<>(term, distance);
+                child.values.add(value);
+                node.children.add(child);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Find every term within a distance of a query.
+     * Only the subtrees the triangle inequality cannot rule out are visited, the distance bound is what keeps the search small,
+     * so the matches never depend on the insertion order of the terms.
+     *
+     * @param query the query
+     * @param maxDistance the maximum edit distance, inclusive
+     * @return the matches, in no particular order
+     */
+    public List<Match<T>> search(String query, int maxDistance) {
+        List<Match<T>> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+
+        Deque<Node<T>> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node<T> node = pending.pop();
+
+            int distance = distance(query, node.term);
+            if (distance <= maxDistance) {
+                for (T value : node.values) {
+                    matches.add(new Match<>(node.term, value, distance));
+                }
+            }
+
+            int low = distance - maxDistance;
+            int high = distance + maxDistance;
+            for (Node<T> child : node.children) {
+                if (child.edge >= low && child.edge <= high) {
+                    pending.push(child);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Get the number of values in the tree
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Compute the Levenshtein distance between two strings
+     * @param a the first string
+     * @param b the second string
+     * @return the minimum number of single character insertions, deletions or substitutions turning a into b
+     */
+    public static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        if (b.isEmpty()) {
+            return a.length();
+        }
+
+        // Two rows over the shortest string
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * A term matching a query
+     * @param <T> the type of the value
+     * @param term the matching term
+     * @param value a value attached to the term
+     * @param distance the edit distance between the query and the term
+     */
+    public record Match<T>(String term, T value, int distance) {}
+
+    private static final class Node<T> {
+        private final String term;
+        private final int edge; // distance to the parent term
+        private final List<T> values = new ArrayList<>(1);
+        private final List<Node<T>> children = new ArrayList<>(2);
+
+        Node(String term, int edge) {
+            this.term = term;
+            this.edge = edge;
+        }
+
+        @Nullable
+        Node<T> child(int edge) {
+            for (Node<T> child : children) {
+                if (child.edge == edge) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+}
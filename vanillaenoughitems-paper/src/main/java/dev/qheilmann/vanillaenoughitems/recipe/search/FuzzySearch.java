@@ -0,0 +1,158 @@
+package dev.qheilmann.vanillaenoughitems.recipe.search;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.ItemType;
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import net.kyori.adventure.key.Key;
+
+/**
+ * Typo tolerant search over the keys of the indexed items and recipes ({@code diamon_pickaxe} finds {@code minecraft:diamond_pickaxe}).
+ * <p>
+ * Terms are the key values without their namespace, stored in a {@link BkTree}.
+ * The tree is rebuilt lazily, on the first search after the recipe index changed.
+ * Custom items have no key of their own and are not part of this search.
+ */
+@NullMarked
+public final class FuzzySearch {
+
+    /**
+     * Maximum number of results returned by a search
+     */
+    public static final int MAX_RESULTS = 90;
+
+    /**
+     * Largest edit distance accepted, whatever the query length
+     */
+    public static final int MAX_DISTANCE = 3;
+
+    private static final Comparator<BkTree.Match<SearchResult>> MATCH_ORDER = Comparator
+        .<BkTree.Match<SearchResult>>comparingInt(BkTree.Match::distance)
+        .thenComparing(match -> match.value().kind())
+        .thenComparing(BkTree.Match::term)
+        .thenComparing(match -> match.value().key().asString());
+
+    private final RecipeIndex recipeIndex;
+    private @Nullable BkTree<SearchResult> tree;
+    private long treeGeneration;
+
+    /**
+     * Create a fuzzy search over a recipe index
+     * @param recipeIndex the recipe index
+     */
+    public FuzzySearch(RecipeIndex recipeIndex) {
+        this.recipeIndex = recipeIndex;
+    }
+
+    /**
+     * Find the items and recipes whose key is the closest to a text.
+     * Results are ordered by distance, items before recipes, then by key.
+     *
+     * @param text the text, case insensitive, with or without namespace
+     * @return up to {@link #MAX_RESULTS} results, empty if nothing is close enough
+     */
+    public List<SearchResult> search(String text) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        return rank(tree().search(query, distanceBudget(query.length())));
+    }
+
+    /**
+     * Order matches by distance, items before recipes, then by term and key, keeping the best {@link #MAX_RESULTS}
+     * @param matches the matches of a search
+     * @return the best results, best first
+     */
+    static List<SearchResult> rank(Collection<BkTree.Match<SearchResult>> matches) {
+        return matches.stream()
+            .sorted(MATCH_ORDER)
+            .limit(MAX_RESULTS)
+            .map(BkTree.Match::value)
+            .toList();
+    }
+
+    /**
+     * Get the edit distance accepted for a query, one typo per four characters, between 1 and {@link #MAX_DISTANCE}
+     * @param length the query length
+     * @return the distance budget
+     */
+    public static int distanceBudget(int length) {
+        return Math.clamp(length / 4, 1, MAX_DISTANCE);
+    }
+
+    /**
+     * Normalize a text to a search term, lowercase without namespace and with spaces as underscores
+     * @param text the text
+     * @return the search term
+     */
+    public static String normalize(String text) {
+        String term = text.trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+        int namespaceEnd = term.indexOf(':');
+        return namespaceEnd >= 0 ? term.substring(namespaceEnd + 1) : term;
+    }
+
+    private synchronized BkTree<SearchResult> tree() {
+        // Read before building, a change made during the build triggers another rebuild on the next search
+        long generation = recipeIndex.generation();
+        BkTree<SearchResult> current = tree;
+        if (current == null || treeGeneration != generation) {
+            current = build(recipeIndex);
+            tree = current;
+            treeGeneration = generation;
+        }
+        return current;
+    }
+
+    private static BkTree<SearchResult> build(RecipeIndex recipeIndex) {
+        BkTree<SearchResult> tree = new BkTree<>();
+
+        // Items, only plain vanilla items have a key
+        Set<Material> types = new HashSet<>();
+        addPlainTypes(recipeIndex.getAllResultItems(), types);
+        addPlainTypes(recipeIndex.getAllIngredientItems(), types);
+        addPlainTypes(recipeIndex.getAllOtherItems(), types);
+        for (Material type : types) {
+            ItemType itemType = type.asItemType();
+            if (itemType == null) {
+                continue;
+            }
+            Key key = itemType.key();
+            tree.add(normalize(key.value()), new SearchResult(SearchResult.Kind.ITEM, key, itemType.createItemStack()));
+        }
+
+        // Recipes
+        for (Map.Entry<Key, Recipe> entry : recipeIndex.getAllRecipesByKey().entrySet()) {
+            Key key = entry.getKey();
+            ItemStack icon = entry.getValue().getResult();
+            if (icon.isEmpty()) {
+                icon = ItemType.PAPER.createItemStack(); // e.g. smithing trims
+            }
+            tree.add(normalize(key.value()), new SearchResult(SearchResult.Kind.RECIPE, key, icon.asOne()));
+        }
+
+        return tree;
+    }
+
+    private static void addPlainTypes(Set<ItemKey> items, Set<Material> types) {
+        for (ItemKey item : items) {
+            if (!item.toItemStack().hasItemMeta()) {
+                types.add(item.type());
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.qheilmann.vanillaenoughitems.recipe.search;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import dev.qheilmann.vanillaenoughitems.recipe.index.reader.MultiProcessRecipeReader;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+/**
+ * An indexed item or recipe found by a search.
+ *
+ * @param kind whether the result is an item or a recipe
+ * @param key the item key, or the recipe key, unique among the results of a search
+ * @param label the text shown for the result, the key or the name of a custom item
+ * @param icon the item, or the recipe result, never exposed (use {@link #createIcon()})
+ */
+@NullMarked
+public record SearchResult(Kind kind, Key key, String label, ItemStack icon) {
+
+    /**
+     * Create a result labelled with its key
+     * @param kind whether the result is an item or a recipe
+     * @param key the item key, or the recipe key
+     * @param icon the item, or the recipe result
+     */
+    public SearchResult(Kind kind, Key key, ItemStack icon) {
+        this(kind, key, key.asString(), icon);
+    }
+
+    /**
+     * Kind of search result
+     */
+    public enum Kind {
+        ITEM,
+        RECIPE
+    }
+
+    /**
+     * Create the result of an indexed item.
+     * Plain items are keyed by their item type. Custom items share the key of their material, so their key gets the hash
+     * of their components ({@code minecraft:paper/1f2e3d}) and they are labelled with their name.
+     * @param item the item key
+     * @return the search result
+     */
+    public static SearchResult ofItem(ItemKey item) {
+        ItemStack icon = item.toItemStack();
+        Key typeKey = item.type().key();
+        if (!icon.hasItemMeta()) {
+            return new SearchResult(Kind.ITEM, typeKey, icon);
+        }
+
+        Key key = Key.key(typeKey.namespace(), typeKey.value() + "/" + Integer.toHexString(item.hashCode()));
+        return new SearchResult(Kind.ITEM, key, nameOf(icon.getItemMeta(), key), icon);
+    }
+
+    private static String nameOf(ItemMeta meta, Key key) {
+        if (meta.hasDisplayName()) {
+            return PlainTextComponentSerializer.plainText().serialize(meta.displayName());
+        }
+        if (meta.hasItemName()) {
+            return PlainTextComponentSerializer.plainText().serialize(meta.itemName());
+        }
+        return key.asString();
+    }
+
+    /**
+     * Create a copy of the icon of this result
+     * @return a new ItemStack
+     */
+    public ItemStack createIcon() {
+        return icon.clone();
+    }
+
+    /**
+     * Create a reader over the recipes of this result.
+     * Items open their recipes, or their usages when nothing produces them.
+     *
+     * @param recipeIndex the recipe index
+     * @return a new reader, or null if the result is no longer indexed
+     */
+    @Nullable
+    public MultiProcessRecipeReader createReader(RecipeIndex recipeIndex) {
+        return switch (kind) {
+            case ITEM -> {
+                MultiProcessRecipeReader reader = recipeIndex.readerByResult(icon);
+                yield reader != null ? reader : recipeIndex.readerByIngredient(icon);
+            }
+            case RECIPE -> recipeIndex.readerByKey(key);
+        };
+    }
+}
@@ -0,0 +1,231 @@
+package dev.qheilmann.vanillaenoughitems.recipe.tree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Expands items for a single craft down to raw materials, memoizing the expansions that do not depend on where they are used.
+ * <p>
+ * An item is crafted with its first candidate recipe whose every ingredient has an option that does not loop back
+ * to an item being crafted above it (the path), an item without such a recipe is a raw material.
+ * An expansion is memoized only when no recipe of its sub-tree was skipped because of a loop to an item above it,
+ * and a memoized expansion is only reused when no item of its sub-tree is on the current path, so reuse never creates a loop.
+ * Expansions cut short by {@link #MAX_DEPTH} or {@link #MAX_EXPANSIONS} are never memoized.
+ * <p>
+ * Not thread-safe, the owner synchronizes the calls.
+ *
+ * @param <I> the item type
+ * @param <R> the recipe type
+ */
+@NullMarked
+final class CraftExpander<I, R> {
+
+    static final int MAX_DEPTH = 32;
+    static final int MAX_EXPANSIONS = 20_000; // per expansion, the rest is considered raw
+
+    private static final int NO_REFERENCE = Integer.MAX_VALUE;
+    private static final int INCOMPLETE = -1; // lower than any depth, never memoized
+
+    private final Source<I, R> source;
+    private final Expansion<I, R> raw = new Expansion<>(null, 1, List.of(), Set.of());
+    private final Map<I, Expansion<I, R>> memo = new HashMap<>();
+
+    /**
+     * Create an expander
+     * @param source the recipes and ingredients of the items
+     */
+    CraftExpander(Source<I, R> source) {
+        this.source = source;
+    }
+
+    /**
+     * Expand an item for a single craft
+     * @param item the item
+     * @return the expansion of the item, and whether it was cut short by the limits
+     */
+    Result<I, R> expand(I item) {
+        Resolution<I> resolution = new Resolution<>();
+        Outcome<I, R> outcome = expand(item, resolution);
+        Expansion<I, R> expansion = outcome.expansion() != null ? outcome.expansion() : raw;
+        return new Result<>(expansion, !resolution.incomplete);
+    }
+
+    /**
+     * Forget every memoized expansion, e.g. once the recipes changed
+     */
+    void clear() {
+        memo.clear();
+    }
+
+    /**
+     * Expand an item for a single craft
+     * @param item the item
+     * @param resolution the state of the current expansion
+     * @return the expansion, or the depth of the item being crafted a loop went back to
+     */
+    private Outcome<I, R> expand(I item, Resolution<I> resolution) {
+        Expansion<I, R> memoized = memo.get(item);
+        if (memoized != null && isDisjoint(memoized.items(), resolution.path.keySet())) {
+            return new Outcome<>(memoized, NO_REFERENCE);
+        }
+        // Otherwise the memoized sub-tree crafts an item of the path, expand it again around the path
+
+        int depth = resolution.path.size();
+        if (depth >= MAX_DEPTH || resolution.expansions++ >= MAX_EXPANSIONS) {
+            resolution.incomplete = true;
+            return new Outcome<>(raw, INCOMPLETE);
+        }
+
+        resolution.path.put(item, depth);
+        int lowestReference = NO_REFERENCE;
+        Expansion<I, R> expansion = null;
+
+        candidates:
+        for (R recipe : source.candidates(item)) {
+            List<Input<I, R>> inputs = new ArrayList<>();
+            for (Ingredient<I> ingredient : source.ingredients(recipe)) {
+                Input<I, R> input = null;
+                for (I option : ingredient.options()) {
+                    Integer loopDepth = resolution.path.get(option);
+                    if (loopDepth != null) {
+                        lowestReference = Math.min(lowestReference, loopDepth);
+                        continue;
+                    }
+
+                    Outcome<I, R> sub = expand(option, resolution);
+                    lowestReference = Math.min(lowestReference, sub.lowestReference());
+                    if (sub.expansion() != null) {
+                        input = new Input<>(option, ingredient.count(), sub.expansion());
+                        break;
+                    }
+                }
+
+                if (input == null) {
+                    continue candidates; // Every option loops back, try the next recipe
+                }
+                inputs.add(input);
+            }
+
+            expansion = new Expansion<>(recipe, source.yield(recipe), List.copyOf(inputs), itemsOf(inputs));
+            break;
+        }
+        resolution.path.remove(item);
+
+        // The recipes loop back to an item crafted higher in the tree, let it try another recipe
+        if (expansion == null && lowestReference < depth) {
+            return new Outcome<>(null, lowestReference);
+        }
+
+        // No recipe, or the recipes only loop back to this item: it is a raw material
+        if (expansion == null) {
+            expansion = raw;
+        }
+
+        if (lowestReference >= depth) {
+            memo.put(item, expansion);
+            return new Outcome<>(expansion, NO_REFERENCE);
+        }
+        return new Outcome<>(expansion, lowestReference);
+    }
+
+    private static <I, R> Set<I> itemsOf(List<Input<I, R>> inputs) {
+        Set<I> items = new HashSet<>();
+        for (Input<I, R> input : inputs) {
+            items.add(input.item());
+            items.addAll(input.expansion().items());
+        }
+        return Set.copyOf(items);
+    }
+
+    private static <I> boolean isDisjoint(Set<I> items, Set<I> path) {
+        Set<I> smaller = items.size() <= path.size() ? items : path;
+        Set<I> larger = smaller == items ? path : items;
+        for (I item : smaller) {
+            if (larger.contains(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recipes and ingredients of the items
+     * @param <I> the item type
+     * @param <R> the recipe type
+     */
+    interface Source<I, R> {
+
+        /**
+         * Get the recipes that may craft an item, in order of preference
+         * @param item the item
+         * @return the candidate recipes
+         */
+        List<R> candidates(I item);
+
+        /**
+         * Get the ingredients consumed by one craft of a recipe
+         * @param recipe the recipe
+         * @return the ingredients, identical choices grouped with their count
+         */
+        List<Ingredient<I>> ingredients(R recipe);
+
+        /**
+         * Get the number of items one craft of a recipe produces
+         * @param recipe the recipe
+         * @return the yield, at least 1
+         */
+        int yield(R recipe);
+    }
+
+    /**
+     * One ingredient of a recipe
+     * @param options the accepted items, in order of preference
+     * @param count the number of items consumed by one craft
+     */
+    record Ingredient<I>(List<I> options, int count) {}
+
+    /**
+     * How a single craft of an item is made
+     * @param recipe the recipe, null for raw materials
+     * @param yield the number of items one craft produces
+     * @param inputs the expanded ingredients
+     * @param items every item of the sub-tree, the item itself excluded
+     */
+    record Expansion<I, R>(@Nullable R recipe, int yield, List<Input<I, R>> inputs, Set<I> items) {}
+
+    /**
+     * An expanded ingredient
+     * @param item the chosen option
+     * @param count the number of items consumed by one craft
+     * @param expansion the expansion of the option
+     */
+    record Input<I, R>(I item, int count, Expansion<I, R> expansion) {}
+
+    /**
+     * @param expansion the expansion of the item
+     * @param complete false if a part of the tree was cut short by the limits and considered raw
+     */
+    record Result<I, R>(Expansion<I, R> expansion, boolean complete) {}
+
+    /**
+     * @param expansion the expansion, or null if every recipe loops back to an item crafted higher in the tree
+     * @param lowestReference the depth of the highest item a skipped recipe looped back to, {@link #NO_REFERENCE} if none
+     */
+    private record Outcome<I, R>(@Nullable Expansion<I, R> expansion, int lowestReference) {}
+
+    /**
+     * State of one expansion: the items being crafted with their depth, and the work done so far
+     */
+    private static final class Resolution<I> {
+        private final Map<I, Integer> path = new HashMap<>();
+        private int expansions;
+        private boolean incomplete;
+    }
+}
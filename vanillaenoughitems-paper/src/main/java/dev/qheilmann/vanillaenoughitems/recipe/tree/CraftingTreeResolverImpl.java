@@ -0,0 +1,214 @@
+package dev.qheilmann.vanillaenoughitems.recipe.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+import org.jspecify.annotations.NullMarked;
+
+import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistry;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ItemKey;
+import dev.qheilmann.vanillaenoughitems.recipe.index.MultiProcessRecipeMap;
+import dev.qheilmann.vanillaenoughitems.recipe.index.ProcessRecipeSet;
+import dev.qheilmann.vanillaenoughitems.recipe.index.RecipeIndex;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import net.kyori.adventure.key.Key;
+
+/**
+ * Crafting tree resolver over a {@link RecipeIndex}.
+ * <p>
+ * Items are first expanded for a single craft by a {@link CraftExpander}, which memoizes the expansions that do not depend
+ * on the items being crafted above them and never reuses one that would loop back to them, then scaled to the requested amount.
+ * Trees cut short by the depth or work limits of the expander are returned but not cached.
+ * The memo and the resolved trees are dropped when the {@link RecipeIndex#generation() index generation} or a policy changes.
+ */
+@NullMarked
+public class CraftingTreeResolverImpl implements CraftingTreeResolver {
+
+    private static final int MAX_CACHED_TREES = 256;
+
+    private static final Comparator<ItemStack> OPTION_ORDER = Comparator
+        .comparing(ItemStack::getType)
+        .thenComparingInt(ItemStack::hashCode);
+
+    private final RecipeIndex recipeIndex;
+    private final RecipeExtractorRegistry recipeExtractor;
+    private final Map<Key, RecipeChoicePolicy> policyByProcess = new HashMap<>();
+
+    // Guarded by this
+    private long cacheGeneration;
+    private final CraftExpander<ItemKey, Candidate> expander = new CraftExpander<>(new IndexSource());
+    private final Map<Recipe, List<CraftExpander.Ingredient<ItemKey>>> ingredientsByRecipe = new HashMap<>();
+    private final LinkedHashMap<TreeRequest, CraftingTree> trees = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TreeRequest, CraftingTree> eldest) {
+            return size() > MAX_CACHED_TREES;
+        }
+    };
+
+    /**
+     * Create a resolver over a recipe index
+     * @param recipeIndex the recipe index
+     * @param recipeExtractor the extractor registry, reading the ingredients of the recipes
+     */
+    public CraftingTreeResolverImpl(RecipeIndex recipeIndex, RecipeExtractorRegistry recipeExtractor) {
+        this.recipeIndex = recipeIndex;
+        this.recipeExtractor = recipeExtractor;
+        this.cacheGeneration = recipeIndex.generation();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized CraftingTree resolve(ItemStack result, long amount) {
+        if (amount < 1) {
+            throw new IllegalArgumentException("Amount must be positive: " + amount);
+        }
+
+        long generation = recipeIndex.generation();
+        if (generation != cacheGeneration) {
+            clearCaches();
+            cacheGeneration = generation;
+        }
+
+        TreeRequest request = new TreeRequest(ItemKey.of(result), amount);
+        CraftingTree cached = trees.get(request);
+        if (cached != null) {
+            return cached;
+        }
+
+        CraftExpander.Result<ItemKey, Candidate> expanded = expander.expand(request.item());
+        Map<ItemKey, Long> rawMaterials = new LinkedHashMap<>();
+        CraftingNode root = materialize(request.item(), request.amount(), expanded.expansion(), rawMaterials);
+        CraftingTree tree = new CraftingTree(root, Collections.unmodifiableMap(rawMaterials));
+        if (expanded.complete()) {
+            trees.put(request, tree); // Cut short trees are rebuilt, they are not the actual tree
+        }
+        return tree;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setChoicePolicy(Process process, RecipeChoicePolicy policy) {
+        policyByProcess.put(process.key(), policy);
+        clearCaches();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized RecipeChoicePolicy getChoicePolicy(Process process) {
+        return policyByProcess.getOrDefault(process.key(), RecipeChoicePolicy.FIRST);
+    }
+
+    private void clearCaches() {
+        expander.clear();
+        ingredientsByRecipe.clear();
+        trees.clear();
+    }
+
+    //#region Expansion
+
+    /**
+     * Get the recipes that may craft an item, processes in {@link Process#COMPARATOR} order filtered by their policy
+     */
+    private List<Candidate> candidates(ItemKey item) {
+        MultiProcessRecipeMap recipeMap = recipeIndex.getAllRecipesByResult().get(item);
+        if (recipeMap == null) {
+            return List.of();
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map.Entry<Process, ProcessRecipeSet> entry : recipeMap.getAllProcessRecipeSets().entrySet()) {
+            Process process = entry.getKey();
+            for (Recipe recipe : getChoicePolicy(process).candidates(item, entry.getValue().getRecipes())) {
+                if (!recipe.getResult().isEmpty()) { // e.g. smithing trims have no fixed result
+                    candidates.add(new Candidate(process, recipe));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Get the ingredients consumed by one craft of a recipe, identical choices grouped with their count
+     */
+    private List<CraftExpander.Ingredient<ItemKey>> ingredients(Candidate candidate) {
+        return ingredientsByRecipe.computeIfAbsent(candidate.recipe(), r -> {
+            Map<Set<ItemStack>, Integer> countByChoice = new LinkedHashMap<>();
+            for (Set<ItemStack> choice : recipeExtractor.extractIngredientChoices(r)) {
+                if (!choice.isEmpty()) {
+                    countByChoice.merge(choice, 1, Integer::sum);
+                }
+            }
+
+            List<CraftExpander.Ingredient<ItemKey>> ingredients = new ArrayList<>(countByChoice.size());
+            countByChoice.forEach((choice, count) -> {
+                List<ItemKey> options = choice.stream()
+                    .sorted(OPTION_ORDER)
+                    .map(ItemKey::of)
+                    .distinct()
+                    .toList();
+                ingredients.add(new CraftExpander.Ingredient<>(options, count));
+            });
+            return List.copyOf(ingredients);
+        });
+    }
+
+    //#endregion Expansion
+
+    /**
+     * Scale a single craft expansion to an amount, summing the raw materials
+     */
+    private static CraftingNode materialize(ItemKey item, long amount, CraftExpander.Expansion<ItemKey, Candidate> expansion, Map<ItemKey, Long> rawMaterials) {
+        Candidate candidate = expansion.recipe();
+        if (candidate == null) {
+            rawMaterials.merge(item, amount, Long::sum);
+            return new CraftingNode(item, amount, null, null, 0, List.of());
+        }
+
+        long crafts = Math.ceilDiv(amount, expansion.yield());
+        List<CraftingNode> inputs = new ArrayList<>(expansion.inputs().size());
+        for (CraftExpander.Input<ItemKey, Candidate> input : expansion.inputs()) {
+            long inputAmount = Math.multiplyExact(crafts, input.count());
+            inputs.add(materialize(input.item(), inputAmount, input.expansion(), rawMaterials));
+        }
+        return new CraftingNode(item, amount, candidate.recipe(), candidate.process(), crafts, List.copyOf(inputs));
+    }
+
+    private record Candidate(Process process, Recipe recipe) {}
+
+    private record TreeRequest(ItemKey item, long amount) {}
+
+    /**
+     * Recipes of the index, read under the resolver lock
+     */
+    private final class IndexSource implements CraftExpander.Source<ItemKey, Candidate> {
+
+        @Override
+        public List<Candidate> candidates(ItemKey item) {
+            return CraftingTreeResolverImpl.this.candidates(item);
+        }
+
+        @Override
+        public List<CraftExpander.Ingredient<ItemKey>> ingredients(Candidate candidate) {
+            return CraftingTreeResolverImpl.this.ingredients(candidate);
+        }
+
+        @Override
+        public int yield(Candidate candidate) {
+            return candidate.recipe().getResult().getAmount();
+        }
+    }
+}
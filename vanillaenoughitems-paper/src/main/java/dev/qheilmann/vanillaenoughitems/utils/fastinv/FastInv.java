@@ -67,6 +67,12 @@ public class FastInv implements InventoryHolder {
 
     private final Inventory inventory;
 
+    // Slots written during a batch, items and click handlers are only applied when the batch ends
+    private final @Nullable ItemStack[] stagedItems;
+    private final @Nullable Consumer<InventoryClickEvent>[] stagedHandlers;
+    private final BitSet stagedSlots = new BitSet();
+    private int batchDepth;
+
     private @Nullable Predicate<Player> closeFilter;
 
     /**
@@ -120,6 +126,8 @@ public class FastInv implements InventoryHolder {
         }
 
         this.inventory = inv;
+        this.stagedItems = new ItemStack[inv.getSize()];
+        this.stagedHandlers = newHandlerArray(inv.getSize());
     }
 
     /**
@@ -222,12 +230,12 @@ public class FastInv implements InventoryHolder {
      * @param handler the click handler associated with this item
      */
     public void setItem(int slot, @Nullable ItemStack item, @Nullable Consumer<InventoryClickEvent> handler) {
-        this.inventory.setItem(slot, item);
-
-        if (handler != null) {
-            this.itemHandlers.put(slot, handler);
+        if (this.batchDepth > 0) {
+            this.stagedItems[slot] = item;
+            this.stagedHandlers[slot] = handler;
+            this.stagedSlots.set(slot);
         } else {
-            this.itemHandlers.remove(slot);
+            updateSlot(slot, item, handler);
         }
     }
 
@@ -352,8 +360,7 @@ public class FastInv implements InventoryHolder {
      * @param slot the slot from where to remove the item
      */
     public void removeItem(int slot) {
-        this.inventory.clear(slot);
-        this.itemHandlers.remove(slot);
+        setItem(slot, null, null);
     }
 
     /**
@@ -373,6 +380,61 @@ public class FastInv implements InventoryHolder {
     public void clearItems() {
         this.inventory.clear();
         this.itemHandlers.clear();
+        Arrays.fill(this.stagedItems, null);
+        Arrays.fill(this.stagedHandlers, null);
+        this.stagedSlots.clear();
+    }
+
+    /**
+     * Run a set of slot updates as one batch: a slot written several times during the batch
+     * (e.g. filled with a filler then with a button) is only written once, with its last item,
+     * and only if that item differs from the one already shown.
+     * Items and click handlers set during the batch are only applied when the batch ends. Batches can be nested.
+     *
+     * @param updates the slot updates to run
+     */
+    public void batch(Runnable updates) {
+        this.batchDepth++;
+        try {
+            updates.run();
+        } finally {
+            if (--this.batchDepth == 0) {
+                for (int slot = this.stagedSlots.nextSetBit(0); slot >= 0; slot = this.stagedSlots.nextSetBit(slot + 1)) {
+                    updateSlot(slot, this.stagedItems[slot], this.stagedHandlers[slot]);
+                    this.stagedItems[slot] = null;
+                    this.stagedHandlers[slot] = null;
+                }
+                this.stagedSlots.clear();
+            }
+        }
+    }
+
+    /**
+     * Set the click handler of a slot and write its item, unless the slot already holds an equal item.
+     * The item is compared with the inventory content itself, so direct changes to the inventory are never missed.
+     */
+    private void updateSlot(int slot, @Nullable ItemStack item, @Nullable Consumer<InventoryClickEvent> handler) {
+        if (handler != null) {
+            this.itemHandlers.put(slot, handler);
+        } else {
+            this.itemHandlers.remove(slot);
+        }
+
+        if (!isSameItem(this.inventory.getItem(slot), item)) {
+            this.inventory.setItem(slot, item);
+        }
+    }
+
+    private static boolean isSameItem(@Nullable ItemStack current, @Nullable ItemStack item) {
+        if (current == null || current.isEmpty()) {
+            return item == null || item.isEmpty();
+        }
+        return current.equals(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable Consumer<InventoryClickEvent>[] newHandlerArray(int size) {
+        return (Consumer<InventoryClickEvent>[]) new Consumer<?>[size];
     }
 
     /**
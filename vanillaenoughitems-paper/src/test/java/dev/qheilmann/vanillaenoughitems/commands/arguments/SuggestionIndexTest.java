@@ -0,0 +1,80 @@
+package dev.qheilmann.vanillaenoughitems.commands.arguments;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SuggestionIndexTest {
+
+    private final SuggestionIndex index = new SuggestionIndex(List.of(
+        "minecraft:diamond",
+        "minecraft:diamond_axe",
+        "minecraft:diamond_block",
+        "minecraft:iron_axe",
+        "minecraft:stone_axe",
+        "minecraft:pickaxe_holder",
+        "custom:battleaxe",
+        "minecraft:diamond" // Duplicate
+    ));
+
+    @Test
+    void entryPrefixesComeFirst() {
+        assertEquals(
+            List.of("minecraft:diamond", "minecraft:diamond_axe", "minecraft:diamond_block"),
+            index.search("minecraft:dia", 10)
+        );
+    }
+
+    @Test
+    void wordPrefixesFollowEntryPrefixes() {
+        List<String> matches = index.search("axe", 10);
+
+        // Words starting with "axe", then entries only containing it
+        assertEquals(List.of("minecraft:diamond_axe", "minecraft:iron_axe", "minecraft:stone_axe"), matches.subList(0, 3).stream().sorted().toList());
+        assertEquals(List.of("custom:battleaxe", "minecraft:pickaxe_holder"), matches.subList(3, 5).stream().sorted().toList());
+        assertEquals(5, matches.size());
+    }
+
+    @Test
+    void entryPrefixMatchesRankBeforeWordMatchesOfTheSameQuery() {
+        SuggestionIndex words = new SuggestionIndex(List.of("custom:iron", "iron:ore"));
+
+        assertEquals(List.of("iron:ore", "custom:iron"), words.search("iron", 10));
+    }
+
+    @Test
+    void substringsNeedThreeCharacters() {
+        assertEquals(List.of(), index.search("xe", 10), "No word starts with 'xe' and the query is too short for substrings");
+        assertTrue(index.search("ttle", 10).contains("custom:battleaxe"));
+    }
+
+    @Test
+    void substringMatchesRespectCharacterOrder() {
+        SuggestionIndex grams = new SuggestionIndex(List.of("abcxbcd"));
+
+        assertEquals(List.of(), grams.search("abcd", 10), "Every trigram is present, but not the substring");
+        assertEquals(List.of("abcxbcd"), grams.search("cxb", 10));
+    }
+
+    @Test
+    void entriesAreNeverReturnedTwice() {
+        List<String> matches = index.search("diamond", 10);
+
+        assertEquals(matches.stream().distinct().toList(), matches);
+        assertEquals(3, matches.size());
+    }
+
+    @Test
+    void limitStopsTheSearch() {
+        assertEquals(2, index.search("minecraft", 2).size());
+        assertEquals(List.of(), index.search("minecraft", 0));
+    }
+
+    @Test
+    void emptyQueryListsEntriesInOrder() {
+        assertEquals(List.of("custom:battleaxe", "minecraft:diamond"), index.search("", 2));
+    }
+}
@@ -0,0 +1,74 @@
+package dev.qheilmann.vanillaenoughitems.recipe.craftable;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CraftableIndexMatcherTest {
+
+    private final CraftableIndex.Matcher matcher = new CraftableIndex.Matcher();
+
+    @Test
+    void aSlotIsFilledByAnyHeldOption() {
+        int[][] slots = {{0, 1}};
+
+        assertTrue(matcher.canCraft(slots, new int[] {0, 1}));
+        assertTrue(matcher.canCraft(slots, new int[] {1, 0}));
+        assertFalse(matcher.canCraft(slots, new int[] {0, 0}));
+    }
+
+    @Test
+    void eachSlotConsumesItsOwnItem() {
+        int[][] slots = {{0}, {0}, {0}};
+
+        assertFalse(matcher.canCraft(slots, new int[] {2}));
+        assertTrue(matcher.canCraft(slots, new int[] {3}));
+    }
+
+    @Test
+    void earlierSlotsMoveToAnotherOptionWhenAnItemRunsOut() {
+        // The first slot takes item 0, the only item of the second slot
+        int[][] slots = {{0, 1}, {0}};
+
+        assertTrue(matcher.canCraft(slots, new int[] {1, 1}));
+    }
+
+    @Test
+    void assignmentsMoveAlongAChain() {
+        int[][] slots = {{0, 1}, {1, 2}, {2, 3}, {0}};
+
+        assertTrue(matcher.canCraft(slots, new int[] {1, 1, 1, 1}));
+        assertFalse(matcher.canCraft(slots, new int[] {1, 1, 1, 0}));
+    }
+
+    @Test
+    void sharedOptionsAreNotCountedTwice() {
+        // Three slots accept items 0 and 1, only two of them are held
+        int[][] slots = {{0, 1}, {0, 1}, {0, 1}};
+
+        assertFalse(matcher.canCraft(slots, new int[] {1, 1}));
+        assertTrue(matcher.canCraft(slots, new int[] {2, 1}));
+    }
+
+    @Test
+    void aSlotWithoutHeldOptionFailsTheRecipe() {
+        int[][] slots = {{0}, {1}};
+
+        assertFalse(matcher.canCraft(slots, new int[] {5, 0}));
+    }
+
+    @Test
+    void theMatcherIsReusedAcrossRecipesOfAnySize() {
+        int[][] large = new int[12][];
+        for (int s = 0; s < large.length; s++) {
+            large[s] = new int[] {s % 3};
+        }
+
+        assertTrue(matcher.canCraft(large, new int[] {4, 4, 4}));
+        assertFalse(matcher.canCraft(large, new int[] {4, 4, 3}));
+        // A smaller recipe after a larger one ignores the stale assignments
+        assertTrue(matcher.canCraft(new int[][] {{2}}, new int[] {0, 0, 1}));
+        assertTrue(matcher.canCraft(new int[][] {{0}, {1}}, new int[] {1, 1, 0}));
+    }
+}
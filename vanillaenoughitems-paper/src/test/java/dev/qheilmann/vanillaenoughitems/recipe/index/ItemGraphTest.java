@@ -0,0 +1,216 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+import org.junit.jupiter.api.Test;
+
+import dev.qheilmann.vanillaenoughitems.recipe.process.AbstractProcess;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Process;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Workbench;
+import net.kyori.adventure.key.Key;
+
+class ItemGraphTest {
+
+    private static final Process CRAFTING = new TestProcess("crafting");
+    private static final Process SMELTING = new TestProcess("smelting");
+
+    private final List<IndexedRecipe> recipes = new ArrayList<>();
+
+    @Test
+    void reachableItemsAreFoundWithTheirMinimalNumberOfRecipes() {
+        recipe(CRAFTING, 1, 2);
+        recipe(CRAFTING, 2, 3);
+        recipe(CRAFTING, 1, 4);
+        recipe(CRAFTING, 4, 3); // Same distance to 3, counted once
+        recipe(CRAFTING, 3, 1); // Back to the start
+
+        Map<ItemKey, Integer> reachable = graph().reachableFrom(item(1));
+
+        assertEquals(Map.of(item(2), 1, item(4), 1, item(3), 2), reachable);
+    }
+
+    @Test
+    void reachableItemsAreOrderedByDistance() {
+        recipe(CRAFTING, 1, 2);
+        recipe(CRAFTING, 2, 3);
+        recipe(CRAFTING, 3, 4);
+
+        assertEquals(List.of(item(2), item(3), item(4)), List.copyOf(graph().reachableFrom(item(1)).keySet()));
+    }
+
+    @Test
+    void everyResultOfARecipeIsReachedFromEveryIngredient() {
+        recipes.add(indexed(CRAFTING, Set.of(item(1), item(2)), Set.of(item(3), item(4))));
+
+        ItemGraph graph = graph();
+
+        assertEquals(Set.of(item(3), item(4)), graph.reachableFrom(item(1)).keySet());
+        assertEquals(Set.of(item(3), item(4)), graph.reachableFrom(item(2)).keySet());
+        assertTrue(graph.reachableFrom(item(3)).isEmpty());
+    }
+
+    @Test
+    void itemsOutsideTheGraphReachNothing() {
+        recipe(CRAFTING, 1, 2);
+
+        assertTrue(graph().reachableFrom(item(9)).isEmpty());
+    }
+
+    //#region Paths
+
+    @Test
+    void shortestPathUsesTheFewestRecipes() {
+        recipe(CRAFTING, 1, 2);
+        recipe(CRAFTING, 2, 3);
+        recipe(CRAFTING, 3, 4);
+        recipe(CRAFTING, 4, 5);
+        recipe(CRAFTING, 1, 6);
+        recipe(CRAFTING, 6, 5);
+
+        assertPath(graph().shortestPath(item(1), item(5)), 1, 6, 5);
+    }
+
+    @Test
+    void shortestPathFollowsALongChainInCraftingOrder() {
+        for (int i = 1; i < 10; i++) {
+            recipe(CRAFTING, i, i + 1);
+        }
+        // Branches on both ends, so each side of the search grows its own frontier
+        recipe(CRAFTING, 1, 20);
+        recipe(CRAFTING, 21, 10);
+
+        assertPath(graph().shortestPath(item(1), item(10)), 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    void shortestPathOnlyFollowsRecipesForward() {
+        recipe(CRAFTING, 1, 2);
+
+        assertNull(graph().shortestPath(item(2), item(1)));
+    }
+
+    @Test
+    void pathsBetweenTheSameItemAreEmpty() {
+        recipe(CRAFTING, 1, 2);
+        ItemGraph graph = graph();
+
+        assertEquals(List.of(), graph.shortestPath(item(1), item(1)));
+        assertEquals(List.of(), graph.lightestPath(item(1), item(1), process -> 1));
+    }
+
+    @Test
+    void pathsFromOrToItemsOutsideTheGraphAreNull() {
+        recipe(CRAFTING, 1, 2);
+        ItemGraph graph = graph();
+
+        assertNull(graph.shortestPath(item(9), item(2)));
+        assertNull(graph.shortestPath(item(1), item(9)));
+        assertNull(graph.lightestPath(item(9), item(2), process -> 1));
+        assertNull(graph.lightestPath(item(1), item(9), process -> 1));
+    }
+
+    @Test
+    void lightestPathAvoidsHeavyProcesses() {
+        recipe(SMELTING, 1, 4);
+        recipe(CRAFTING, 1, 2);
+        recipe(CRAFTING, 2, 3);
+        recipe(CRAFTING, 3, 4);
+        ItemGraph graph = graph();
+
+        assertPath(graph.lightestPath(item(1), item(4), process -> process.equals(SMELTING) ? 10 : 1), 1, 2, 3, 4);
+        assertPath(graph.lightestPath(item(1), item(4), process -> 1), 1, 4);
+    }
+
+    @Test
+    void lightestPathStepsKeepTheirRecipeAndProcess() {
+        recipe(CRAFTING, 1, 2);
+        recipe(SMELTING, 2, 3);
+
+        List<RecipePathStep> path = graph().lightestPath(item(1), item(3), process -> 1);
+
+        assertNotNull(path);
+        assertEquals(List.of(CRAFTING, SMELTING), path.stream().map(RecipePathStep::process).toList());
+        assertEquals(List.of(recipes.get(0).recipe(), recipes.get(1).recipe()), path.stream().map(RecipePathStep::recipe).toList());
+    }
+
+    @Test
+    void lightestPathRejectsWeightsBelowOne() {
+        recipe(CRAFTING, 1, 2);
+        ItemGraph graph = graph();
+
+        assertThrows(IllegalArgumentException.class, () -> graph.lightestPath(item(1), item(2), process -> 0));
+    }
+
+    //#endregion Paths
+
+    //#region Helpers
+
+    private ItemGraph graph() {
+        return ItemGraph.build(recipes, 0);
+    }
+
+    static ItemKey item(int id) {
+        return TestItem.key(id);
+    }
+
+    private static void assertPath(List<RecipePathStep> path, int... items) {
+        assertNotNull(path);
+        assertEquals(items.length - 1, path.size(), () -> "Path " + path);
+        for (int i = 0; i < path.size(); i++) {
+            assertEquals(item(items[i]), path.get(i).input());
+            assertEquals(item(items[i + 1]), path.get(i).output());
+        }
+    }
+
+    private void recipe(Process process, int ingredient, int result) {
+        recipes.add(indexed(process, Set.of(item(ingredient)), Set.of(item(result))));
+    }
+
+    private IndexedRecipe indexed(Process process, Set<ItemKey> ingredients, Set<ItemKey> results) {
+        NamespacedKey key = new NamespacedKey("test", "recipe_" + recipes.size());
+        return new IndexedRecipe(new TestRecipe(key), key, process, results, ingredients, Set.of(), Set.of());
+    }
+
+    private record TestRecipe(NamespacedKey getKey) implements Recipe, Keyed {
+        @Override
+        public ItemStack getResult() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class TestProcess extends AbstractProcess {
+        TestProcess(String name) {
+            super(Key.key("test", name));
+        }
+
+        @Override
+        public boolean canHandleRecipe(Recipe recipe) {
+            return true;
+        }
+
+        @Override
+        public ItemStack symbol() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<Workbench> workbenches() {
+            return Set.of();
+        }
+    }
+
+    //#endregion Helpers
+}
@@ -0,0 +1,185 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Set;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractor;
+import dev.qheilmann.vanillaenoughitems.recipe.extraction.RecipeExtractorRegistryImpl;
+import dev.qheilmann.vanillaenoughitems.recipe.process.AbstractProcess;
+import dev.qheilmann.vanillaenoughitems.recipe.process.ProcessRegistryImpl;
+import dev.qheilmann.vanillaenoughitems.recipe.process.Workbench;
+import net.kyori.adventure.key.Key;
+
+class RecipeIndexReindexTest {
+
+    // Shared by every test recipe, so recipes of the same class always have the same result
+    private static final ItemStack RESULT = new ItemStack() {
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    };
+
+    private RecipeIndex recipeIndex;
+
+    @BeforeEach
+    void setUp() {
+        ProcessRegistryImpl processRegistry = new ProcessRegistryImpl();
+        processRegistry.registerProcess(new TestProcess("first", FirstRecipe.class));
+        processRegistry.registerProcess(new TestProcess("second", SecondRecipe.class));
+        processRegistry.freeze();
+
+        RecipeExtractorRegistryImpl extractorRegistry = new RecipeExtractorRegistryImpl();
+        extractorRegistry.registerExtractor(new EmptyExtractor());
+        extractorRegistry.freeze();
+
+        recipeIndex = new RecipeIndex(processRegistry, extractorRegistry, new TagIndex());
+    }
+
+    @Test
+    void firstReindexAddsEveryRecipe() {
+        ReindexDelta delta = recipeIndex.reindexIncremental(List.of(first("a"), first("b")));
+
+        assertEquals(new ReindexDelta(2, 0, 0, 0), delta);
+        assertEquals(1, recipeIndex.generation());
+        assertEquals(2, recipeIndex.getAllRecipesByKey().size());
+    }
+
+    @Test
+    void sameRecipesAreKeptAndNothingIsPublished() {
+        Recipe a = first("a");
+        recipeIndex.reindexIncremental(List.of(a, first("b")));
+
+        ReindexDelta delta = recipeIndex.reindexIncremental(List.of(first("a"), first("b"))); // New instances, like the server iterator
+
+        assertEquals(new ReindexDelta(0, 0, 0, 2), delta);
+        assertFalse(delta.hasChanges());
+        assertEquals(1, recipeIndex.generation());
+        assertSame(a, recipeIndex.getAllRecipesByKey().get(key("a")), "The indexed instance is kept");
+    }
+
+    @Test
+    void addedAndRemovedRecipesAreCounted() {
+        recipeIndex.reindexIncremental(List.of(first("a"), first("b")));
+
+        ReindexDelta delta = recipeIndex.reindexIncremental(List.of(first("b"), first("c")));
+
+        assertEquals(new ReindexDelta(1, 1, 0, 1), delta);
+        assertEquals(2, recipeIndex.generation());
+        assertEquals(Set.of(key("b"), key("c")), recipeIndex.getAllRecipesByKey().keySet());
+    }
+
+    @Test
+    void recipesHandledByAnotherProcessAreChanged() {
+        recipeIndex.reindexIncremental(List.of(first("a"), first("b")));
+        Recipe changed = new SecondRecipe(key("a"));
+
+        ReindexDelta delta = recipeIndex.reindexIncremental(List.of(changed, first("b")));
+
+        assertEquals(new ReindexDelta(0, 0, 1, 1), delta);
+        assertSame(changed, recipeIndex.getAllRecipesByKey().get(key("a")));
+    }
+
+    @Test
+    void emptyServerRemovesEveryRecipe() {
+        recipeIndex.reindexIncremental(List.of(first("a"), first("b")));
+
+        ReindexDelta delta = recipeIndex.reindexIncremental(List.of());
+
+        assertEquals(new ReindexDelta(0, 2, 0, 0), delta);
+        assertEquals(0, recipeIndex.getAllRecipesByKey().size());
+    }
+
+    //#region Fixtures
+
+    private static NamespacedKey key(String name) {
+        return new NamespacedKey("test", name);
+    }
+
+    private static Recipe first(String name) {
+        return new FirstRecipe(key(name));
+    }
+
+    private interface TestRecipe extends Recipe, Keyed {
+        @Override
+        default ItemStack getResult() {
+            return RESULT;
+        }
+    }
+
+    private record FirstRecipe(NamespacedKey getKey) implements TestRecipe {}
+
+    private record SecondRecipe(NamespacedKey getKey) implements TestRecipe {}
+
+    private static final class TestProcess extends AbstractProcess {
+        private final Class<? extends Recipe> recipeClass;
+
+        TestProcess(String name, Class<? extends Recipe> recipeClass) {
+            super(Key.key("test", name));
+            this.recipeClass = recipeClass;
+        }
+
+        @Override
+        public boolean canHandleRecipe(Recipe recipe) {
+            return recipeClass.isInstance(recipe);
+        }
+
+        @Override
+        public ItemStack symbol() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<Workbench> workbenches() {
+            return Set.of();
+        }
+    }
+
+    /**
+     * Extracts no item, recipes only differ by key and process
+     */
+    private static final class EmptyExtractor implements RecipeExtractor {
+        @Override
+        public Key key() {
+            return Key.key("test", "empty");
+        }
+
+        @Override
+        public boolean canHandle(Recipe recipe) {
+            return recipe instanceof TestRecipe;
+        }
+
+        @Override
+        public Set<ItemStack> extractIngredients(Recipe recipe) {
+            return Set.of();
+        }
+
+        @Override
+        public Set<ItemStack> extractResults(Recipe recipe) {
+            return Set.of();
+        }
+
+        @Override
+        public Set<ItemStack> extractOthers(Recipe recipe) {
+            return Set.of();
+        }
+    }
+
+    //#endregion Fixtures
+}
@@ -0,0 +1,74 @@
+package dev.qheilmann.vanillaenoughitems.recipe.index;
+
+import java.lang.reflect.Proxy;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Custom item identified by a number, usable without a running server.
+ * Only the methods read by {@link ItemKey} are implemented.
+ */
+final class TestItem extends ItemStack {
+
+    private final int id;
+
+    private TestItem(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the key of a test item
+     * @param id the item number
+     * @return the key, equal to the keys of the same number
+     */
+    static ItemKey key(int id) {
+        return ItemKey.of(new TestItem(id));
+    }
+
+    @Override
+    public Material getType() {
+        return Material.PAPER;
+    }
+
+    @Override
+    public boolean hasItemMeta() {
+        return true;
+    }
+
+    @Override
+    public ItemMeta getItemMeta() {
+        return (ItemMeta) Proxy.newProxyInstance(ItemMeta.class.getClassLoader(), new Class<?>[] {ItemMeta.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "hashCode" -> id;
+            case "equals" -> proxy == args[0];
+            case "toString" -> "TestMeta[" + id + "]";
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @Override
+    public ItemStack asOne() {
+        return this;
+    }
+
+    @Override
+    public boolean isSimilar(ItemStack other) {
+        return other instanceof TestItem item && item.id == id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof TestItem item && item.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "TestItem[" + id + "]";
+    }
+}
@@ -0,0 +1,110 @@
+package dev.qheilmann.vanillaenoughitems.recipe.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class BkTreeTest {
+
+    @Test
+    void distanceCountsEdits() {
+        assertEquals(0, BkTree.distance("diamond", "diamond"));
+        assertEquals(1, BkTree.distance("diamon", "diamond"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(3, BkTree.distance("", "axe"));
+        assertEquals(BkTree.distance("sitting", "kitten"), BkTree.distance("kitten", "sitting"));
+    }
+
+    @Test
+    void valuesSharingATermAreKeptTogether() {
+        BkTree<Integer> tree = new BkTree<>();
+        tree.add("stick", 1);
+        tree.add("stick", 2);
+
+        assertEquals(2, tree.size());
+        assertEquals(Set.of(1, 2), values(tree.search("stick", 0)));
+    }
+
+    @Test
+    void searchFindsEveryTermWithinTheDistanceOfALargeTree() {
+        List<String> terms = randomTerms(20_000);
+        BkTree<String> tree = treeOf(terms);
+
+        for (String query : List.of(terms.get(0), terms.get(9_999), "abcdef", "zzzz", "ab")) {
+            for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+                assertEquals(bruteForce(terms, query, maxDistance), values(tree.search(query, maxDistance)), query + " within " + maxDistance);
+            }
+        }
+    }
+
+    @Test
+    void insertionOrderDoesNotChangeTheMatches() {
+        List<String> terms = randomTerms(5_000);
+        List<String> shuffled = new ArrayList<>(terms);
+        Collections.shuffle(shuffled, new Random(7));
+
+        BkTree<String> tree = treeOf(terms);
+        BkTree<String> shuffledTree = treeOf(shuffled);
+        for (String query : List.of("abc", "dcba", terms.get(42))) {
+            assertEquals(values(tree.search(query, 2)), values(shuffledTree.search(query, 2)), query);
+        }
+    }
+
+    @Test
+    void matchesReportTheirDistance() {
+        BkTree<String> tree = treeOf(List.of("diamond", "diamond_axe", "dirt"));
+
+        for (BkTree.Match<String> match : tree.search("diamonds", 3)) {
+            assertEquals(BkTree.distance("diamonds", match.term()), match.distance());
+        }
+    }
+
+    //#region Helpers
+
+    private static List<String> randomTerms(int count) {
+        Random random = new Random(42);
+        Set<String> terms = new HashSet<>();
+        while (terms.size() < count) {
+            int length = 2 + random.nextInt(7);
+            StringBuilder term = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                term.append((char) ('a' + random.nextInt(6))); // Small alphabet, many close terms
+            }
+            terms.add(term.toString());
+        }
+        List<String> sorted = new ArrayList<>(terms);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static BkTree<String> treeOf(List<String> terms) {
+        BkTree<String> tree = new BkTree<>();
+        terms.forEach(term -> tree.add(term, term));
+        return tree;
+    }
+
+    private static Set<String> bruteForce(List<String> terms, String query, int maxDistance) {
+        Set<String> matches = new HashSet<>();
+        for (String term : terms) {
+            if (BkTree.distance(query, term) <= maxDistance) {
+                matches.add(term);
+            }
+        }
+        return matches;
+    }
+
+    private static <T> Set<T> values(List<BkTree.Match<T>> matches) {
+        Set<T> values = new HashSet<>();
+        matches.forEach(match -> values.add(match.value()));
+        return values;
+    }
+
+    //#endregion Helpers
+}
@@ -0,0 +1,86 @@
+package dev.qheilmann.vanillaenoughitems.recipe.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import net.kyori.adventure.key.Key;
+
+class FuzzySearchTest {
+
+    // Icons are never read while ranking, results only compare it by identity
+    private static final ItemStack ICON = new ItemStack() {
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    };
+
+    @Test
+    void distanceBudgetGrowsWithTheQueryLength() {
+        assertEquals(1, FuzzySearch.distanceBudget(1));
+        assertEquals(1, FuzzySearch.distanceBudget(7));
+        assertEquals(2, FuzzySearch.distanceBudget(8));
+        assertEquals(3, FuzzySearch.distanceBudget(12));
+        assertEquals(FuzzySearch.MAX_DISTANCE, FuzzySearch.distanceBudget(64));
+    }
+
+    @Test
+    void normalizeDropsTheNamespaceAndCase() {
+        assertEquals("diamond_pickaxe", FuzzySearch.normalize(" Minecraft:Diamond Pickaxe "));
+        assertEquals("stick", FuzzySearch.normalize("STICK"));
+    }
+
+    @Test
+    void closerMatchesRankFirst() {
+        SearchResult far = item("diamond_axe");
+        SearchResult close = item("diamond");
+
+        List<SearchResult> ranked = FuzzySearch.rank(List.of(match(far, 3), match(close, 1)));
+
+        assertEquals(List.of(close, far), ranked);
+    }
+
+    @Test
+    void itemsRankBeforeRecipesThenByTerm() {
+        SearchResult recipe = new SearchResult(SearchResult.Kind.RECIPE, Key.key("minecraft", "apple"), ICON);
+        SearchResult itemB = item("bread");
+        SearchResult itemA = item("apple");
+
+        List<SearchResult> ranked = FuzzySearch.rank(List.of(match(recipe, 1), match(itemB, 1), match(itemA, 1)));
+
+        assertEquals(List.of(itemA, itemB, recipe), ranked);
+    }
+
+    @Test
+    void rankKeepsTheBestResultsOnly() {
+        List<BkTree.Match<SearchResult>> matches = new ArrayList<>();
+        for (int i = 0; i < FuzzySearch.MAX_RESULTS; i++) {
+            matches.add(match(item("far_" + i), 2));
+        }
+        SearchResult best = item("best");
+        matches.add(match(best, 0)); // Found last, ranked first
+
+        List<SearchResult> ranked = FuzzySearch.rank(matches);
+
+        assertEquals(FuzzySearch.MAX_RESULTS, ranked.size());
+        assertEquals(best, ranked.get(0));
+    }
+
+    private static SearchResult item(String value) {
+        return new SearchResult(SearchResult.Kind.ITEM, Key.key("minecraft", value), ICON);
+    }
+
+    private static BkTree.Match<SearchResult> match(SearchResult result, int distance) {
+        return new BkTree.Match<>(result.key().value(), result, distance);
+    }
+}
@@ -0,0 +1,190 @@
+package dev.qheilmann.vanillaenoughitems.recipe.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftExpander.Expansion;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftExpander.Ingredient;
+import dev.qheilmann.vanillaenoughitems.recipe.tree.CraftExpander.Input;
+
+class CraftExpanderTest {
+
+    private final TestSource source = new TestSource();
+    private final CraftExpander<String, TestRecipe> expander = new CraftExpander<>(source);
+
+    @Test
+    void itemsWithoutRecipeAreRaw() {
+        Expansion<String, TestRecipe> expansion = expander.expand("stone").expansion();
+
+        assertNull(expansion.recipe());
+        assertTrue(expansion.inputs().isEmpty());
+    }
+
+    @Test
+    void firstRecipeWithoutLoopIsUsed() {
+        source.recipe("planks_from_log", "planks", 4, "log");
+        source.recipe("stick", "stick", 4, "planks");
+
+        Expansion<String, TestRecipe> stick = expander.expand("stick").expansion();
+
+        assertEquals("stick", name(stick));
+        assertEquals(List.of("planks"), items(stick));
+        assertEquals("planks_from_log", name(stick.inputs().get(0).expansion()));
+    }
+
+    @Test
+    void recipeOnlyUsingItselfIsRaw() {
+        source.recipe("duplicate", "dust", 2, "dust");
+
+        assertNull(expander.expand("dust").expansion().recipe());
+    }
+
+    @Test
+    void memoizedExpansionIsNotReusedWhenItLoopsBackToThePath() {
+        // a is only crafted from b, b from a first, then from raw r
+        source.recipe("a_from_b", "a", 1, "b");
+        source.recipe("b_from_a", "b", 1, "a");
+        source.recipe("b_from_r", "b", 1, "r");
+
+        Expansion<String, TestRecipe> a = expander.expand("a").expansion();
+        assertEquals("a_from_b", name(a));
+        assertEquals("b_from_r", name(a.inputs().get(0).expansion()));
+
+        // The memoized a -> b -> r would make b -> a -> b -> r
+        Expansion<String, TestRecipe> b = expander.expand("b").expansion();
+        assertEquals("b_from_r", name(b));
+        assertNoLoop("b", b);
+    }
+
+    @Test
+    void ingotAndBlockNeverCraftEachOther() {
+        source.recipe("ingot_from_block", "iron_ingot", 9, "iron_block");
+        source.recipe("ingot_from_smelting", "iron_ingot", 1, "raw_iron");
+        source.recipe("block", "iron_block", 1, "iron_ingot", 9);
+
+        Expansion<String, TestRecipe> block = expander.expand("iron_block").expansion();
+        Expansion<String, TestRecipe> ingot = expander.expand("iron_ingot").expansion();
+
+        assertNoLoop("iron_block", block);
+        assertNoLoop("iron_ingot", ingot);
+        assertEquals("ingot_from_smelting", name(ingot));
+        assertEquals(List.of("raw_iron"), items(ingot));
+    }
+
+    @Test
+    void loopsAreAvoidedWhateverTheResolutionOrder() {
+        source.recipe("a_from_b", "a", 1, "b");
+        source.recipe("b_from_c", "b", 1, "c");
+        source.recipe("c_from_a", "c", 1, "a");
+        source.recipe("c_from_r", "c", 1, "r");
+
+        for (String item : List.of("c", "b", "a", "b", "c")) {
+            assertNoLoop(item, expander.expand(item).expansion());
+        }
+    }
+
+    @Test
+    void independentExpansionsAreMemoized() {
+        source.recipe("planks_from_log", "planks", 4, "log");
+        source.recipe("stick", "stick", 4, "planks");
+        source.recipe("chest", "chest", 1, "planks", 8);
+
+        expander.expand("stick");
+        int calls = source.candidateCalls;
+        expander.expand("chest");
+
+        assertEquals(calls + 1, source.candidateCalls, "Only the chest is expanded, the planks are memoized");
+    }
+
+    @Test
+    void treesDeeperThanTheLimitAreIncomplete() {
+        for (int i = 0; i < CraftExpander.MAX_DEPTH + 4; i++) {
+            source.recipe("step_" + i, "item_" + i, 1, "item_" + (i + 1));
+        }
+
+        CraftExpander.Result<String, TestRecipe> deep = expander.expand("item_0");
+        assertFalse(deep.complete());
+
+        // Within the limit from there, the items cut short above were not memoized as raw
+        CraftExpander.Result<String, TestRecipe> shallow = expander.expand("item_8");
+        assertTrue(shallow.complete());
+        Expansion<String, TestRecipe> expansion = shallow.expansion();
+        String leaf = "item_8";
+        while (!expansion.inputs().isEmpty()) {
+            leaf = expansion.inputs().get(0).item();
+            expansion = expansion.inputs().get(0).expansion();
+        }
+        assertEquals("item_" + (CraftExpander.MAX_DEPTH + 4), leaf);
+    }
+
+    //#region Helpers
+
+    private static String name(Expansion<String, TestRecipe> expansion) {
+        TestRecipe recipe = expansion.recipe();
+        return recipe != null ? recipe.name() : "raw";
+    }
+
+    private static List<String> items(Expansion<String, TestRecipe> expansion) {
+        return expansion.inputs().stream().map(Input::item).toList();
+    }
+
+    private static void assertNoLoop(String item, Expansion<String, TestRecipe> expansion) {
+        assertNoLoop(item, expansion, new HashSet<>());
+    }
+
+    private static void assertNoLoop(String item, Expansion<String, TestRecipe> expansion, Set<String> path) {
+        if (!path.add(item)) {
+            fail(item + " is crafted from itself through " + path);
+        }
+        for (Input<String, TestRecipe> input : expansion.inputs()) {
+            assertNoLoop(input.item(), input.expansion(), path);
+        }
+        path.remove(item);
+    }
+
+    private record TestRecipe(String name, int yield, List<Ingredient<String>> ingredients) {}
+
+    private static final class TestSource implements CraftExpander.Source<String, TestRecipe> {
+        private final Map<String, List<TestRecipe>> recipesByResult = new HashMap<>();
+        private int candidateCalls;
+
+        void recipe(String name, String result, int yield, String ingredient) {
+            recipe(name, result, yield, ingredient, 1);
+        }
+
+        void recipe(String name, String result, int yield, String ingredient, int count) {
+            TestRecipe recipe = new TestRecipe(name, yield, List.of(new Ingredient<>(List.of(ingredient), count)));
+            recipesByResult.computeIfAbsent(result, r -> new ArrayList<>()).add(recipe);
+        }
+
+        @Override
+        public List<TestRecipe> candidates(String item) {
+            candidateCalls++;
+            return recipesByResult.getOrDefault(item, List.of());
+        }
+
+        @Override
+        public List<Ingredient<String>> ingredients(TestRecipe recipe) {
+            return recipe.ingredients();
+        }
+
+        @Override
+        public int yield(TestRecipe recipe) {
+            return recipe.yield();
+        }
+    }
+
+    //#endregion Helpers
+}
@@ -1,5 +1,7 @@
 package dev.qheilmann.vanillaenoughitems.playground.addon;
 
+import java.util.List;
+
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.inventory.ItemStack;
@@ -71,8 +73,7 @@ public class VeiReadyListener implements Listener {
         // Index our custom recipes in VEI
         // Unlike vanilla recipes that are initialy auto-discovered, custom recipes must be manually indexed.
         // This tells VEI about our recipes so they appear in searches and the recipe GUI.
-        recipeIndex.indexRecipe(copperToGold);
-        recipeIndex.indexRecipe(ironToGold);
-        recipeIndex.indexRecipe(coalToDiamond);
+        // Index them in one call, each call publishes a new index.
+        recipeIndex.indexRecipe(List.of(copperToGold, ironToGold, coalToDiamond));
     }
 }